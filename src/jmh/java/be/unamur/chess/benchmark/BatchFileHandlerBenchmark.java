@@ -0,0 +1,85 @@
+package be.unamur.chess.benchmark;
+
+import be.unamur.chess.io.ChessFileHandler;
+import be.unamur.chess.model.Piece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Checkpointing many boards: one {@link ChessFileHandler#saveGame} per file against a single
+ * {@link ChessFileHandler#saveAll} / {@link ChessFileHandler#loadAll} file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchFileHandlerBenchmark {
+
+    @Param({"1000"})
+    private int boards;
+
+    private List<Piece[][]> games;
+    private Path directory;
+    private Path saveFile;
+    private Path loadFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        games = new ArrayList<>(boards);
+        String[] names = BenchmarkPositions.names();
+        for (int i = 0; i < boards; i++) {
+            games.add(BenchmarkPositions.board(names[i % names.length]));
+        }
+        directory = Files.createTempDirectory("bench-batch");
+        saveFile = directory.resolve("save.json");
+        loadFile = directory.resolve("load.json");
+        ChessFileHandler.saveAll(games, loadFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void savePerFile() throws IOException {
+        for (int i = 0; i < games.size(); i++) {
+            ChessFileHandler.saveGame(games.get(i), directory.resolve("board-" + i + ".json").toFile());
+        }
+    }
+
+    @Benchmark
+    public void saveAll() throws IOException {
+        ChessFileHandler.saveAll(games, saveFile);
+    }
+
+    @Benchmark
+    public List<Piece[][]> loadAll() throws IOException {
+        return ChessFileHandler.loadAll(loadFile);
+    }
+}
@@ -0,0 +1,67 @@
+package be.unamur.chess.benchmark;
+
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.Position;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed corpus of positions shared by all benchmarks, so that results stay comparable across runs.
+ * <p>
+ * Each position is reached from the initial position by a fixed sequence of moves in coordinate
+ * notation, which keeps the corpus legal by construction.
+ * </p>
+ */
+public final class BenchmarkPositions {
+
+    private static final Map<String, String[]> LINES = new LinkedHashMap<>();
+
+    static {
+        LINES.put("initial", new String[] {});
+        LINES.put("italian", new String[] {"e2e4", "e7e5", "g1f3", "b8c6", "f1c4", "f8c5", "c2c3", "g8f6"});
+        LINES.put("queens-gambit", new String[] {"d2d4", "d7d5", "c2c4", "e7e6", "b1c3", "g8f6", "c1g5", "f8e7",
+            "e2e3", "e8g8", "g1f3", "b8d7"});
+        LINES.put("open-middlegame", new String[] {"e2e4", "d7d5", "e4d5", "d8d5", "b1c3", "d5a5", "d2d4", "g8f6",
+            "g1f3", "c8f5", "f1c4", "e7e6", "d1e2", "f8b4", "c1d2", "b8c6"});
+        LINES.put("simplified", new String[] {"e2e4", "e7e5", "d2d4", "e5d4", "d1d4", "b8c6", "d4e3", "g8f6",
+            "b1c3", "f8b4", "c1d2", "e8g8", "e1c1", "f8e8", "e3g3", "f6e4", "c3e4", "e8e4", "d2b4", "c6b4",
+            "g3c7", "d8c7"});
+    }
+
+    private BenchmarkPositions() {
+        // utility class
+    }
+
+    /**
+     * @return the names of the corpus positions, in a fixed order
+     */
+    public static String[] names() {
+        return LINES.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * @param name one of {@link #names()}
+     * @return the position, with its side to move
+     */
+    public static Position position(String name) {
+        String[] line = LINES.get(name);
+        if (line == null) {
+            throw new IllegalArgumentException("Unknown position " + name + ".");
+        }
+        Position position = Position.initial();
+        for (String notation : line) {
+            position.makeMove(Move.fromString(position, notation));
+        }
+        return position;
+    }
+
+    /**
+     * @param name one of {@link #names()}
+     * @return a fresh board of the position
+     */
+    public static Piece[][] board(String name) {
+        return position(name).toBoard();
+    }
+}
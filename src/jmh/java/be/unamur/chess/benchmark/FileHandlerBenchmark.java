@@ -0,0 +1,80 @@
+package be.unamur.chess.benchmark;
+
+import be.unamur.chess.io.ChessFileHandler;
+import be.unamur.chess.model.Piece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-trip cost of {@link ChessFileHandler#saveGame(Piece[][], File)},
+ * {@link ChessFileHandler#saveGameBinary(Piece[][], File)} and {@link ChessFileHandler#loadGame(File)}
+ * on temporary files, for both formats.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FileHandlerBenchmark {
+
+    @Param({"initial", "open-middlegame", "simplified"})
+    private String position;
+
+    private Piece[][] board;
+    private File saveFile;
+    private File loadFile;
+    private File loadBinaryFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        board = BenchmarkPositions.board(position);
+        saveFile = Files.createTempFile("bench-save", ".json").toFile();
+        loadFile = Files.createTempFile("bench-load", ".json").toFile();
+        loadBinaryFile = Files.createTempFile("bench-load", ".bin").toFile();
+        ChessFileHandler.saveGame(board, loadFile);
+        ChessFileHandler.saveGameBinary(board, loadBinaryFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(saveFile.toPath());
+        Files.deleteIfExists(loadFile.toPath());
+        Files.deleteIfExists(loadBinaryFile.toPath());
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        ChessFileHandler.saveGame(board, saveFile);
+    }
+
+    @Benchmark
+    public Piece[][] load() throws IOException {
+        return ChessFileHandler.loadGame(loadFile);
+    }
+
+    @Benchmark
+    public void saveBinary() throws IOException {
+        ChessFileHandler.saveGameBinary(board, saveFile);
+    }
+
+    @Benchmark
+    public Piece[][] loadBinary() throws IOException {
+        return ChessFileHandler.loadGame(loadBinaryFile);
+    }
+}
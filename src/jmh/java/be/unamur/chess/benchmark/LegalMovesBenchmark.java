@@ -0,0 +1,49 @@
+package be.unamur.chess.benchmark;
+
+import be.unamur.chess.ai.MoveService;
+import be.unamur.chess.model.Piece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Legal move generation throughput of {@link MoveService#getAllLegalMoves(boolean)} for the side to move.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LegalMovesBenchmark {
+
+    @Param({"initial", "italian", "queens-gambit", "open-middlegame", "simplified"})
+    private String position;
+
+    private Piece[][] board;
+    private boolean whiteToMove;
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkPositions.board(position);
+        whiteToMove = BenchmarkPositions.position(position).isWhiteToMove();
+    }
+
+    @Benchmark
+    public Map<Point, Set<Point>> allLegalMoves() {
+        return new MoveService(board).getAllLegalMoves(whiteToMove);
+    }
+}
@@ -0,0 +1,66 @@
+package be.unamur.chess.benchmark;
+
+import be.unamur.chess.model.Piece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pseudo-legal move generation throughput of {@link Piece#getValidMoves}, per piece type.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveGenerationBenchmark {
+
+    @Param({"Pawn", "Knight", "Bishop", "Rook", "Queen", "King"})
+    private String pieceType;
+
+    @Param({"initial", "italian", "queens-gambit", "open-middlegame", "simplified"})
+    private String position;
+
+    private Piece[][] board;
+    private int[] rows;
+    private int[] cols;
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkPositions.board(position);
+        List<int[]> squares = new ArrayList<>();
+        for (int r = 0; r < board.length; r++) {
+            for (int c = 0; c < board[r].length; c++) {
+                if (board[r][c] != null && board[r][c].getClass().getSimpleName().equals(pieceType)) {
+                    squares.add(new int[] {r, c});
+                }
+            }
+        }
+        rows = squares.stream().mapToInt(s -> s[0]).toArray();
+        cols = squares.stream().mapToInt(s -> s[1]).toArray();
+    }
+
+    /**
+     * Generates the moves of every piece of the selected type on the board.
+     */
+    @Benchmark
+    public void validMovesPerPieceType(Blackhole blackhole) {
+        for (int i = 0; i < rows.length; i++) {
+            blackhole.consume(board[rows[i]][cols[i]].getValidMoves(board, rows[i], cols[i]));
+        }
+    }
+}
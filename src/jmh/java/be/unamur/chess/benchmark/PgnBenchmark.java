@@ -0,0 +1,130 @@
+package be.unamur.chess.benchmark;
+
+import be.unamur.chess.io.PgnFormatException;
+import be.unamur.chess.io.PgnGame;
+import be.unamur.chess.io.PgnReader;
+import be.unamur.chess.io.PgnWriter;
+import be.unamur.chess.model.MoveList;
+import be.unamur.chess.model.Position;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PGN ingest throughput, reported in games per second by the {@code games} counter.
+ * <p>
+ * By default the input is a synthetic in-memory corpus of random legal games. Point the benchmark
+ * at a real dump with {@code -p pgnFile=/path/to/games.pgn}; the file is streamed from disk on
+ * every invocation, so multi-gigabyte dumps are fine.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class PgnBenchmark {
+
+    private static final int SYNTHETIC_GAMES = 500;
+    private static final int SYNTHETIC_PLIES = 80;
+
+    /** A PGN file to read; empty for the synthetic corpus. */
+    @Param({""})
+    private String pgnFile;
+
+    private String synthetic;
+
+    /**
+     * Per-iteration count of games read, reported by JMH as a rate.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long games;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            games = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        if (!pgnFile.isEmpty()) {
+            return;
+        }
+        Random random = new Random(42);
+        MoveList moves = new MoveList();
+        StringWriter out = new StringWriter();
+        Map<String, String> tags = new HashMap<>();
+        tags.put("Result", PgnGame.UNKNOWN_RESULT);
+        for (int game = 0; game < SYNTHETIC_GAMES; game++) {
+            Position position = Position.initial();
+            int[] played = new int[SYNTHETIC_PLIES];
+            int count = 0;
+            while (count < SYNTHETIC_PLIES) {
+                moves.clear();
+                position.generateLegalMoves(moves);
+                if (moves.isEmpty()) {
+                    break;
+                }
+                played[count] = moves.get(random.nextInt(moves.size()));
+                position.makeMove(played[count++]);
+            }
+            PgnWriter.write(new PgnGame(tags, Arrays.copyOf(played, count), PgnGame.UNKNOWN_RESULT), out);
+        }
+        synthetic = out.toString();
+    }
+
+    @Benchmark
+    public long readAllGames(Counters counters) throws IOException {
+        long plies = 0;
+        try (PgnReader reader = new PgnReader(open())) {
+            while (true) {
+                PgnGame game;
+                try {
+                    game = reader.readGame();
+                } catch (PgnFormatException e) {
+                    continue; // rejected games are skipped, like an ingest job would
+                }
+                if (game == null) {
+                    break;
+                }
+                plies += game.moveCount();
+                counters.games++;
+            }
+        }
+        return plies;
+    }
+
+    private Reader open() throws IOException {
+        if (pgnFile.isEmpty()) {
+            return new StringReader(synthetic);
+        }
+        return Files.newBufferedReader(Paths.get(pgnFile), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,54 @@
+package be.unamur.chess.benchmark;
+
+import be.unamur.chess.ai.SimpleStrategy;
+import be.unamur.chess.ai.SmarterStrategy;
+import be.unamur.chess.ai.Strategy;
+import be.unamur.chess.model.Piece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@link Strategy#getNextMove(Piece[][], boolean)} call for the one-ply strategies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StrategyBenchmark {
+
+    @Param({"simple", "smarter"})
+    private String strategyName;
+
+    @Param({"initial", "italian", "queens-gambit", "open-middlegame", "simplified"})
+    private String position;
+
+    private Strategy strategy;
+    private Piece[][] board;
+    private boolean whiteToMove;
+
+    @Setup
+    public void setUp() {
+        strategy = "simple".equals(strategyName) ? new SimpleStrategy() : new SmarterStrategy();
+        board = BenchmarkPositions.board(position);
+        whiteToMove = BenchmarkPositions.position(position).isWhiteToMove();
+    }
+
+    @Benchmark
+    public Point[] nextMove() {
+        return strategy.getNextMove(board, whiteToMove);
+    }
+}
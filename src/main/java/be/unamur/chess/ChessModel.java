@@ -27,29 +27,15 @@ class ChessModel {
      */
     private void initializeBoard() {
         for (int col = 0; col < COLS; col++) {
-            boardState[1][col] = new Pawn(false); // Black Pawn
-            boardState[6][col] = new Pawn(true); // White Pawn
+            boardState[1][col] = Pieces.of(BitboardPosition.PAWN, false); // Black Pawn
+            boardState[6][col] = Pieces.of(BitboardPosition.PAWN, true); // White Pawn
+        }
+        int[] backRank = {BitboardPosition.ROOK, BitboardPosition.KNIGHT, BitboardPosition.BISHOP, BitboardPosition.QUEEN,
+                BitboardPosition.KING, BitboardPosition.BISHOP, BitboardPosition.KNIGHT, BitboardPosition.ROOK};
+        for (int col = 0; col < COLS; col++) {
+            boardState[0][col] = Pieces.of(backRank[col], false);
+            boardState[7][col] = Pieces.of(backRank[col], true);
         }
-        boardState[0][0] = new Rook(false);
-        boardState[0][7] = new Rook(false);
-        boardState[7][0] = new Rook(true);
-        boardState[7][7] = new Rook(true);
-
-        boardState[0][1] = new Knight(false);
-        boardState[0][6] = new Knight(false);
-        boardState[7][1] = new Knight(true);
-        boardState[7][6] = new Knight(true);
-
-        boardState[0][2] = new Bishop(false);
-        boardState[0][5] = new Bishop(false);
-        boardState[7][2] = new Bishop(true);
-        boardState[7][5] = new Bishop(true);
-
-        boardState[0][3] = new Queen(false);
-        boardState[7][3] = new Queen(true);
-
-        boardState[0][4] = new King(false);
-        boardState[7][4] = new King(true);
     }
 
     /**
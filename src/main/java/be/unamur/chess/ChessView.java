@@ -54,12 +54,7 @@ class ChessView extends JFrame {
 
     private String getPieceSymbol(Piece piece) {
         if(piece == null) return " ";
-        if (piece instanceof Rook) return piece.isWhite() ? "♖" : "♜";
-        if (piece instanceof Knight) return piece.isWhite() ? "♘" : "♞";
-        if (piece instanceof Bishop) return piece.isWhite() ? "♗" : "♝";
-        if (piece instanceof Queen) return piece.isWhite() ? "♕" : "♛";
-        if (piece instanceof King) return piece.isWhite() ? "♔" : "♚";
-        return piece.isWhite() ? "♙" : "♟";
+        return piece.getType().symbol(piece.isWhite());
     }
 
     public void setController(ChessController controller) {
@@ -0,0 +1,171 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.Position;
+
+import java.awt.Point;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Strategy searching several plies ahead with negamax alpha-beta and iterative deepening.
+ * <p>
+ * The search deepens one ply at a time until it reaches the maximum depth or runs out of its time
+ * budget; the move returned is the best one of the deepest iteration that completed. After each
+ * call, {@link #getNodesSearched()} and {@link #getNodesPerSecond()} report the work done, so the
+ * throughput can be compared with other strategies on the same positions.
+ * </p>
+ * <p>
+ * Results are kept in a {@link TranspositionTable} that lives as long as the strategy, so later
+ * iterations and later moves of the same game reuse the work of earlier ones.
+ * </p>
+ * <p>
+ * Leaves are scored by a fresh {@link Evaluator} per call, a {@link PieceSquareEvaluator} unless
+ * another supplier is given, and moves are ordered by a fresh {@link MoveOrdering}.
+ * </p>
+ * <p>
+ * The asynchronous {@link #getNextMove(Piece[][], boolean, TimeBudget)} runs the same search within
+ * a {@link TimeBudget}; the statistics getters then describe it once its future has completed. A
+ * strategy runs one search at a time.
+ * </p>
+ */
+public class AlphaBetaStrategy implements Strategy {
+
+    /** Size of the transposition table created by the shorter constructors. */
+    public static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+    private final int maxDepth;
+    private final long timeLimitMillis;
+    private final TranspositionTable table;
+    private final Supplier<? extends Evaluator> evaluators;
+
+    private long nodesSearched;
+    private long elapsedNanos;
+    private int completedDepth;
+    private int lastScore;
+
+    /**
+     * Creates a strategy searching to a fixed depth, without time limit.
+     *
+     * @param maxDepth the maximum depth in plies, at least 1
+     */
+    public AlphaBetaStrategy(int maxDepth) {
+        this(maxDepth, 0);
+    }
+
+    /**
+     * Creates a strategy bounded by both a depth and a time budget.
+     *
+     * @param maxDepth        the maximum depth in plies, at least 1
+     * @param timeLimitMillis the time budget per move in milliseconds; 0 or less for none
+     */
+    public AlphaBetaStrategy(int maxDepth, long timeLimitMillis) {
+        this(maxDepth, timeLimitMillis,
+                new TranspositionTable(DEFAULT_TABLE_MEGABYTES, TranspositionTable.ReplacementScheme.DEPTH_PREFERRED));
+    }
+
+    /**
+     * Creates a strategy bounded by both a depth and a time budget, using the given table.
+     *
+     * @param maxDepth        the maximum depth in plies, at least 1
+     * @param timeLimitMillis the time budget per move in milliseconds; 0 or less for none
+     * @param table           the transposition table to fill and reuse
+     */
+    public AlphaBetaStrategy(int maxDepth, long timeLimitMillis, TranspositionTable table) {
+        this(maxDepth, timeLimitMillis, table, PieceSquareEvaluator::new);
+    }
+
+    /**
+     * Creates a strategy bounded by both a depth and a time budget, using the given table and evaluators.
+     *
+     * @param maxDepth        the maximum depth in plies, at least 1
+     * @param timeLimitMillis the time budget per move in milliseconds; 0 or less for none
+     * @param table           the transposition table to fill and reuse
+     * @param evaluators      creates the evaluator of each call
+     */
+    public AlphaBetaStrategy(int maxDepth, long timeLimitMillis, TranspositionTable table,
+                             Supplier<? extends Evaluator> evaluators) {
+        if (maxDepth < 1 || maxDepth > Search.MAX_PLY) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + Search.MAX_PLY + ".");
+        }
+        this.maxDepth = maxDepth;
+        this.timeLimitMillis = timeLimitMillis;
+        this.table = table;
+        this.evaluators = evaluators;
+    }
+
+    @Override
+    public Point[] getNextMove(Piece[][] boardState, boolean isWhite) {
+        long start = System.nanoTime();
+        Search search = newSearch(boardState, isWhite);
+        if (timeLimitMillis > 0) {
+            search.setDeadline(start + timeLimitMillis * 1_000_000L);
+        }
+        return run(search, start);
+    }
+
+    /**
+     * Searches on the executor until the soft limit of the budget, the hard limit or the maximum
+     * depth; the time limit given at construction is not used.
+     */
+    @Override
+    public CompletableFuture<Point[]> getNextMove(Piece[][] boardState, boolean isWhite, TimeBudget budget,
+                                                  Executor executor) {
+        long start = System.nanoTime();
+        Search search = newSearch(boardState, isWhite);
+        search.setSoftDeadline(budget.softDeadline(start));
+        search.setDeadline(budget.hardDeadline(start));
+        CompletableFuture<Point[]> future = CompletableFuture.supplyAsync(() -> run(search, start), executor);
+        future.whenComplete((move, failure) -> search.stop()); // a cancelled future stops the search
+        return future;
+    }
+
+    private Search newSearch(Piece[][] boardState, boolean isWhite) {
+        table.newSearch();
+        return new Search(Position.fromBoard(boardState, isWhite), table, evaluators.get(), new MoveOrdering());
+    }
+
+    private Point[] run(Search search, long start) {
+        search.iterate(1, maxDepth);
+        int bestMove = search.bestMove();
+        completedDepth = search.completedDepth();
+        lastScore = search.score();
+        nodesSearched = search.nodes();
+        elapsedNanos = System.nanoTime() - start;
+        return bestMove == Move.NONE ? null : Move.toPoints(bestMove);
+    }
+
+    /**
+     * @return the number of positions visited by the last call to {@link #getNextMove(Piece[][], boolean)}
+     */
+    public long getNodesSearched() {
+        return nodesSearched;
+    }
+
+    /**
+     * @return the search speed of the last call, in nodes per second
+     */
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodesSearched * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * @return the deepest iteration completed by the last call
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return the score, in centipawns for the side that moved, of the last completed iteration
+     */
+    public int getLastScore() {
+        return lastScore;
+    }
+}
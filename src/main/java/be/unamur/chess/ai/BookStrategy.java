@@ -0,0 +1,98 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.io.OpeningBook;
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.MoveList;
+import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.Position;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Strategy playing from an {@link OpeningBook} while the position is in it, and asking another
+ * strategy otherwise.
+ * <p>
+ * Among the book moves that are legal on the board (a book key may collide, and moves such as
+ * castling cannot be played on a {@code Piece[][]} board), one is drawn at random in proportion to
+ * its weight, so that the games do not all follow the same line. A book move costs one binary
+ * search in the mapped book, so the opening moves are played without searching; the asynchronous
+ * {@link #getNextMove(Piece[][], boolean, TimeBudget, Executor)} then completes immediately.
+ * </p>
+ */
+public class BookStrategy implements Strategy {
+
+    private final OpeningBook book;
+    private final Strategy fallback;
+    private final Random random;
+
+    private volatile boolean lastMoveFromBook;
+
+    /**
+     * @param book     the opening book, shared and not closed by this strategy
+     * @param fallback the strategy asked when the position is out of book
+     */
+    public BookStrategy(OpeningBook book, Strategy fallback) {
+        this(book, fallback, new Random());
+    }
+
+    /**
+     * @param book     the opening book, shared and not closed by this strategy
+     * @param fallback the strategy asked when the position is out of book
+     * @param random   the source of the weighted draws among book moves
+     */
+    public BookStrategy(OpeningBook book, Strategy fallback, Random random) {
+        this.book = book;
+        this.fallback = fallback;
+        this.random = random;
+    }
+
+    @Override
+    public Point[] getNextMove(Piece[][] boardState, boolean isWhite) {
+        int move = bookMove(boardState, isWhite);
+        return move == Move.NONE ? fallback.getNextMove(boardState, isWhite) : Move.toPoints(move);
+    }
+
+    @Override
+    public CompletableFuture<Point[]> getNextMove(Piece[][] boardState, boolean isWhite, TimeBudget budget,
+                                                  Executor executor) {
+        int move = bookMove(boardState, isWhite);
+        return move == Move.NONE ? fallback.getNextMove(boardState, isWhite, budget, executor)
+                : CompletableFuture.completedFuture(Move.toPoints(move));
+    }
+
+    /**
+     * @return {@code true} if the last move returned came from the book
+     */
+    public boolean isLastMoveFromBook() {
+        return lastMoveFromBook;
+    }
+
+    /**
+     * @return a legal book move drawn by weight, or {@link Move#NONE} if the position is out of book
+     */
+    private int bookMove(Piece[][] boardState, boolean isWhite) {
+        Position position = Position.fromBoard(boardState, isWhite);
+        List<OpeningBook.Candidate> candidates = book.candidates(position);
+        int move = Move.NONE;
+        if (!candidates.isEmpty()) {
+            MoveList legal = new MoveList();
+            position.generateLegalMoves(legal);
+            long total = 0;
+            for (OpeningBook.Candidate candidate : candidates) {
+                if (legal.contains(candidate.move())) {
+                    total += candidate.weight();
+                    // reservoir draw: each move replaces the pick with probability weight / total so far
+                    if (random.nextDouble() * total < candidate.weight()) {
+                        move = candidate.move();
+                    }
+                }
+            }
+        }
+        lastMoveFromBook = move != Move.NONE;
+        return move;
+    }
+}
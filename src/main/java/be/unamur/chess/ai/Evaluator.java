@@ -0,0 +1,51 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.Position;
+
+/**
+ * Static evaluation of a {@link Position}, pluggable into the searches of this package.
+ * <p>
+ * An evaluator may keep state that follows the position move by move, so that {@link #evaluate(Position)}
+ * costs O(1) instead of a scan of the board. The search then calls {@link #reset(Position)} once at the
+ * root, and brackets every {@link Position#makeMove(int)} / {@link Position#unmakeMove(int)} with
+ * {@link #makeMove(Position, int)} / {@link #unmakeMove()}. Evaluators that compute everything from
+ * scratch only need to implement {@link #evaluate(Position)}.
+ * </p>
+ * <p>
+ * Like a search, an evaluator that keeps state is confined to one thread.
+ * </p>
+ */
+public interface Evaluator {
+
+    /**
+     * Initializes the incremental state from a position, discarding any previous state.
+     *
+     * @param position the root position
+     */
+    default void reset(Position position) {
+        // stateless by default
+    }
+
+    /**
+     * Updates the incremental state for a move, before it is played on the position.
+     *
+     * @param position the position, still as it was before the move
+     * @param move     the packed move about to be played
+     */
+    default void makeMove(Position position, int move) {
+        // stateless by default
+    }
+
+    /**
+     * Restores the incremental state to what it was before the last {@link #makeMove(Position, int)}.
+     */
+    default void unmakeMove() {
+        // stateless by default
+    }
+
+    /**
+     * @param position the position, in the state this evaluator follows
+     * @return the score in centipawns from the point of view of the side to move
+     */
+    int evaluate(Position position);
+}
@@ -0,0 +1,195 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.Position;
+
+import java.awt.Point;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Strategy running the alpha-beta search on several threads at once (Lazy SMP).
+ * <p>
+ * Every thread searches the same root position with its own {@link Position} copy, and all of them
+ * share one {@link TranspositionTable}. The threads do not coordinate otherwise: they help each
+ * other only through the results they leave in the table, and half of the helpers start one ply
+ * deeper so that their trees diverge. The calling thread runs the main search; when it completes
+ * or runs out of time the helpers are stopped, and the move of the deepest completed iteration
+ * among all threads is played.
+ * </p>
+ * <p>
+ * Helpers run on a dedicated {@link ForkJoinPool} owned by the strategy; {@link #close()} releases
+ * it. With a single thread this strategy behaves like {@link AlphaBetaStrategy}.
+ * </p>
+ * <p>
+ * The asynchronous {@link #getNextMove(Piece[][], boolean, TimeBudget)} runs the main search on the
+ * given executor, by default a dedicated one, instead of the calling thread, within a {@link TimeBudget}.
+ * </p>
+ */
+public class LazySmpStrategy implements Strategy, AutoCloseable {
+
+    private final int threads;
+    private final int maxDepth;
+    private final long timeLimitMillis;
+    private final TranspositionTable table;
+    private final ForkJoinPool pool;
+
+    private long nodesSearched;
+    private long elapsedNanos;
+    private int completedDepth;
+    private int lastScore;
+
+    /**
+     * Creates a strategy using one thread per available processor and a default-sized table.
+     *
+     * @param maxDepth        the maximum depth in plies, at least 1
+     * @param timeLimitMillis the time budget per move in milliseconds; 0 or less for none
+     */
+    public LazySmpStrategy(int maxDepth, long timeLimitMillis) {
+        this(Runtime.getRuntime().availableProcessors(), maxDepth, timeLimitMillis,
+                new TranspositionTable(AlphaBetaStrategy.DEFAULT_TABLE_MEGABYTES,
+                        TranspositionTable.ReplacementScheme.DEPTH_PREFERRED));
+    }
+
+    /**
+     * @param threads         the number of searching threads, at least 1
+     * @param maxDepth        the maximum depth in plies, at least 1
+     * @param timeLimitMillis the time budget per move in milliseconds; 0 or less for none
+     * @param table           the transposition table shared by all threads
+     */
+    public LazySmpStrategy(int threads, int maxDepth, long timeLimitMillis, TranspositionTable table) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required.");
+        }
+        if (maxDepth < 1 || maxDepth > Search.MAX_PLY) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + Search.MAX_PLY + ".");
+        }
+        this.threads = threads;
+        this.maxDepth = maxDepth;
+        this.timeLimitMillis = timeLimitMillis;
+        this.table = table;
+        this.pool = threads > 1 ? new ForkJoinPool(threads - 1) : null;
+    }
+
+    @Override
+    public Point[] getNextMove(Piece[][] boardState, boolean isWhite) {
+        long start = System.nanoTime();
+        Search[] searches = newSearches(boardState, isWhite);
+        if (timeLimitMillis > 0) {
+            for (Search search : searches) {
+                search.setDeadline(start + timeLimitMillis * 1_000_000L);
+            }
+        }
+        return run(searches, start);
+    }
+
+    /**
+     * Runs the main search on the executor until the soft limit of the budget, the hard limit or
+     * the maximum depth; the time limit given at construction is not used.
+     */
+    @Override
+    public CompletableFuture<Point[]> getNextMove(Piece[][] boardState, boolean isWhite, TimeBudget budget,
+                                                  Executor executor) {
+        long start = System.nanoTime();
+        Search[] searches = newSearches(boardState, isWhite);
+        for (Search search : searches) {
+            search.setSoftDeadline(budget.softDeadline(start));
+            search.setDeadline(budget.hardDeadline(start));
+        }
+        CompletableFuture<Point[]> future = CompletableFuture.supplyAsync(() -> run(searches, start), executor);
+        future.whenComplete((move, failure) -> searches[0].stop()); // the helpers stop with the main search
+        return future;
+    }
+
+    private Search[] newSearches(Piece[][] boardState, boolean isWhite) {
+        Position root = Position.fromBoard(boardState, isWhite);
+        table.newSearch();
+        Search[] searches = new Search[threads];
+        for (int i = 0; i < threads; i++) {
+            searches[i] = new Search(root.copy(), table);
+        }
+        return searches;
+    }
+
+    private Point[] run(Search[] searches, long start) {
+        ForkJoinTask<?>[] helpers = new ForkJoinTask<?>[threads - 1];
+        for (int i = 1; i < threads; i++) {
+            Search helper = searches[i];
+            int startDepth = Math.min(maxDepth, 1 + (i & 1));
+            helpers[i - 1] = pool.submit(() -> helper.iterate(startDepth, maxDepth));
+        }
+        searches[0].iterate(1, maxDepth);
+        for (int i = 1; i < threads; i++) {
+            searches[i].stop();
+        }
+        for (ForkJoinTask<?> helper : helpers) {
+            helper.join();
+        }
+
+        Search best = searches[0];
+        nodesSearched = 0;
+        for (Search search : searches) {
+            nodesSearched += search.nodes();
+            if (search.completedDepth() > best.completedDepth() && search.bestMove() != Move.NONE) {
+                best = search;
+            }
+        }
+        completedDepth = best.completedDepth();
+        lastScore = best.score();
+        elapsedNanos = System.nanoTime() - start;
+        int bestMove = best.bestMove();
+        return bestMove == Move.NONE ? null : Move.toPoints(bestMove);
+    }
+
+    /**
+     * Shuts the helper threads down.
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return the number of positions visited by all threads during the last call
+     */
+    public long getNodesSearched() {
+        return nodesSearched;
+    }
+
+    /**
+     * @return the combined search speed of the last call, in nodes per second
+     */
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodesSearched * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * @return the wall-clock duration of the last call, in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the deepest iteration completed by any thread during the last call
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * @return the score, in centipawns for the side that moved, of the move played
+     */
+    public int getLastScore() {
+        return lastScore;
+    }
+}
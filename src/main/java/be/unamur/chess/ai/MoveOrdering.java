@@ -0,0 +1,140 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.BitboardPosition;
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.MoveList;
+import be.unamur.chess.model.Position;
+
+/**
+ * Orders the moves of a node so that alpha-beta searches the likely best ones first.
+ * <p>
+ * Moves are ranked in tiers: the hash move, then captures and promotions by MVV-LVA (most valuable
+ * victim first, least valuable attacker first among equal victims), then the two killer moves of
+ * the ply (quiet moves that caused a cutoff in a sibling node), then the other quiet moves by their
+ * history score (how often and how deep they caused cutoffs anywhere in the tree). Scores are
+ * computed into a scratch {@code int} array and sorted together with the {@link MoveList} by
+ * insertion sort, without boxing or allocation once the scratch array has grown.
+ * </p>
+ * <p>
+ * An instance learns from the cutoffs reported by {@link #recordCutoff(Position, int, int, int)}, so
+ * it belongs to one search thread. Its killers only make sense for one root, so each search gets a
+ * fresh instance, and the history is not carried over from one move to the next.
+ * </p>
+ */
+public final class MoveOrdering {
+
+    static final int HASH_MOVE_SCORE = 1 << 30;
+    static final int CAPTURE_SCORE = 1 << 29;
+    static final int KILLER_SCORE = 1 << 28;
+
+    /** History scores are halved once one of them reaches this value, keeping them below the killers. */
+    private static final int HISTORY_LIMIT = 1 << 20;
+    private static final int KILLERS_PER_PLY = 2;
+
+    private final int[] killers = new int[KILLERS_PER_PLY * (Search.MAX_PLY + 1)];
+    private final int[] history = new int[BitboardPosition.PIECES * BitboardPosition.SQUARES];
+    private int[] scores = new int[MoveList.DEFAULT_CAPACITY];
+
+    /**
+     * Sorts moves from the most to the least promising.
+     *
+     * @param position the position the moves are played from
+     * @param moves    the moves of that position, sorted in place
+     * @param ply      the distance from the root, for the killer moves
+     * @param hashMove a move to put first, or {@link Move#NONE}
+     */
+    public void order(Position position, MoveList moves, int ply, int hashMove) {
+        int size = moves.size();
+        if (scores.length < size) {
+            scores = new int[Math.max(size, scores.length * 2)];
+        }
+        for (int i = 0; i < size; i++) {
+            scores[i] = score(position, moves.get(i), ply, hashMove);
+        }
+        for (int i = 1; i < size; i++) {
+            int move = moves.get(i);
+            int score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                scores[j + 1] = scores[j];
+                moves.set(j + 1, moves.get(j));
+                j--;
+            }
+            scores[j + 1] = score;
+            moves.set(j + 1, move);
+        }
+    }
+
+    /**
+     * Learns from a move that failed high. Captures and promotions are already ranked first and are
+     * ignored; a quiet move becomes the first killer of its ply and gains history.
+     *
+     * @param position the position the move was played from, with the move taken back
+     * @param move     the move that caused the cutoff
+     * @param ply      the distance from the root
+     * @param depth    the remaining depth of the node, weighting the history bonus
+     */
+    public void recordCutoff(Position position, int move, int ply, int depth) {
+        if (isTactical(position, move)) {
+            return;
+        }
+        int slot = ply * KILLERS_PER_PLY;
+        if (killers[slot] != move) {
+            killers[slot + 1] = killers[slot];
+            killers[slot] = move;
+        }
+        int index = historyIndex(position, move);
+        history[index] += depth * depth;
+        if (history[index] >= HISTORY_LIMIT) {
+            for (int i = 0; i < history.length; i++) {
+                history[i] >>= 1;
+            }
+        }
+    }
+
+    /**
+     * @param victimKind   the kind captured
+     * @param attackerKind the kind capturing
+     * @return the MVV-LVA score, higher for better captures: from 1 (king takes pawn) to 36 (pawn takes king)
+     */
+    static int mvvLva(int victimKind, int attackerKind) {
+        return (victimKind + 1) * BitboardPosition.KINDS - attackerKind;
+    }
+
+    private int score(Position position, int move, int ply, int hashMove) {
+        if (move == hashMove) {
+            return HASH_MOVE_SCORE;
+        }
+        if (isTactical(position, move)) {
+            int attacker = BitboardPosition.kindOf(position.pieceAt(Move.from(move)));
+            int victim = position.pieceAt(Move.to(move));
+            int score = CAPTURE_SCORE;
+            if ((Move.flags(move) & Move.EN_PASSANT) != 0) {
+                score += mvvLva(BitboardPosition.PAWN, attacker);
+            } else if (victim != BitboardPosition.NONE) {
+                score += mvvLva(BitboardPosition.kindOf(victim), attacker);
+            }
+            if (Move.isPromotion(move)) {
+                score += mvvLva(Move.promotion(move), BitboardPosition.PAWN);
+            }
+            return score;
+        }
+        int slot = ply * KILLERS_PER_PLY;
+        if (move == killers[slot]) {
+            return KILLER_SCORE + 1;
+        }
+        if (move == killers[slot + 1]) {
+            return KILLER_SCORE;
+        }
+        return history[historyIndex(position, move)];
+    }
+
+    private static boolean isTactical(Position position, int move) {
+        return Move.isPromotion(move) || (Move.flags(move) & Move.EN_PASSANT) != 0
+                || position.pieceAt(Move.to(move)) != BitboardPosition.NONE;
+    }
+
+    private static int historyIndex(Position position, int move) {
+        return position.pieceAt(Move.from(move)) * BitboardPosition.SQUARES + Move.to(move);
+    }
+}
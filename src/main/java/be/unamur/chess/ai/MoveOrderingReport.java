@@ -0,0 +1,62 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.Position;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command-line report of the effect of {@link MoveOrdering} on the size of the search tree.
+ * <p>
+ * Each position of {@link ScalingReport} is searched to a fixed depth twice, without transposition
+ * table nor quiescence search: once with only the previous iteration's best move searched first,
+ * once with the full move ordering. Both searches return the same score, so the node counts compare
+ * the pruning alone.
+ * Usage: {@code MoveOrderingReport [depth]}.
+ * </p>
+ */
+public final class MoveOrderingReport {
+
+    private static final int DEFAULT_DEPTH = 5;
+
+    private MoveOrderingReport() {
+        // utility class
+    }
+
+    public static void main(String[] args) {
+        run(args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH, System.out);
+    }
+
+    /**
+     * Runs the report and prints one line per position, then the totals.
+     *
+     * @param depth the search depth in plies
+     * @param out   where to print the report
+     * @return the total node counts, without and with move ordering
+     */
+    public static long[] run(int depth, PrintStream out) {
+        List<Piece[][]> boards = ScalingReport.positions();
+        out.printf(Locale.ROOT, "Move ordering, depth %d, %d positions%n", depth, boards.size());
+        out.printf(Locale.ROOT, "%8s %14s %14s %9s%n", "position", "unordered", "ordered", "ratio");
+
+        long[] total = new long[2];
+        for (int i = 0; i < boards.size(); i++) {
+            long unordered = nodes(boards.get(i), depth, null);
+            long ordered = nodes(boards.get(i), depth, new MoveOrdering());
+            total[0] += unordered;
+            total[1] += ordered;
+            out.printf(Locale.ROOT, "%8d %14d %14d %9.2f%n", i, unordered, ordered, (double) unordered / ordered);
+        }
+        out.printf(Locale.ROOT, "%8s %14d %14d %9.2f%n", "total", total[0], total[1], (double) total[0] / total[1]);
+        return total;
+    }
+
+    private static long nodes(Piece[][] board, int depth, MoveOrdering ordering) {
+        Search search = new Search(Position.fromBoard(board, true), null, new PieceSquareEvaluator(), ordering);
+        search.setQuiescence(false);
+        search.iterate(1, depth);
+        return search.nodes();
+    }
+}
@@ -1,8 +1,13 @@
 // Java
 package be.unamur.chess.ai;
 
-import be.unamur.chess.model.King;
+import be.unamur.chess.model.Attacks;
+import be.unamur.chess.model.BitboardPosition;
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.MoveList;
 import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.PieceType;
+import be.unamur.chess.model.Position;
 
 import java.awt.Point;
 import java.util.*;
@@ -14,6 +19,9 @@ import java.util.*;
  */
 public class MoveService {
 
+    private static final int[][] ORTHOGONALS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] DIAGONALS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
     private Piece[][] boardState;
 
     public MoveService(Piece[][] boardState){
@@ -71,24 +79,32 @@ public class MoveService {
     /**
      * Returns all legal moves for the given color.
      * The map's key is the source square; the value is the set of legal destinations.
+     * Moves come from {@link Position#generateLegalMoves(MoveList)}, which resolves checks and pins
+     * up front instead of simulating every candidate.
      */
     public Map<Point, Set<Point>> getAllLegalMoves(boolean isWhite) {
         Map<Point, Set<Point>> result = new HashMap<>();
-        for (int r = 0; r < 8; r++) {
-            for (int c = 0; c < 8; c++) {
-                Piece p = boardState[r][c];
-                if (p == null || p.isWhite() != isWhite) continue;
-
-                Point from = new Point(r, c);
-                Set<Point> legal = getLegalMovesFor(from);
-                if (!legal.isEmpty()) {
-                    result.put(from, legal);
-                }
-            }
+        // Without its own king on the board, no move of that side is considered legal
+        if (findKing(boardState, isWhite) == null) return result;
+
+        MoveList moves = new MoveList();
+        Position.fromBoard(boardState, isWhite).generateLegalMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            Point[] move = Move.toPoints(moves.get(i));
+            result.computeIfAbsent(move[0], k -> new HashSet<>()).add(move[1]);
         }
         return result;
     }
 
+    /**
+     * Tells whether a square is attacked by the given color. Instead of generating the moves of every
+     * opponent piece, it looks outward from the square: a knight, king or pawn pattern, or the first
+     * piece met along each ray, can only attack the square if it stands where that pattern reaches.
+     */
+    public boolean isSquareAttacked(Point square, boolean byWhite) {
+        return isSquareAttacked(square, byWhite, null, null);
+    }
+
     // ------------------ Helpers ------------------
 
     private boolean isInside(Point p) {
@@ -96,51 +112,81 @@ public class MoveService {
     }
 
     /**
-     * Simulates the move and checks if the moving side's king becomes attacked.
+     * Checks if the moving side's king would be attacked once the move is played. The move is not
+     * made on the board: the attack test reads the squares through {@link #pieceAfter}, so the
+     * caller's array is never modified and no copy of it is made.
      */
     private boolean wouldLeaveOwnKingInCheck(Point from, Point to) {
         Piece moving = boardState[from.x][from.y];
         boolean isWhite = moving.isWhite();
 
-        Piece[][] clone = cloneBoard(boardState);
-        // Apply the move on the clone
-        clone[to.x][to.y] = moving;
-        clone[from.x][from.y] = null;
-
-        Point myKingPos = findKing(clone, isWhite);
+        Point myKingPos = moving.getType() == PieceType.KING ? to : findKing(boardState, isWhite);
         if (myKingPos == null) {
             // Safety guard: if we cannot find the king, consider it illegal
             return true;
         }
+        return isSquareAttacked(myKingPos, !isWhite, from, to);
+    }
 
-        // If any opponent piece can reach the king's square, it's check
-        for (int r = 0; r < 8; r++) {
-            for (int c = 0; c < 8; c++) {
-                Piece opp = clone[r][c];
-                if (opp == null || opp.isWhite() == isWhite) continue;
+    /**
+     * @return the piece on a square once the move from {@code from} to {@code to} is played, or as
+     *         the board stands if {@code from} is {@code null}
+     */
+    private Piece pieceAfter(int row, int col, Point from, Point to) {
+        if (from == null) return boardState[row][col];
+        if (row == to.x && col == to.y) return boardState[from.x][from.y];
+        if (row == from.x && col == from.y) return null;
+        return boardState[row][col];
+    }
 
-                Set<Point> oppMoves = opp.getValidMoves(clone, r, c);
-                if (oppMoves.contains(myKingPos)) {
-                    return true;
-                }
-            }
+    /**
+     * Same as {@link #isSquareAttacked(Point, boolean)}, on the board as it would be after the move
+     * from {@code from} to {@code to}, or as it stands if {@code from} is {@code null}.
+     */
+    private boolean isSquareAttacked(Point square, boolean byWhite, Point from, Point to) {
+        int sq = BitboardPosition.square(square.x, square.y);
+        return hasPieceOn(Attacks.knight(sq), PieceType.KNIGHT, byWhite, from, to)
+                || hasPieceOn(Attacks.king(sq), PieceType.KING, byWhite, from, to)
+                || hasPieceOn(Attacks.pawn(sq, !byWhite), PieceType.PAWN, byWhite, from, to)
+                || isAttackedAlongRays(square, ORTHOGONALS, PieceType.ROOK, byWhite, from, to)
+                || isAttackedAlongRays(square, DIAGONALS, PieceType.BISHOP, byWhite, from, to);
+    }
+
+    private boolean hasPieceOn(long squares, PieceType type, boolean isWhite, Point from, Point to) {
+        while (squares != 0) {
+            int sq = Long.numberOfTrailingZeros(squares);
+            Piece p = pieceAfter(BitboardPosition.row(sq), BitboardPosition.col(sq), from, to);
+            if (p != null && p.getType() == type && p.isWhite() == isWhite) return true;
+            squares &= squares - 1;
         }
         return false;
     }
 
-    private Piece[][] cloneBoard(Piece[][] original) {
-        Piece[][] copy = new Piece[8][8];
-        for (int r = 0; r < 8; r++) {
-            System.arraycopy(original[r], 0, copy[r], 0, 8);
+    /**
+     * Walks each ray from the square; the first piece met attacks it if it slides along that ray
+     * (the given slider type or a queen) and has the attacking color.
+     */
+    private boolean isAttackedAlongRays(Point square, int[][] dirs, PieceType slider, boolean byWhite,
+                                        Point from, Point to) {
+        for (int[] dir : dirs) {
+            int r = square.x + dir[0];
+            int c = square.y + dir[1];
+            while (r >= 0 && r < 8 && c >= 0 && c < 8 && pieceAfter(r, c, from, to) == null) {
+                r += dir[0];
+                c += dir[1];
+            }
+            if (r < 0 || r >= 8 || c < 0 || c >= 8) continue;
+            Piece p = pieceAfter(r, c, from, to);
+            if (p.isWhite() == byWhite && (p.getType() == slider || p.getType() == PieceType.QUEEN)) return true;
         }
-        return copy;
+        return false;
     }
 
     private Point findKing(Piece[][] boardState, boolean isWhite) {
         for (int r = 0; r < 8; r++) {
             for (int c = 0; c < 8; c++) {
                 Piece p = boardState[r][c];
-                if (p instanceof King && p.isWhite() == isWhite) {
+                if (p != null && p.getType() == PieceType.KING && p.isWhite() == isWhite) {
                     return new Point(r, c);
                 }
             }
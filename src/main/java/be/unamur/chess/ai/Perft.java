@@ -0,0 +1,243 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.MoveList;
+import be.unamur.chess.model.Position;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Perft: counts the leaf nodes of the legal move tree to a fixed depth.
+ * <p>
+ * Comparing the counts with published values for a handful of tricky positions (castling through
+ * check, en passant pins, promotions) is the standard way to prove a move generator correct, and
+ * the time taken measures its raw speed. {@link #divide(Position, int)} splits the count by root
+ * move to locate a discrepancy, and {@link #perft(Position, int, int)} spreads the root moves over
+ * several threads, each on its own copy of the position.
+ * </p>
+ * <p>
+ * Run {@link #main(String[])} to check the {@link #REFERENCE reference positions}:
+ * {@code Perft [maxDepth] [threads]}, or {@code Perft divide <depth> <fen>} to split one count.
+ * </p>
+ */
+public final class Perft {
+
+    /**
+     * A position with its known perft counts, {@code nodes[d - 1]} being the count at depth d.
+     */
+    public static final class Reference {
+
+        private final String name;
+        private final String fen;
+        private final long[] nodes;
+
+        Reference(String name, String fen, long... nodes) {
+            this.name = name;
+            this.fen = fen;
+            this.nodes = nodes;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public String fen() {
+            return fen;
+        }
+
+        /**
+         * @return the deepest depth whose count is known
+         */
+        public int maxDepth() {
+            return nodes.length;
+        }
+
+        /**
+         * @param depth a depth between 1 and {@link #maxDepth()}
+         * @return the known leaf count at that depth
+         */
+        public long nodes(int depth) {
+            return nodes[depth - 1];
+        }
+    }
+
+    /** The standard perft positions from the Chess Programming Wiki. */
+    public static final Reference[] REFERENCE = {
+        new Reference("initial", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                20, 400, 8_902, 197_281, 4_865_609, 119_060_324),
+        new Reference("kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                48, 2_039, 97_862, 4_085_603, 193_690_690),
+        new Reference("position 3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                14, 191, 2_812, 43_238, 674_624, 11_030_083),
+        new Reference("position 4", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                6, 264, 9_467, 422_333, 15_833_292),
+        new Reference("position 5", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                44, 1_486, 62_379, 2_103_487, 89_941_194),
+        new Reference("position 6", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                46, 2_079, 89_890, 3_894_594, 164_075_551),
+    };
+
+    private static final int DEFAULT_MAX_DEPTH = 4;
+
+    private Perft() {
+        // utility class
+    }
+
+    /**
+     * @param position the root position; it is restored before returning
+     * @param depth    the depth in plies, at least 0
+     * @return the number of leaf nodes at that depth
+     */
+    public static long perft(Position position, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveList[] lists = new MoveList[depth];
+        for (int i = 0; i < depth; i++) {
+            lists[i] = new MoveList();
+        }
+        return count(position, depth, lists);
+    }
+
+    /**
+     * Counts leaf nodes with the root moves spread across a dedicated pool of threads.
+     *
+     * @param position the root position; it is not modified
+     * @param depth    the depth in plies, at least 0
+     * @param threads  the number of threads, at least 1
+     * @return the number of leaf nodes at that depth
+     */
+    public static long perft(Position position, int depth, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required.");
+        }
+        if (threads == 1 || depth < 2) {
+            return perft(position.copy(), depth);
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            long total = 0;
+            for (long nodes : divide(position, depth, pool).values()) {
+                total += nodes;
+            }
+            return total;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Splits the leaf count by root move.
+     *
+     * @param position the root position; it is restored before returning
+     * @param depth    the depth in plies, at least 1
+     * @return the leaf count below each root move, keyed by coordinate notation, in generation order
+     */
+    public static Map<String, Long> divide(Position position, int depth) {
+        MoveList rootMoves = new MoveList();
+        position.generateLegalMoves(rootMoves);
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < rootMoves.size(); i++) {
+            int move = rootMoves.get(i);
+            position.makeMove(move);
+            result.put(Move.toString(move), perft(position, depth - 1));
+            position.unmakeMove(move);
+        }
+        return result;
+    }
+
+    private static Map<String, Long> divide(Position position, int depth, ForkJoinPool pool) {
+        MoveList rootMoves = new MoveList();
+        position.generateLegalMoves(rootMoves);
+        List<ForkJoinTask<Long>> tasks = new ArrayList<>(rootMoves.size());
+        for (int i = 0; i < rootMoves.size(); i++) {
+            Position child = position.copy();
+            child.makeMove(rootMoves.get(i));
+            tasks.add(pool.submit(() -> perft(child, depth - 1)));
+        }
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            result.put(Move.toString(rootMoves.get(i)), tasks.get(i).join());
+        }
+        return result;
+    }
+
+    private static long count(Position position, int depth, MoveList[] lists) {
+        MoveList moves = lists[depth - 1];
+        moves.clear();
+        position.generateLegalMoves(moves);
+        if (depth == 1) {
+            return moves.size(); // bulk counting: the leaves need not be played
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            position.makeMove(move);
+            nodes += count(position, depth - 1, lists);
+            position.unmakeMove(move);
+        }
+        return nodes;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 3 && "divide".equals(args[0])) {
+            printDivide(Position.fromFen(args[2]), Integer.parseInt(args[1]), System.out);
+            return;
+        }
+        int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MAX_DEPTH;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        boolean ok = run(maxDepth, threads, System.out);
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Checks every reference position up to {@code maxDepth} and prints counts and speed.
+     *
+     * @param maxDepth the deepest depth to check (capped by each position's known counts)
+     * @param threads  the number of threads
+     * @param out      where to print the report
+     * @return {@code true} if every count matched
+     */
+    public static boolean run(int maxDepth, int threads, PrintStream out) {
+        boolean ok = true;
+        long totalNodes = 0;
+        long totalNanos = 0;
+        out.printf(Locale.ROOT, "%-12s %5s %14s %9s %12s%n", "position", "depth", "nodes", "result", "knps");
+        for (Reference reference : REFERENCE) {
+            Position position = Position.fromFen(reference.fen());
+            for (int depth = 1; depth <= Math.min(maxDepth, reference.maxDepth()); depth++) {
+                long start = System.nanoTime();
+                long nodes = perft(position, depth, threads);
+                long nanos = System.nanoTime() - start;
+                boolean match = nodes == reference.nodes(depth);
+                ok &= match;
+                totalNodes += nodes;
+                totalNanos += nanos;
+                out.printf(Locale.ROOT, "%-12s %5d %14d %9s %12d%n", reference.name(), depth, nodes,
+                        match ? "ok" : "FAIL " + reference.nodes(depth), nodes * 1_000_000L / Math.max(1, nanos));
+            }
+        }
+        out.printf(Locale.ROOT, "total %d nodes in %.1f ms, %d knps, %d thread(s): %s%n", totalNodes,
+                totalNanos / 1e6, totalNodes * 1_000_000L / Math.max(1, totalNanos), threads, ok ? "ok" : "FAILED");
+        return ok;
+    }
+
+    private static void printDivide(Position position, int depth, PrintStream out) {
+        long total = 0;
+        for (Map.Entry<String, Long> entry : divide(position, depth).entrySet()) {
+            out.println(entry.getKey() + ": " + entry.getValue());
+            total += entry.getValue();
+        }
+        out.println();
+        out.println("Nodes searched: " + total);
+    }
+}
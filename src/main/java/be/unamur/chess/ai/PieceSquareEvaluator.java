@@ -0,0 +1,162 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.BitboardPosition;
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.PieceType;
+import be.unamur.chess.model.Position;
+
+import java.util.Arrays;
+
+/**
+ * {@link Evaluator} summing material and piece-square tables, updated incrementally.
+ * <p>
+ * The material value and the table bonus of every piece on every square are folded into a single
+ * table indexed by piece and square, signed for white. {@link #reset(Position)} sums it over the
+ * board once; afterwards each {@link #makeMove(Position, int)} only adds the difference made by the
+ * squares the move touches (at most four, for castling) and pushes the previous score on a stack of
+ * primitives, which {@link #unmakeMove()} pops. {@link #evaluate(Position)} is thus O(1).
+ * </p>
+ * <p>
+ * Tables are written from white's point of view with rank 8 first, in square order; black uses
+ * them mirrored vertically.
+ * </p>
+ */
+public final class PieceSquareEvaluator implements Evaluator {
+
+    private static final int[][] TABLES = {
+        { // pawn
+             0,  0,  0,  0,  0,  0,  0,  0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+             5,  5, 10, 25, 25, 10,  5,  5,
+             0,  0,  0, 20, 20,  0,  0,  0,
+             5, -5,-10,  0,  0,-10, -5,  5,
+             5, 10, 10,-20,-20, 10, 10,  5,
+             0,  0,  0,  0,  0,  0,  0,  0
+        },
+        { // knight
+            -50,-40,-30,-30,-30,-30,-40,-50,
+            -40,-20,  0,  0,  0,  0,-20,-40,
+            -30,  0, 10, 15, 15, 10,  0,-30,
+            -30,  5, 15, 20, 20, 15,  5,-30,
+            -30,  0, 15, 20, 20, 15,  0,-30,
+            -30,  5, 10, 15, 15, 10,  5,-30,
+            -40,-20,  0,  5,  5,  0,-20,-40,
+            -50,-40,-30,-30,-30,-30,-40,-50
+        },
+        { // bishop
+            -20,-10,-10,-10,-10,-10,-10,-20,
+            -10,  0,  0,  0,  0,  0,  0,-10,
+            -10,  0,  5, 10, 10,  5,  0,-10,
+            -10,  5,  5, 10, 10,  5,  5,-10,
+            -10,  0, 10, 10, 10, 10,  0,-10,
+            -10, 10, 10, 10, 10, 10, 10,-10,
+            -10,  5,  0,  0,  0,  0,  5,-10,
+            -20,-10,-10,-10,-10,-10,-10,-20
+        },
+        { // rook
+             0,  0,  0,  0,  0,  0,  0,  0,
+             5, 10, 10, 10, 10, 10, 10,  5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+             0,  0,  0,  5,  5,  0,  0,  0
+        },
+        { // queen
+            -20,-10,-10, -5, -5,-10,-10,-20,
+            -10,  0,  0,  0,  0,  0,  0,-10,
+            -10,  0,  5,  5,  5,  5,  0,-10,
+             -5,  0,  5,  5,  5,  5,  0, -5,
+              0,  0,  5,  5,  5,  5,  0, -5,
+            -10,  5,  5,  5,  5,  5,  0,-10,
+            -10,  0,  5,  0,  0,  0,  0,-10,
+            -20,-10,-10, -5, -5,-10,-10,-20
+        },
+        { // king
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -20,-30,-30,-40,-40,-30,-30,-20,
+            -10,-20,-20,-20,-20,-20,-20,-10,
+             20, 20,  0,  0,  0,  0, 20, 20,
+             20, 30, 10,  0,  0, 10, 30, 20
+        }
+    };
+
+    /** Material plus table bonus of each piece on each square, positive for white. */
+    private static final int[][] SQUARE_VALUE = new int[BitboardPosition.PIECES][BitboardPosition.SQUARES];
+
+    static {
+        for (int kind = BitboardPosition.PAWN; kind <= BitboardPosition.KING; kind++) {
+            for (int square = 0; square < BitboardPosition.SQUARES; square++) {
+                SQUARE_VALUE[BitboardPosition.pieceIndex(kind, true)][square] = material(kind) + TABLES[kind][square];
+                SQUARE_VALUE[BitboardPosition.pieceIndex(kind, false)][square] = -(material(kind) + TABLES[kind][square ^ 56]);
+            }
+        }
+    }
+
+    private int score;
+    private int[] previous = new int[Search.MAX_PLY];
+    private int ply;
+
+    @Override
+    public void reset(Position position) {
+        score = 0;
+        ply = 0;
+        for (int square = 0; square < BitboardPosition.SQUARES; square++) {
+            int piece = position.pieceAt(square);
+            if (piece != BitboardPosition.NONE) {
+                score += SQUARE_VALUE[piece][square];
+            }
+        }
+    }
+
+    @Override
+    public void makeMove(Position position, int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int flags = Move.flags(move);
+        int piece = position.pieceAt(from);
+        boolean white = BitboardPosition.isWhite(piece);
+
+        if (ply == previous.length) {
+            previous = Arrays.copyOf(previous, ply * 2);
+        }
+        previous[ply++] = score;
+
+        int placed = Move.isPromotion(move) ? BitboardPosition.pieceIndex(Move.promotion(move), white) : piece;
+        score += SQUARE_VALUE[placed][to] - SQUARE_VALUE[piece][from];
+        int capturedSquare = (flags & Move.EN_PASSANT) != 0
+                ? (white ? to + BitboardPosition.SIZE : to - BitboardPosition.SIZE) : to;
+        int captured = position.pieceAt(capturedSquare);
+        if (captured != BitboardPosition.NONE) {
+            score -= SQUARE_VALUE[captured][capturedSquare];
+        }
+        if ((flags & Move.CASTLING) != 0) {
+            boolean kingside = BitboardPosition.col(to) == 6;
+            int rook = BitboardPosition.pieceIndex(BitboardPosition.ROOK, white);
+            score += SQUARE_VALUE[rook][kingside ? to - 1 : to + 1] - SQUARE_VALUE[rook][kingside ? to + 1 : to - 2];
+        }
+    }
+
+    @Override
+    public void unmakeMove() {
+        score = previous[--ply];
+    }
+
+    @Override
+    public int evaluate(Position position) {
+        return position.isWhiteToMove() ? score : -score;
+    }
+
+    /**
+     * @param kind a piece kind
+     * @return its {@link PieceType#value() material value}, or 0 for the king, which is always on the board
+     */
+    static int material(int kind) {
+        return kind == BitboardPosition.KING ? 0 : PieceType.of(kind).value();
+    }
+}
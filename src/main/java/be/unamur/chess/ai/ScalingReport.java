@@ -0,0 +1,105 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.Position;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command-line report of how {@link LazySmpStrategy} scales with the number of threads.
+ * <p>
+ * For each thread count (1, 2, 4, 8 and 16 by default) it searches a fixed set of positions to a
+ * fixed depth with a fresh table, and prints the total time to depth, the speedup over one thread
+ * and the combined node rate. Usage: {@code ScalingReport [depth] [threads...]}.
+ * </p>
+ */
+public final class ScalingReport {
+
+    private static final int DEFAULT_DEPTH = 6;
+    private static final int[] DEFAULT_THREADS = {1, 2, 4, 8, 16};
+    private static final int TABLE_MEGABYTES = 64;
+
+    private ScalingReport() {
+        // utility class
+    }
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        int[] threadCounts = DEFAULT_THREADS;
+        if (args.length > 1) {
+            threadCounts = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                threadCounts[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+        run(depth, threadCounts, System.out);
+    }
+
+    /**
+     * Runs the report and prints one line per thread count.
+     *
+     * @param depth        the search depth in plies
+     * @param threadCounts the thread counts to measure; the first one is the speedup baseline
+     * @param out          where to print the report
+     */
+    public static void run(int depth, int[] threadCounts, PrintStream out) {
+        List<Piece[][]> boards = positions();
+        out.printf(Locale.ROOT, "Lazy SMP scaling, depth %d, %d positions, %d processors%n",
+                depth, boards.size(), Runtime.getRuntime().availableProcessors());
+        out.printf(Locale.ROOT, "%8s %12s %9s %14s %12s%n", "threads", "time (ms)", "speedup", "nodes", "knps");
+
+        measure(1, depth, boards); // warm-up, so that the first thread count is not timed while compiling
+        long baseline = 0;
+        for (int threads : threadCounts) {
+            long[] result = measure(threads, depth, boards);
+            long nanos = result[0];
+            long nodes = result[1];
+            if (baseline == 0) {
+                baseline = nanos;
+            }
+            out.printf(Locale.ROOT, "%8d %12.1f %9.2f %14d %12d%n", threads, nanos / 1e6,
+                    (double) baseline / nanos, nodes, nodes * 1_000_000L / Math.max(1, nanos));
+        }
+    }
+
+    /**
+     * @return the total time in nanoseconds and the total node count to search every board
+     */
+    private static long[] measure(int threads, int depth, List<Piece[][]> boards) {
+        long nanos = 0;
+        long nodes = 0;
+        try (LazySmpStrategy strategy = new LazySmpStrategy(threads, depth, 0,
+                new TranspositionTable(TABLE_MEGABYTES, TranspositionTable.ReplacementScheme.DEPTH_PREFERRED))) {
+            for (Piece[][] board : boards) {
+                strategy.getNextMove(board, true);
+                nanos += strategy.getElapsedNanos();
+                nodes += strategy.getNodesSearched();
+            }
+        }
+        return new long[] {nanos, nodes};
+    }
+
+    /**
+     * @return the benchmark positions: the initial position and two openings, white to move
+     */
+    static List<Piece[][]> positions() {
+        String[][] lines = {
+            {},
+            {"e2e4", "e7e5", "g1f3", "b8c6", "f1c4", "g8f6"},
+            {"d2d4", "d7d5", "c2c4", "e7e6", "b1c3", "g8f6", "c1g5", "f8e7"},
+        };
+        List<Piece[][]> boards = new ArrayList<>();
+        for (String[] line : lines) {
+            Position position = Position.initial();
+            for (String move : line) {
+                position.makeMove(Move.fromString(position, move));
+            }
+            boards.add(position.toBoard());
+        }
+        return boards;
+    }
+}
@@ -0,0 +1,424 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.BitboardPosition;
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.MoveList;
+import be.unamur.chess.model.Position;
+
+/**
+ * Negamax alpha-beta search over a single {@link Position}, played with make/unmake.
+ * <p>
+ * One instance holds all the mutable state of a search (position, per-ply move buffers, node
+ * counter, deadline), so it is confined to one thread; several instances may share one
+ * {@link TranspositionTable} and be stopped from another thread with {@link #stop()}. Scores are
+ * in centipawns from the point of view of the side to move; mates are reported as
+ * {@code MATE - ply}.
+ * </p>
+ * <p>
+ * When given a {@link TranspositionTable}, every node looks its position up first: a stored result
+ * that is deep enough and whose bound fits the window is returned directly, otherwise the stored
+ * best move is searched first. Mate scores are stored relative to the node, not the root.
+ * </p>
+ * <p>
+ * Leaves are scored by an {@link Evaluator}, which follows every move made and taken back so that
+ * an incremental evaluator never has to rescan the board.
+ * </p>
+ * <p>
+ * Moves are searched in the order of a {@link MoveOrdering}, which is told about every cutoff. Without
+ * one, only the hash move is searched first and the others keep their generation order.
+ * </p>
+ * <p>
+ * Past the nominal depth, a quiescence search keeps playing captures and promotions until the
+ * position is quiet, so that no leaf is scored in the middle of an exchange. The side to move may
+ * always stand pat on the static score instead of capturing; captures that cannot raise that score
+ * to alpha even with a margin (delta pruning) or that lose material by {@link StaticExchange} are
+ * skipped. A side in check searches all its evasions instead.
+ * </p>
+ */
+final class Search {
+
+    static final int INFINITY = 1_000_000;
+    static final int MATE = 100_000;
+    static final int MAX_PLY = 128;
+
+    /** How many nodes are searched between two looks at the clock. */
+    private static final int CLOCK_CHECK_INTERVAL = 2048;
+    /** Positional gain allowed on top of the material of a capture before delta pruning skips it. */
+    private static final int DELTA_MARGIN = 200;
+
+    private final Position position;
+    private final TranspositionTable table;
+    private final Evaluator evaluator;
+    private final MoveOrdering ordering;
+    private final MoveList[] moves = new MoveList[MAX_PLY + 1];
+    private final int[] exchangeGains = StaticExchange.newScratch();
+    private long deadline = Long.MAX_VALUE;
+    private long softDeadline = Long.MAX_VALUE;
+    private boolean quiescence = true;
+    private volatile boolean stopRequested;
+    private long nodes;
+    private boolean stopped;
+    private int bestMove = Move.NONE;
+    private int completedDepth;
+    private int score;
+
+    Search(Position position) {
+        this(position, null);
+    }
+
+    /**
+     * @param position the position to search, modified in place and restored after each move
+     * @param table    the transposition table to use, or {@code null} for none
+     */
+    Search(Position position, TranspositionTable table) {
+        this(position, table, new PieceSquareEvaluator(), new MoveOrdering());
+    }
+
+    /**
+     * @param position  the position to search, modified in place and restored after each move
+     * @param table     the transposition table to use, or {@code null} for none
+     * @param evaluator the evaluator of the leaves, used by this search only
+     * @param ordering  the move ordering, used by this search only, or {@code null} for none
+     */
+    Search(Position position, TranspositionTable table, Evaluator evaluator, MoveOrdering ordering) {
+        this.position = position;
+        this.table = table;
+        this.evaluator = evaluator;
+        this.ordering = ordering;
+        for (int ply = 0; ply <= MAX_PLY; ply++) {
+            moves[ply] = new MoveList();
+        }
+    }
+
+    /**
+     * @param deadline the {@link System#nanoTime()} value after which the search stops,
+     *                 or {@link Long#MAX_VALUE} for none
+     */
+    void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * @param softDeadline the {@link System#nanoTime()} value after which {@link #iterate(int, int)}
+     *                     starts no new iteration, or {@link Long#MAX_VALUE} for none
+     */
+    void setSoftDeadline(long softDeadline) {
+        this.softDeadline = softDeadline;
+    }
+
+    /**
+     * @param quiescence {@code false} to score the leaves statically instead of with a quiescence search
+     */
+    void setQuiescence(boolean quiescence) {
+        this.quiescence = quiescence;
+    }
+
+    /**
+     * Asks the search to stop at its next look at the clock; may be called from any thread.
+     */
+    void stop() {
+        stopRequested = true;
+    }
+
+    long nodes() {
+        return nodes;
+    }
+
+    /**
+     * @return the deepest iteration completed by {@link #iterate(int, int)}
+     */
+    int completedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * @return the score of the deepest iteration completed by {@link #iterate(int, int)}
+     */
+    int score() {
+        return score;
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * @return the best move found by the last completed call to {@link #searchRoot(int, int)},
+     *         or the first legal move if none completed
+     */
+    int bestMove() {
+        return bestMove;
+    }
+
+    /**
+     * Iterative deepening: searches the root at {@code startDepth}, then one ply deeper each time,
+     * until {@code maxDepth}, a forced mate, the soft deadline, or a stop. {@link #bestMove()},
+     * {@link #score()} and {@link #completedDepth()} then describe the deepest iteration that
+     * completed.
+     *
+     * @param startDepth the first depth searched, at least 1
+     * @param maxDepth   the last depth searched
+     */
+    void iterate(int startDepth, int maxDepth) {
+        int move = Move.NONE;
+        completedDepth = 0;
+        for (int depth = startDepth; depth <= maxDepth; depth++) {
+            int result = searchRoot(depth, move);
+            if (stopped) {
+                break;
+            }
+            move = bestMove;
+            score = result;
+            completedDepth = depth;
+            if (move == Move.NONE || Math.abs(result) >= MATE - MAX_PLY) {
+                break; // no legal move, or a forced mate was found
+            }
+            if (System.nanoTime() > softDeadline) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Searches every root move to the given depth, trying {@code firstMove} (typically the best
+     * move of the previous iteration) first.
+     *
+     * @param depth     the depth in plies, at least 1
+     * @param firstMove a move to search first, or {@link Move#NONE}
+     * @return the score of the best root move, meaningless if the search was stopped
+     */
+    int searchRoot(int depth, int firstMove) {
+        evaluator.reset(position);
+        MoveList rootMoves = moves[0];
+        rootMoves.clear();
+        position.generateLegalMoves(rootMoves);
+        if (rootMoves.isEmpty()) {
+            bestMove = Move.NONE;
+            return position.isInCheck() ? -MATE : 0;
+        }
+        order(rootMoves, 0, firstMove);
+        if (bestMove == Move.NONE) {
+            bestMove = rootMoves.get(0); // fallback should the very first iteration be stopped
+        }
+
+        int alpha = -INFINITY;
+        int best = Move.NONE;
+        for (int i = 0; i < rootMoves.size(); i++) {
+            int move = rootMoves.get(i);
+            play(move);
+            int score = -negamax(depth - 1, -INFINITY, -alpha, 1);
+            takeBack(move);
+            if (stopped) {
+                return alpha;
+            }
+            if (score > alpha) {
+                alpha = score;
+                best = move;
+            }
+        }
+        bestMove = best;
+        if (table != null) {
+            table.store(position.hash(), best, toTable(alpha, 0), depth, TranspositionTable.EXACT);
+        }
+        return alpha;
+    }
+
+    private int negamax(int depth, int alpha, int beta, int ply) {
+        if (depth <= 0 && quiescence) {
+            return quiesce(alpha, beta, ply);
+        }
+        if (countNode()) {
+            return 0;
+        }
+        if (depth <= 0 || ply >= MAX_PLY) {
+            return evaluator.evaluate(position);
+        }
+
+        int tableMove = Move.NONE;
+        if (table != null) {
+            long entry = table.probe(position.hash());
+            if (entry != TranspositionTable.MISS) {
+                tableMove = TranspositionTable.move(entry);
+                if (TranspositionTable.depth(entry) >= depth) {
+                    int score = fromTable(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER && score >= beta)
+                            || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                        return score;
+                    }
+                }
+            }
+        }
+
+        MoveList list = moves[ply];
+        list.clear();
+        position.generateLegalMoves(list);
+        if (list.isEmpty()) {
+            return position.isInCheck() ? -MATE + ply : 0;
+        }
+        order(list, ply, tableMove);
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int best = Move.NONE;
+        for (int i = 0; i < list.size(); i++) {
+            int move = list.get(i);
+            play(move);
+            int score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+            takeBack(move);
+            if (stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = move;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                if (ordering != null) {
+                    ordering.recordCutoff(position, move, ply, depth);
+                }
+                break;
+            }
+        }
+
+        if (table != null) {
+            int bound = bestScore >= beta ? TranspositionTable.LOWER
+                    : bestScore > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+            table.store(position.hash(), bound == TranspositionTable.UPPER ? Move.NONE : best,
+                    toTable(bestScore, ply), depth, bound);
+        }
+        return bestScore;
+    }
+
+    private int quiesce(int alpha, int beta, int ply) {
+        if (countNode()) {
+            return 0;
+        }
+        if (ply >= MAX_PLY) {
+            return evaluator.evaluate(position);
+        }
+
+        boolean inCheck = position.isInCheck();
+        int standPat = -INFINITY;
+        if (!inCheck) {
+            standPat = evaluator.evaluate(position);
+            if (standPat >= beta) {
+                return standPat;
+            }
+            if (standPat > alpha) {
+                alpha = standPat;
+            }
+        }
+
+        MoveList list = moves[ply];
+        list.clear();
+        position.generateLegalMoves(list);
+        if (list.isEmpty()) {
+            return inCheck ? -MATE + ply : 0;
+        }
+        order(list, ply, Move.NONE);
+
+        int bestScore = standPat;
+        for (int i = 0; i < list.size(); i++) {
+            int move = list.get(i);
+            if (!inCheck && (!(Move.isCapture(move) || Move.isPromotion(move))
+                    || (!Move.isPromotion(move) && standPat + capturedValue(move) + DELTA_MARGIN <= alpha)
+                    || StaticExchange.evaluate(position, move, exchangeGains) < 0)) {
+                continue;
+            }
+            play(move);
+            int score = -quiesce(-beta, -alpha, ply + 1);
+            takeBack(move);
+            if (stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        return bestScore;
+    }
+
+    /**
+     * Counts a node and looks at the clock every {@link #CLOCK_CHECK_INTERVAL} nodes.
+     *
+     * @return {@code true} if the search must stop
+     */
+    private boolean countNode() {
+        if ((++nodes % CLOCK_CHECK_INTERVAL) == 0 && (stopRequested || System.nanoTime() > deadline)) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    /**
+     * @return the exchange value of the piece a capture takes
+     */
+    private int capturedValue(int move) {
+        if ((Move.flags(move) & Move.EN_PASSANT) != 0) {
+            return StaticExchange.value(BitboardPosition.PAWN);
+        }
+        return StaticExchange.value(BitboardPosition.kindOf(position.pieceAt(Move.to(move))));
+    }
+
+    /**
+     * Converts a mate score from root-relative to node-relative before storing it.
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score + ply;
+        }
+        if (score <= -MATE + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score - ply;
+        }
+        if (score <= -MATE + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    private void play(int move) {
+        evaluator.makeMove(position, move);
+        position.makeMove(move);
+    }
+
+    private void takeBack(int move) {
+        position.unmakeMove(move);
+        evaluator.unmakeMove();
+    }
+
+    private void order(MoveList list, int ply, int firstMove) {
+        if (ordering != null) {
+            ordering.order(position, list, ply, firstMove);
+        } else {
+            moveToFront(list, firstMove);
+        }
+    }
+
+    private static void moveToFront(MoveList list, int move) {
+        for (int i = 1; i < list.size(); i++) {
+            if (list.get(i) == move) {
+                list.set(i, list.get(0));
+                list.set(0, move);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.Piece;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Default executor of the asynchronous {@link Strategy#getNextMove(Piece[][], boolean, TimeBudget)}.
+ * <p>
+ * A {@link TimeBudget} is counted from the request, so a search must not wait in a queue behind
+ * unrelated tasks, as it could on the common pool, which bulk file I/O also uses. This executor
+ * starts every search at once, on an idle thread or a new one. Its threads are daemons named
+ * {@code chess-search-N}, and end after a minute without work.
+ * </p>
+ */
+final class SearchExecutor {
+
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "chess-search-" + THREADS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private SearchExecutor() {
+        // utility class
+    }
+
+    /**
+     * @return the shared executor, never shut down
+     */
+    static Executor get() {
+        return INSTANCE;
+    }
+}
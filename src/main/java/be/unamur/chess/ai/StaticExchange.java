@@ -0,0 +1,109 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.BitboardPosition;
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.PieceType;
+import be.unamur.chess.model.Position;
+
+/**
+ * Static exchange evaluation (SEE): the material outcome of a capture once both sides have
+ * recaptured on its square as long as it pays, without searching.
+ * <p>
+ * The sides alternately capture with their least valuable attacker. Attackers are looked up again
+ * after each capture against an occupancy from which the traded pieces are removed, so sliders
+ * lined up behind one another (batteries and x-rays) join the exchange in turn. Either side may
+ * stop capturing whenever continuing would lose material, which the gains are then folded back
+ * from the last capture to the first to account for. Pins and checks are ignored.
+ * </p>
+ */
+public final class StaticExchange {
+
+    /** At most 32 pieces take part in one exchange: the length of a {@link #newScratch() scratch array}. */
+    static final int MAX_CAPTURES = 32;
+
+    private StaticExchange() {
+        // utility class
+    }
+
+    /**
+     * @param kind a piece kind
+     * @return its exchange value in centipawns, the {@link PieceType#value() material value}; the
+     *         king's outweighs any exchange
+     */
+    static int value(int kind) {
+        return PieceType.of(kind).value();
+    }
+
+    /**
+     * @return an array for the gains of {@link #evaluate(Position, int, int[])}, reusable across calls
+     *         by a single thread
+     */
+    static int[] newScratch() {
+        return new int[MAX_CAPTURES];
+    }
+
+    /**
+     * Evaluates a move by the exchange it starts on its destination square.
+     *
+     * @param position the position the move is played from
+     * @param move     a legal move of the side to move
+     * @return the material won by the side to move, in centipawns, negative if the move loses material
+     */
+    public static int evaluate(Position position, int move) {
+        return evaluate(position, move, newScratch());
+    }
+
+    /**
+     * Evaluates a move without allocating, for callers evaluating many moves such as a search.
+     *
+     * @param gain a {@link #newScratch() scratch array}, overwritten
+     * @see #evaluate(Position, int)
+     */
+    static int evaluate(Position position, int move, int[] gain) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        boolean white = position.isWhiteToMove();
+        gain[0] = 0;
+
+        long occupied = position.occupied() ^ (1L << from);
+        int target = position.pieceAt(to);
+        if ((Move.flags(move) & Move.EN_PASSANT) != 0) {
+            occupied ^= 1L << (white ? to + BitboardPosition.SIZE : to - BitboardPosition.SIZE);
+            gain[0] = value(BitboardPosition.PAWN);
+        } else if (target != BitboardPosition.NONE) {
+            gain[0] = value(BitboardPosition.kindOf(target));
+        }
+        int onSquare = value(BitboardPosition.kindOf(position.pieceAt(from)));
+        if (Move.isPromotion(move)) {
+            onSquare = value(Move.promotion(move));
+            gain[0] += onSquare - value(BitboardPosition.PAWN);
+        }
+
+        int depth = 0;
+        boolean side = !white;
+        while (depth + 1 < MAX_CAPTURES) {
+            long attackers = position.attackersTo(to, side, occupied) & occupied;
+            if (attackers == 0) {
+                break;
+            }
+            int kind = BitboardPosition.PAWN;
+            long attacker = attackers & position.pieces(kind, side);
+            while (attacker == 0) {
+                attacker = attackers & position.pieces(++kind, side);
+            }
+            depth++;
+            gain[depth] = onSquare - gain[depth - 1];
+            if (Math.max(-gain[depth - 1], gain[depth]) < 0) {
+                break; // neither the capture nor the recapture can pay off any more
+            }
+            onSquare = value(kind);
+            occupied ^= Long.lowestOneBit(attacker);
+            side = !side;
+        }
+        while (depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+}
@@ -3,6 +3,8 @@ package be.unamur.chess.ai;
 import be.unamur.chess.model.Piece;
 
 import java.awt.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public interface Strategy {
 
@@ -15,4 +17,39 @@ public interface Strategy {
      *         and the second element is the destination position.
      */
     Point[] getNextMove(Piece[][] boardState, boolean isWhite);
+
+    /**
+     * Selects the next move for the player asynchronously, within a time budget, on a dedicated
+     * executor that starts every search at once, so that none waits behind unrelated tasks of the
+     * common pool while its budget runs out.
+     *
+     * @param boardState The current state of the chessboard; it must not change until the future completes.
+     * @param isWhite    True if the AI is playing as white, false if black.
+     * @param budget     The time allowed for the move, counted from this call.
+     * @return A future of the move, as described by {@link #getNextMove(Piece[][], boolean)}.
+     * @see #getNextMove(Piece[][], boolean, TimeBudget, Executor)
+     */
+    default CompletableFuture<Point[]> getNextMove(Piece[][] boardState, boolean isWhite, TimeBudget budget) {
+        return getNextMove(boardState, isWhite, budget, SearchExecutor.get());
+    }
+
+    /**
+     * Selects the next move for the player asynchronously, within a time budget.
+     * <p>
+     * Searching strategies deepen their search until the budget runs out and complete the future
+     * with the best move found so far; cancelling the future stops their search at its next look
+     * at the clock. By default the move is computed by {@link #getNextMove(Piece[][], boolean)},
+     * ignoring the budget, which suits strategies that do not search.
+     * </p>
+     *
+     * @param boardState The current state of the chessboard; it must not change until the future completes.
+     * @param isWhite    True if the AI is playing as white, false if black.
+     * @param budget     The time allowed for the move, counted from this call.
+     * @param executor   The executor running the search; the budget includes any time the search waits in it.
+     * @return A future of the move, as described by {@link #getNextMove(Piece[][], boolean)}.
+     */
+    default CompletableFuture<Point[]> getNextMove(Piece[][] boardState, boolean isWhite, TimeBudget budget,
+                                                   Executor executor) {
+        return CompletableFuture.supplyAsync(() -> getNextMove(boardState, isWhite), executor);
+    }
 }
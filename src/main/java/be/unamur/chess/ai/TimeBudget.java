@@ -0,0 +1,106 @@
+package be.unamur.chess.ai;
+
+/**
+ * Time allowed for one move, as a soft and a hard limit.
+ * <p>
+ * An iterative deepening search starts no new iteration once the soft limit has passed, since the
+ * next one would most likely not complete, and abandons the iteration in progress at the hard
+ * limit; the move of the last completed iteration is then played. A fixed move time uses the same
+ * value for both limits. A clock is shared out over the moves still to play before the next time
+ * control: the soft limit is an even share of the remaining time plus most of the increment, the
+ * hard limit a few shares, and neither exceeds what is left on the clock once a small overhead for
+ * communication is kept in reserve.
+ * </p>
+ */
+public final class TimeBudget {
+
+    /** Moves assumed to remain before the next time control when the clock does not tell. */
+    public static final int DEFAULT_MOVES_TO_GO = 30;
+
+    /** How many soft limits the hard limit may reach. */
+    private static final int HARD_FACTOR = 4;
+    /** Time kept in reserve on the clock, at most, for the move to reach the server. */
+    private static final long OVERHEAD_MILLIS = 50;
+
+    private final long softMillis;
+    private final long hardMillis;
+
+    private TimeBudget(long softMillis, long hardMillis) {
+        this.softMillis = softMillis;
+        this.hardMillis = hardMillis;
+    }
+
+    /**
+     * @param millis the time to spend on the move, in milliseconds
+     * @return a budget stopping the search after exactly that time
+     */
+    public static TimeBudget ofMoveTime(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("The move time must not be negative.");
+        }
+        return new TimeBudget(millis, millis);
+    }
+
+    /**
+     * @param remainingMillis the time left on the clock of the side to move, in milliseconds
+     * @param incrementMillis the time added to that clock after each move, in milliseconds
+     * @return a budget sharing the clock over {@link #DEFAULT_MOVES_TO_GO} moves
+     */
+    public static TimeBudget ofClock(long remainingMillis, long incrementMillis) {
+        return ofClock(remainingMillis, incrementMillis, DEFAULT_MOVES_TO_GO);
+    }
+
+    /**
+     * @param remainingMillis the time left on the clock of the side to move, in milliseconds
+     * @param incrementMillis the time added to that clock after each move, in milliseconds
+     * @param movesToGo       the moves to play before the next time control, at least 1
+     * @return a budget sharing the clock over those moves
+     */
+    public static TimeBudget ofClock(long remainingMillis, long incrementMillis, int movesToGo) {
+        if (remainingMillis < 0 || incrementMillis < 0) {
+            throw new IllegalArgumentException("Clock times must not be negative.");
+        }
+        if (movesToGo < 1) {
+            throw new IllegalArgumentException("At least one move must remain to be played.");
+        }
+        long usable = remainingMillis - Math.min(OVERHEAD_MILLIS, remainingMillis / 10);
+        long soft = Math.min(usable, usable / movesToGo + incrementMillis * 3 / 4);
+        long hard = Math.min(usable, soft * HARD_FACTOR);
+        return new TimeBudget(soft, hard);
+    }
+
+    /**
+     * @return the time after which no new iteration starts, in milliseconds
+     */
+    public long getSoftMillis() {
+        return softMillis;
+    }
+
+    /**
+     * @return the time after which the search stops, in milliseconds
+     */
+    public long getHardMillis() {
+        return hardMillis;
+    }
+
+    /**
+     * @param startNanos the {@link System#nanoTime()} at which the move was requested
+     * @return the soft limit as a {@link System#nanoTime()} value
+     */
+    long softDeadline(long startNanos) {
+        return startNanos + softMillis * 1_000_000L;
+    }
+
+    /**
+     * @param startNanos the {@link System#nanoTime()} at which the move was requested
+     * @return the hard limit as a {@link System#nanoTime()} value
+     */
+    long hardDeadline(long startNanos) {
+        return startNanos + hardMillis * 1_000_000L;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeBudget[soft=" + softMillis + " ms, hard=" + hardMillis + " ms]";
+    }
+}
@@ -0,0 +1,178 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.Move;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size hash table remembering search results by {@link be.unamur.chess.model.Position#hash()}.
+ * <p>
+ * Entries live in two parallel {@code long[]} arrays (key and packed data, 16 bytes per entry), so
+ * the table creates no object per entry and its footprint is bounded by the megabyte cap given at
+ * construction. The entry count is rounded down to a power of two and indexed by the low bits of
+ * the key. Each packed entry holds the best move, the score, the remaining depth, the bound type and
+ * the search generation that wrote it; use the static accessors to decode the value returned by
+ * {@link #probe(long)}.
+ * </p>
+ * <p>
+ * The table may be shared by several searching threads without locking. The key slot holds
+ * {@code key ^ data} rather than the key itself, so a pair of slots torn by two concurrent writers
+ * no longer verifies and is read as a miss instead of a wrong entry. Lost updates are harmless.
+ * </p>
+ */
+public final class TranspositionTable {
+
+    /**
+     * What to do when a new result hashes to a slot that already holds another position.
+     */
+    public enum ReplacementScheme {
+        /** Keep the deeper result, unless the stored one is left over from a previous search. */
+        DEPTH_PREFERRED,
+        /** Always overwrite with the newest result. */
+        ALWAYS_REPLACE
+    }
+
+    /** The score is exact. */
+    public static final int EXACT = 1;
+    /** The score is a lower bound (the search failed high). */
+    public static final int LOWER = 2;
+    /** The score is an upper bound (the search failed low). */
+    public static final int UPPER = 3;
+
+    /** Value returned by {@link #probe(long)} when the position is not stored. */
+    public static final long MISS = 0L;
+
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+    // Packed data layout: move 20 bits | score 22 bits (signed) | depth 8 bits | bound 2 bits | generation 8 bits
+    private static final int SCORE_SHIFT = 20;
+    private static final int DEPTH_SHIFT = 42;
+    private static final int BOUND_SHIFT = 50;
+    private static final int GENERATION_SHIFT = 52;
+    private static final long MOVE_MASK = (1L << 20) - 1;
+    private static final long SCORE_MASK = (1L << 22) - 1;
+    private static final long BYTE_MASK = 0xFF;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+    private final ReplacementScheme scheme;
+    private volatile int generation;
+
+    /**
+     * @param megabytes the memory cap in MiB, at least 1
+     * @param scheme    the replacement scheme
+     */
+    public TranspositionTable(int megabytes, ReplacementScheme scheme) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("The table needs at least 1 MB.");
+        }
+        long entries = Long.highestOneBit((long) megabytes * 1024 * 1024 / ENTRY_BYTES);
+        int capacity = (int) Math.min(entries, 1 << 30);
+        this.keys = new long[capacity];
+        this.data = new long[capacity];
+        this.mask = capacity - 1;
+        this.scheme = scheme;
+    }
+
+    /**
+     * @return the number of entries the table can hold
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    public ReplacementScheme scheme() {
+        return scheme;
+    }
+
+    /**
+     * Marks the start of a new search, so that older entries become preferred victims.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & (int) BYTE_MASK;
+    }
+
+    /**
+     * Empties the table.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+        generation = 0;
+    }
+
+    /**
+     * @param key a position hash
+     * @return the packed entry stored for that position, or {@link #MISS}
+     */
+    public long probe(long key) {
+        int index = (int) key & mask;
+        long entry = data[index];
+        return entry != MISS && (keys[index] ^ entry) == key ? entry : MISS;
+    }
+
+    /**
+     * Stores a search result, subject to the replacement scheme.
+     *
+     * @param key   the position hash
+     * @param move  the best move found, or {@link Move#NONE}
+     * @param score the score, which must fit in 22 signed bits
+     * @param depth the remaining depth searched, 0 to 255
+     * @param bound {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int index = (int) key & mask;
+        long old = data[index];
+        boolean sameKey = old != MISS && (keys[index] ^ old) == key;
+        int current = generation;
+        if (scheme == ReplacementScheme.DEPTH_PREFERRED && old != MISS && !sameKey
+                && generation(old) == current && depth(old) > depth) {
+            return;
+        }
+        if (move == Move.NONE && sameKey) {
+            move = move(old); // keep the best move known for this position
+        }
+        long entry = (move & MOVE_MASK)
+                | ((score & SCORE_MASK) << SCORE_SHIFT)
+                | ((depth & BYTE_MASK) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) current << GENERATION_SHIFT);
+        keys[index] = key ^ entry;
+        data[index] = entry;
+    }
+
+    /**
+     * @return the occupancy of the first thousand slots, in permille
+     */
+    public int hashfull() {
+        int sample = Math.min(1000, data.length);
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            if (data[i] != MISS) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    public static int move(long entry) {
+        return (int) (entry & MOVE_MASK);
+    }
+
+    public static int score(long entry) {
+        return (int) (entry << (Long.SIZE - SCORE_SHIFT - 22) >> (Long.SIZE - 22));
+    }
+
+    public static int depth(long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & BYTE_MASK);
+    }
+
+    public static int bound(long entry) {
+        return (int) ((entry >>> BOUND_SHIFT) & 3);
+    }
+
+    private static int generation(long entry) {
+        return (int) ((entry >>> GENERATION_SHIFT) & BYTE_MASK);
+    }
+}
@@ -0,0 +1,127 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.Piece;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Board dimensions of a {@link PositionArchive} or a {@link CompressedPositionArchive}, and the
+ * header fields both formats start with.
+ * <p>
+ * Both headers begin with the same 16 bytes (big-endian):
+ * </p>
+ * <pre>
+ * int    magic        format specific
+ * byte   version      format specific
+ * byte[3] reserved
+ * ushort rows
+ * ushort cols
+ * int    recordSize   (rows * cols + 1) / 2
+ * </pre>
+ */
+final class ArchiveLayout {
+
+    private final int rows;
+    private final int cols;
+    private final int recordSize;
+
+    /**
+     * @param rows the number of rows of every board, from 1 to 65535
+     * @param cols the number of columns of every board, from 1 to 65535
+     * @throws IllegalArgumentException if a dimension is out of range
+     */
+    ArchiveLayout(int rows, int cols) {
+        if (rows <= 0 || cols <= 0 || rows > 0xFFFF || cols > 0xFFFF) {
+            throw new IllegalArgumentException("Invalid archive dimensions " + rows + "x" + cols + ".");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.recordSize = BinaryBoardCodec.squareBytes(rows, cols);
+    }
+
+    /**
+     * @param header a header, whose common fields are read with absolute accesses
+     * @return the layout it describes, or {@code null} if its dimensions and record size disagree
+     */
+    static ArchiveLayout read(ByteBuffer header) {
+        int rows = header.getShort(8) & 0xFFFF;
+        int cols = header.getShort(10) & 0xFFFF;
+        int recordSize = header.getInt(12);
+        if (rows == 0 || cols == 0 || recordSize != BinaryBoardCodec.squareBytes(rows, cols)) {
+            return null;
+        }
+        return new ArchiveLayout(rows, cols);
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    int cols() {
+        return cols;
+    }
+
+    /**
+     * @return the number of bytes of one encoded board
+     */
+    int recordSize() {
+        return recordSize;
+    }
+
+    /**
+     * @param board a board to add to the archive
+     * @throws IllegalArgumentException if it does not have the archive's dimensions
+     */
+    void requireBoard(Piece[][] board) {
+        if (board.length != rows || BinaryBoardCodec.columns(board) != cols) {
+            throw new IllegalArgumentException("Expected a " + rows + "x" + cols + " board.");
+        }
+    }
+
+    /**
+     * @param headerBytes the size of the whole header
+     * @return a buffer of that size holding the common fields, positioned after them for the format's own
+     */
+    ByteBuffer header(int magic, int version, int headerBytes) {
+        return ByteBuffer.allocate(headerBytes)
+                .putInt(magic)
+                .put((byte) version)
+                .put(new byte[3])
+                .putShort((short) rows)
+                .putShort((short) cols)
+                .putInt(recordSize);
+    }
+
+    /* ----------------------------- Writing ----------------------------- */
+
+    /**
+     * Creates an archive file, overwriting any existing one, positioned after the header, which
+     * the writer fills in with {@link #writeHeader(FileChannel, ByteBuffer)} once the counts are known.
+     */
+    static FileChannel create(Path path, int headerBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            channel.position(headerBytes);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    /**
+     * @param header a completely filled header
+     */
+    static void writeHeader(FileChannel channel, ByteBuffer header) throws IOException {
+        header.flip();
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.BitboardPosition;
+import be.unamur.chess.model.Piece;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact, versioned binary encoding of rectangular boards, next to the text format of
+ * {@link ChessFileHandler}.
+ * <p>
+ * Layout (big-endian):
+ * </p>
+ * <pre>
+ * int    magic    0x89434244 (0x89 'C' 'B' 'D')
+ * byte   version  1
+ * ushort rows
+ * ushort cols
+ * byte[] squares  (rows * cols + 1) / 2 bytes, one nibble per square in row-major order,
+ *                 the first square of each pair in the high nibble
+ * </pre>
+ * <p>
+ * A nibble is 0 for an empty square, or {@link BitboardPosition#pieceIndex(Piece)} + 1. A standard
+ * 8x8 board thus takes 41 bytes instead of roughly 1.5 KB of text. The first magic byte has its
+ * high bit set, so it can never start a text board: {@link #isBinary(ByteBuffer)} tells both
+ * formats apart, which lets {@link ChessFileHandler#loadGame(java.io.File)} accept either.
+ * </p>
+ */
+public final class BinaryBoardCodec {
+
+    /** First four bytes of every binary board. */
+    public static final int MAGIC = 0x89434244;
+    /** Version written by this codec. */
+    public static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = Integer.BYTES + 1 + 2 * Short.BYTES;
+    private static final int MAX_DIMENSION = 0xFFFF;
+    /**
+     * Largest board {@link #read(DataInput)} accepts, in squares: a stream cannot tell its length
+     * up front, so a corrupted header must not make it allocate a huge board.
+     */
+    static final int MAX_STREAM_SQUARES = 1 << 20;
+    private static final int EMPTY = 0;
+    private static final int MAX_CODE = BitboardPosition.PIECES;
+
+    private BinaryBoardCodec() {
+        // utility class
+    }
+
+    /**
+     * @param rows the number of rows, at most 65535
+     * @param cols the number of columns, at most 65535
+     * @return the number of bytes of the encoding of such a board
+     * @throws IllegalArgumentException if a dimension is out of range
+     */
+    public static int encodedSize(int rows, int cols) {
+        return HEADER_BYTES + squareBytes(rows, cols);
+    }
+
+    /**
+     * @return the number of bytes of the squares of a board, without header; computed in
+     *         {@code long}, so even a 65535x65535 board does not overflow
+     * @throws IllegalArgumentException if a dimension is out of range
+     */
+    static int squareBytes(int rows, int cols) {
+        if (rows < 0 || cols < 0 || rows > MAX_DIMENSION || cols > MAX_DIMENSION) {
+            throw new IllegalArgumentException("Invalid board dimensions " + rows + "x" + cols + ".");
+        }
+        return (int) (((long) rows * cols + 1) / 2);
+    }
+
+    /**
+     * Tells whether the bytes at the buffer's position start a binary board; the position is unchanged.
+     *
+     * @param bytes the content to inspect
+     * @return {@code true} if the binary magic number is present
+     */
+    public static boolean isBinary(ByteBuffer bytes) {
+        return bytes.remaining() >= Integer.BYTES && bytes.getInt(bytes.position()) == MAGIC;
+    }
+
+    /**
+     * Reads the length of the binary board starting at an offset from its header, with absolute reads.
+     *
+     * @param bytes  the content
+     * @param offset the index of the magic number
+     * @return the number of bytes of that board, or -1 if its header is incomplete
+     */
+    static int encodedSizeAt(ByteBuffer bytes, int offset) {
+        if (bytes.limit() - offset < HEADER_BYTES) {
+            return -1;
+        }
+        return encodedSize(bytes.getShort(offset + 5) & 0xFFFF, bytes.getShort(offset + 7) & 0xFFFF);
+    }
+
+    /* ----------------------------- Writing ----------------------------- */
+
+    /**
+     * Encodes a board into a stream.
+     *
+     * @param board a rectangular board of at most 65535 rows and columns
+     * @param out   the destination
+     * @throws IOException if writing fails
+     * @throws IllegalArgumentException if the board is too large
+     */
+    public static void write(Piece[][] board, DataOutput out) throws IOException {
+        int rows = board.length;
+        int cols = columns(board);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeShort(rows);
+        out.writeShort(cols);
+        int pending = -1;
+        for (Piece[] row : board) {
+            for (Piece piece : row) {
+                int code = encode(piece);
+                if (pending < 0) {
+                    pending = code;
+                } else {
+                    out.writeByte(pending << 4 | code);
+                    pending = -1;
+                }
+            }
+        }
+        if (pending >= 0) {
+            out.writeByte(pending << 4);
+        }
+    }
+
+    /**
+     * Encodes a board into a buffer, starting at its position.
+     *
+     * @param board a rectangular board of at most 65535 rows and columns
+     * @param out   the destination, with at least {@link #encodedSize(int, int)} bytes remaining
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     * @throws IllegalArgumentException if the board is too large
+     */
+    public static void write(Piece[][] board, ByteBuffer out) {
+        int rows = board.length;
+        int cols = columns(board);
+        out.putInt(MAGIC);
+        out.put((byte) VERSION);
+        out.putShort((short) rows);
+        out.putShort((short) cols);
+        writeSquares(board, out);
+    }
+
+    /**
+     * Writes the squares of a board, without header, at the buffer's position.
+     */
+    static void writeSquares(Piece[][] board, ByteBuffer out) {
+        int pending = -1;
+        for (Piece[] row : board) {
+            for (Piece piece : row) {
+                int code = encode(piece);
+                if (pending < 0) {
+                    pending = code;
+                } else {
+                    out.put((byte) (pending << 4 | code));
+                    pending = -1;
+                }
+            }
+        }
+        if (pending >= 0) {
+            out.put((byte) (pending << 4));
+        }
+    }
+
+    /* ----------------------------- Reading ----------------------------- */
+
+    /**
+     * Decodes a board from a stream.
+     *
+     * @param in the source, positioned at the magic number
+     * @return a newly allocated rectangular board
+     * @throws IOException if reading fails, the content is not a supported binary board, or the
+     *                     board has more than {@link #MAX_STREAM_SQUARES} squares
+     */
+    public static Piece[][] read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a binary board.");
+        }
+        requireVersion(in.readUnsignedByte());
+        int rows = in.readUnsignedShort();
+        int cols = in.readUnsignedShort();
+        if ((long) rows * cols > MAX_STREAM_SQUARES) {
+            throw new IOException("Binary board of " + rows + "x" + cols + " squares exceeds the limit of "
+                    + MAX_STREAM_SQUARES + " squares.");
+        }
+        Piece[][] board = new Piece[rows][cols];
+        int pending = -1;
+        for (Piece[] row : board) {
+            for (int c = 0; c < row.length; c++) {
+                int code;
+                if (pending < 0) {
+                    int b = in.readUnsignedByte();
+                    code = b >>> 4;
+                    pending = b & 0xF;
+                } else {
+                    code = pending;
+                    pending = -1;
+                }
+                row[c] = decode(code);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Decodes a board from a buffer, advancing its position past the encoding.
+     *
+     * @param in the source, positioned at the magic number
+     * @return a newly allocated rectangular board
+     * @throws IOException if the content is truncated or is not a supported binary board
+     */
+    public static Piece[][] read(ByteBuffer in) throws IOException {
+        try {
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not a binary board.");
+            }
+            requireVersion(in.get() & 0xFF);
+            int rows = in.getShort() & 0xFFFF;
+            int cols = in.getShort() & 0xFFFF;
+            int size = squareBytes(rows, cols);
+            if (in.remaining() < size) {
+                throw new BufferUnderflowException();
+            }
+            Piece[][] board = readSquares(in, in.position(), rows, cols);
+            in.position(in.position() + size);
+            return board;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated binary board.", e);
+        }
+    }
+
+    /**
+     * Decodes the squares of a board, without header, using absolute reads only: the buffer's
+     * position is unchanged, so a buffer shared between threads can be read concurrently.
+     *
+     * @param in     the source
+     * @param offset the index of the first byte of the squares
+     * @param rows   the number of rows
+     * @param cols   the number of columns
+     * @return a newly allocated board
+     * @throws IOException if a square code is invalid
+     */
+    static Piece[][] readSquares(ByteBuffer in, int offset, int rows, int cols) throws IOException {
+        Piece[][] board = new Piece[rows][cols];
+        int square = 0;
+        for (Piece[] row : board) {
+            for (int c = 0; c < cols; c++, square++) {
+                int b = in.get(offset + (square >>> 1));
+                row[c] = decode((square & 1) == 0 ? (b >>> 4) & 0xF : b & 0xF);
+            }
+        }
+        return board;
+    }
+
+    /* ----------------------------- Helpers ----------------------------- */
+
+    static int columns(Piece[][] board) {
+        int rows = board.length;
+        int cols = rows == 0 ? 0 : board[0].length;
+        if (rows > MAX_DIMENSION || cols > MAX_DIMENSION) {
+            throw new IllegalArgumentException("Binary boards are limited to " + MAX_DIMENSION + " rows and columns.");
+        }
+        for (Piece[] row : board) {
+            if (row.length != cols) {
+                throw new IllegalArgumentException("All rows must have the same length.");
+            }
+        }
+        return cols;
+    }
+
+    private static int encode(Piece piece) {
+        return piece == null ? EMPTY : BitboardPosition.pieceIndex(piece) + 1;
+    }
+
+    private static Piece decode(int code) throws IOException {
+        if (code == EMPTY) {
+            return null;
+        }
+        if (code > MAX_CODE) {
+            throw new IOException("Invalid square code " + code + ".");
+        }
+        return BitboardPosition.createPiece(code - 1);
+    }
+
+    private static void requireVersion(int version) throws IOException {
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary board version " + version + ".");
+        }
+    }
+}
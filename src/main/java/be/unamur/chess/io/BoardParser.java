@@ -0,0 +1,342 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.PieceType;
+import be.unamur.chess.model.Pieces;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Single-pass streaming parser for the board format written by {@link ChessFileHandler}.
+ * <p>
+ * Characters are pulled one at a time from a {@link Reader} (through an internal buffer) or from a
+ * {@link ByteBuffer} of ASCII bytes, and the board is built as the tokens go by: field names and
+ * piece types are matched in a small reusable scratch buffer, so parsing creates no intermediate
+ * {@code String}, no row list and no boxed value; only the pieces and the row arrays are allocated.
+ * </p>
+ * <p>
+ * The accepted grammar is the one of the former substring-based parser, slightly relaxed: whitespace
+ * may appear anywhere between tokens, the fields of a piece object may come in any order, and
+ * unknown fields are skipped, nested objects and arrays included. An unknown piece type still
+ * yields an empty square.
+ * </p>
+ */
+final class BoardParser {
+
+    private static final int EOF = -1;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int SCRATCH_SIZE = 16;
+    private static final int INITIAL_CAPACITY = 8;
+    private static final PieceType[] TYPES = PieceType.values();
+
+    private final Reader reader;
+    private final ByteBuffer bytes;
+    private final char[] buffer;
+    private int length;
+    private int index;
+    private long offset;
+    private int pushedBack = EOF;
+    private final char[] scratch = new char[SCRATCH_SIZE];
+    private int scratchLength;
+
+    private BoardParser(Reader reader, ByteBuffer bytes) {
+        this.reader = reader;
+        this.bytes = bytes;
+        this.buffer = reader == null ? null : new char[BUFFER_SIZE];
+    }
+
+    /**
+     * Parses a board from a character stream; the reader is not closed.
+     *
+     * @param reader the source
+     * @return the rectangular board
+     * @throws IOException if reading fails or the content is malformed
+     */
+    static Piece[][] parse(Reader reader) throws IOException {
+        return new BoardParser(reader, null).parseBoard();
+    }
+
+    /**
+     * Parses a board from ASCII bytes, from the buffer's position to its limit. The position is
+     * advanced past the consumed bytes.
+     *
+     * @param bytes the source
+     * @return the rectangular board
+     * @throws IOException if the content is malformed
+     */
+    static Piece[][] parse(ByteBuffer bytes) throws IOException {
+        return new BoardParser(null, bytes).parseBoard();
+    }
+
+    /* ----------------------------- Grammar ----------------------------- */
+
+    private Piece[][] parseBoard() throws IOException {
+        int c = nextNonWhitespace();
+        if (c == EOF) {
+            throw new IOException("Empty file content.");
+        }
+        expect(c, '[', "Expected '[' at start.");
+
+        Piece[][] rows = new Piece[INITIAL_CAPACITY][];
+        int rowCount = 0;
+        int cols = -1;
+        c = nextNonWhitespace();
+        while (c != ']') {
+            expect(c, '[', "Expected '[' to start a row.");
+            Piece[] row = parseRow(cols);
+            if (cols < 0) {
+                cols = row.length;
+            }
+            if (rowCount == rows.length) {
+                rows = Arrays.copyOf(rows, rowCount * 2);
+            }
+            rows[rowCount++] = row;
+            c = nextNonWhitespace();
+            if (c == ',') {
+                c = nextNonWhitespace();
+            }
+        }
+
+        if (nextNonWhitespace() != EOF) {
+            throw error("Unexpected content after board end");
+        }
+        Piece[][] board = new Piece[rowCount][];
+        System.arraycopy(rows, 0, board, 0, rowCount);
+        return board;
+    }
+
+    /**
+     * Parses one row after its opening bracket.
+     *
+     * @param cols the expected number of columns, or -1 for the first row
+     */
+    private Piece[] parseRow(int cols) throws IOException {
+        Piece[] row = new Piece[cols < 0 ? INITIAL_CAPACITY : cols];
+        int count = 0;
+        int c = nextNonWhitespace();
+        while (c != ']') {
+            Piece piece;
+            if (c == 'n') {
+                expectKeyword("ull");
+                piece = null;
+            } else if (c == '{') {
+                piece = parsePiece();
+            } else if (c == EOF) {
+                throw new IOException("Unexpected end while reading row items.");
+            } else {
+                throw error("Unexpected token '" + (char) c + "'");
+            }
+
+            if (count == row.length) {
+                if (cols >= 0) {
+                    throw nonRectangular(count + 1, cols);
+                }
+                row = Arrays.copyOf(row, count * 2);
+            }
+            row[count++] = piece;
+            c = nextNonWhitespace();
+            if (c == ',') {
+                c = nextNonWhitespace();
+            }
+        }
+        if (cols < 0) {
+            return Arrays.copyOf(row, count);
+        }
+        if (count != cols) {
+            throw nonRectangular(count, cols);
+        }
+        return row;
+    }
+
+    /**
+     * Parses a piece object after its opening brace.
+     */
+    private Piece parsePiece() throws IOException {
+        int type = -1;
+        boolean typeSeen = false;
+        int white = -1; // -1 unset, 0 false, 1 true
+        int c = nextNonWhitespace();
+        while (c != '}') {
+            expect(c, '"', "Expected a field name");
+            readString();
+            boolean isType = scratchEquals("type");
+            boolean isWhite = scratchEquals("white");
+            expect(nextNonWhitespace(), ':', "Expected ':'");
+            c = nextNonWhitespace();
+            if (isType && c == '"') {
+                readString();
+                type = pieceType();
+                typeSeen = true;
+            } else if (isWhite && c == 't') {
+                expectKeyword("rue");
+                white = 1;
+            } else if (isWhite && c == 'f') {
+                expectKeyword("alse");
+                white = 0;
+            } else {
+                skipValue(c);
+            }
+            c = nextNonWhitespace();
+            if (c == ',') {
+                c = nextNonWhitespace();
+            } else if (c == EOF) {
+                throw new IOException("Unclosed object.");
+            }
+        }
+        if (!typeSeen || white < 0) {
+            throw error("Invalid piece object");
+        }
+        return createPiece(type, white == 1);
+    }
+
+    private void skipValue(int c) throws IOException {
+        if (c == '"') {
+            readString();
+            return;
+        }
+        if (c == '{' || c == '[') {
+            skipNested();
+            return;
+        }
+        while (c != EOF && c != ',' && c != '}' && !isWhitespace(c)) {
+            c = next();
+        }
+        if (c == ',' || c == '}') {
+            pushedBack = c; // leave the delimiter for the caller
+        }
+        if (c == EOF) {
+            throw new IOException("Unclosed object.");
+        }
+    }
+
+    /**
+     * Skips an object or array value after its opening bracket, up to and including the bracket
+     * that closes it; brackets inside nested strings are ignored.
+     */
+    private void skipNested() throws IOException {
+        int depth = 1;
+        while (depth > 0) {
+            int c = next();
+            if (c == EOF) {
+                throw new IOException("Unclosed object.");
+            } else if (c == '"') {
+                readString();
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Reads a string body after its opening quote into the scratch buffer, truncating long values.
+     */
+    private void readString() throws IOException {
+        scratchLength = 0;
+        int c = next();
+        while (c != '"') {
+            if (c == EOF) {
+                throw new IOException("Unterminated string.");
+            }
+            if (scratchLength < SCRATCH_SIZE) {
+                scratch[scratchLength] = (char) c;
+            }
+            scratchLength++;
+            c = next();
+        }
+    }
+
+    private boolean scratchEquals(String token) {
+        if (scratchLength != token.length()) {
+            return false;
+        }
+        for (int i = 0; i < scratchLength; i++) {
+            if (scratch[i] != token.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the ordinal of the {@link PieceType} named by the scratch content, or -1 if unknown
+     */
+    private int pieceType() {
+        for (int i = 0; i < TYPES.length; i++) {
+            if (scratchEquals(TYPES[i].typeName())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Piece createPiece(int type, boolean isWhite) {
+        return type < 0 ? null : Pieces.of(type, isWhite);
+    }
+
+    /* ----------------------------- Characters ----------------------------- */
+
+    private int next() throws IOException {
+        if (pushedBack != EOF) {
+            int c = pushedBack;
+            pushedBack = EOF;
+            return c;
+        }
+        if (bytes != null) {
+            if (!bytes.hasRemaining()) {
+                return EOF;
+            }
+            offset++;
+            return bytes.get() & 0xFF;
+        }
+        if (index == length) {
+            length = reader.read(buffer, 0, buffer.length);
+            index = 0;
+            if (length <= 0) {
+                length = 0;
+                return EOF;
+            }
+        }
+        offset++;
+        return buffer[index++];
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        int c = next();
+        while (isWhitespace(c)) {
+            c = next();
+        }
+        return c;
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private void expect(int c, char expected, String message) throws IOException {
+        if (c != expected) {
+            throw c == EOF ? new IOException("Unexpected end of content.") : error(message);
+        }
+    }
+
+    private void expectKeyword(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (next() != rest.charAt(i)) {
+                throw error("Invalid literal");
+            }
+        }
+    }
+
+    private IOException error(String message) {
+        return new IOException(message + " at index " + (offset - 1) + ".");
+    }
+
+    private static IOException nonRectangular(int count, int cols) {
+        return new IOException("Non-rectangular board: row has " + count
+                + " columns but expected " + cols + ".");
+    }
+}
@@ -0,0 +1,64 @@
+package be.unamur.chess.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded, thread-safe pool of direct buffers of one size, so bulk writers do not allocate (and
+ * the channel does not copy into a temporary direct buffer) on every batch.
+ * <p>
+ * Requests larger than the pooled size get a one-off heap buffer, which {@link #release(ByteBuffer)}
+ * then drops.
+ * </p>
+ */
+final class BufferPool {
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    /**
+     * @param bufferSize the capacity of pooled buffers
+     * @param maxPooled  the maximum number of idle buffers kept
+     */
+    BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    int bufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @param minCapacity the number of bytes needed
+     * @return a cleared buffer of at least that capacity
+     */
+    ByteBuffer acquire(int minCapacity) {
+        if (minCapacity > bufferSize) {
+            return ByteBuffer.allocate(minCapacity);
+        }
+        ByteBuffer buffer = free.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        pooled.decrementAndGet();
+        return buffer.clear();
+    }
+
+    /**
+     * Gives a buffer back; it must not be used afterwards.
+     */
+    void release(ByteBuffer buffer) {
+        if (!buffer.isDirect() || buffer.capacity() != bufferSize) {
+            return;
+        }
+        if (pooled.incrementAndGet() <= maxPooled) {
+            free.offer(buffer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package be.unamur.chess.io;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.logging.Logger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import be.unamur.chess.model.*;
 
@@ -25,17 +33,28 @@ import be.unamur.chess.model.*;
  *
  * <p>
  * The serializer produces a canonical representation with no extraneous whitespace
- * inside tokens. The deserializer tolerates surrounding whitespace but expects the
- * same object shape.
+ * inside tokens. The deserializer tolerates whitespace between tokens and fields in
+ * any order.
  * </p>
  *
- * @implNote This implementation avoids external JSON libraries and uses a small,
- * robust parser tailored to the known output shape. If format flexibility or resilience
- * is required, prefer a JSON library (e.g., Gson/Jackson).
+ * <p>
+ * {@link #saveAll(Collection, Path)} and {@link #loadAll(Path)} checkpoint many boards at once into a
+ * single file, one board per line, serializing and parsing them in parallel.
+ * </p>
+ *
+ * @implNote This implementation avoids external JSON libraries and uses a small
+ * single-pass streaming parser tailored to the known output shape. If format flexibility
+ * or resilience is required, prefer a JSON library (e.g., Gson/Jackson).
  */
 public final class ChessFileHandler {
 
-    private static final Logger LOG = Logger.getLogger(ChessFileHandler.class.getName());
+    private static final SerializationMetrics METRICS = new SerializationMetrics().register();
+
+    /** Batches of boards are serialized into pooled buffers of this size before being written. */
+    private static final int BATCH_BYTES = 1 << 20;
+    /** Number of batches serialized in parallel, then written together by one gathering write. */
+    private static final int BATCH_WINDOW = Math.max(2, 2 * ForkJoinPool.getCommonPoolParallelism());
+    private static final BufferPool BUFFERS = new BufferPool(BATCH_BYTES, BATCH_WINDOW);
 
     /**
      * Private constructor: utility class should not be instantiated.
@@ -79,185 +98,336 @@ public final class ChessFileHandler {
      */
     public static void saveGame(Piece[][] boardState, File file) throws IOException {
         requireRectangularBoard(boardState);
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            writer.write(serializeBoard(boardState));
+        long start = System.nanoTime();
+        ByteBuffer bytes = ByteBuffer.allocate(serializedSize(boardState));
+        serializeBoard(boardState, bytes);
+        try (FileChannel channel = openForWriting(file.toPath())) {
+            writeFully(channel, bytes.flip());
+        }
+        METRICS.record(1, bytes.limit(), start);
+    }
+
+    /**
+     * Serializes the given rectangular board to the specified file using the compact {@link BinaryBoardCodec} format.
+     *
+     * @param boardState the non-null rectangular board to serialize, of at most 65535 rows and columns
+     * @param file       the destination file; will be created or overwritten
+     * @throws IOException if an I/O error occurs during writing
+     * @throws IllegalArgumentException if {@code boardState} is not rectangular or is too large
+     * @see #loadGame(File)
+     */
+    public static void saveGameBinary(Piece[][] boardState, File file) throws IOException {
+        requireRectangularBoard(boardState);
+        long start = System.nanoTime();
+        int written;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            BinaryBoardCodec.write(boardState, out);
+            written = out.size();
+        }
+        METRICS.record(1, written, start);
+    }
+
+    /**
+     * Serializes many boards into one file, one board per line, in the class's minimal JSON-like format.
+     * <p>
+     * Boards are serialized in parallel, in batches, into pooled buffers, and the batches are written
+     * in order through a single channel with gathering writes, so the cost of opening and closing
+     * files is paid once for the whole collection.
+     * </p>
+     *
+     * @param boards the non-null rectangular boards, in iteration order
+     * @param file   the destination file; will be created or overwritten
+     * @throws IOException if an I/O error occurs during writing
+     * @throws IllegalArgumentException if a board is {@code null} or not rectangular
+     * @see #loadAll(Path)
+     */
+    public static void saveAll(Collection<Piece[][]> boards, Path file) throws IOException {
+        writeAll(boards, file, false);
+    }
+
+    /**
+     * Serializes many boards into one file as consecutive {@link BinaryBoardCodec} encodings, like
+     * {@link #saveAll(Collection, Path)}.
+     *
+     * @param boards the non-null rectangular boards, in iteration order, of at most 65535 rows and columns
+     * @param file   the destination file; will be created or overwritten
+     * @throws IOException if an I/O error occurs during writing
+     * @throws IllegalArgumentException if a board is not rectangular or is too large
+     * @see #loadAll(Path)
+     */
+    public static void saveAllBinary(Collection<Piece[][]> boards, Path file) throws IOException {
+        writeAll(boards, file, true);
+    }
+
+    /**
+     * Deserializes every board of a file written by {@link #saveAll(Collection, Path)},
+     * {@link #saveAllBinary(Collection, Path)} or {@link #saveGame(Piece[][], File)}.
+     * <p>
+     * The file is memory-mapped and split at board boundaries (line ends for text boards, the encoded
+     * length for binary ones, so both may be mixed), then the boards are parsed in parallel.
+     * </p>
+     *
+     * @param file the source file, of at most 2 GB
+     * @return the boards, in file order
+     * @throws IOException if the file cannot be read or a board is malformed/invalid
+     */
+    public static List<Piece[][]> loadAll(Path file) throws IOException {
+        ByteBuffer bytes;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Board files are limited to 2 GB; use a PositionArchive instead.");
+            }
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        List<ByteBuffer> slices = splitBoards(bytes);
+        try {
+            return IntStream.range(0, slices.size()).parallel()
+                    .mapToObj(i -> loadSlice(slices.get(i), i))
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
     }
 
     /**
-     * Deserializes and returns a board from the given file, expecting the class's minimal JSON-like format.
+     * @return the counters of boards and bytes written by this class, also published over JMX
+     */
+    public static SerializationMetricsMXBean metrics() {
+        return METRICS;
+    }
+
+    /**
+     * Deserializes and returns a board from the given file, written either in the class's minimal JSON-like
+     * format or in the {@link BinaryBoardCodec} format; the format is detected from the first bytes.
      * The returned board can have any number of rows and columns, but all rows have the same length.
      *
      * @param file the source file containing a serialized rectangular board
      * @return a newly allocated rectangular board reflecting the file content
      * @throws IOException if the file cannot be read or the content is malformed/invalid
      * @see #saveGame(Piece[][], File)
+     * @see #saveGameBinary(Piece[][], File)
      */
     public static Piece[][] loadGame(File file) throws IOException {
-        String content;
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            StringBuilder sb = new StringBuilder(4096);
-            String line;
-            while ((line = reader.readLine()) != null) {
-                sb.append(line);
+        try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            in.mark(Integer.BYTES);
+            byte[] head = in.readNBytes(Integer.BYTES);
+            in.reset();
+            if (BinaryBoardCodec.isBinary(ByteBuffer.wrap(head))) {
+                return BinaryBoardCodec.read(new DataInputStream(in));
             }
-            content = sb.toString().trim();
+            return loadGame(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Deserializes a board from a character stream in a single pass, without buffering the whole content.
+     *
+     * @param reader the source, positioned at the start of a serialized board; it is not closed
+     * @return a newly allocated rectangular board reflecting the content
+     * @throws IOException if reading fails or the content is malformed/invalid
+     * @see #loadGame(File)
+     */
+    public static Piece[][] loadGame(Reader reader) throws IOException {
+        return BoardParser.parse(reader);
+    }
+
+    /**
+     * Deserializes a board from bytes, for instance a slice of a memory-mapped archive. Both the JSON-like
+     * format (as ASCII) and the {@link BinaryBoardCodec} format are accepted. The buffer's position is
+     * advanced past the board.
+     *
+     * @param bytes the serialized board, from the buffer's position to its limit
+     * @return a newly allocated rectangular board reflecting the content
+     * @throws IOException if the content is malformed/invalid
+     * @see #loadGame(File)
+     */
+    public static Piece[][] loadGame(ByteBuffer bytes) throws IOException {
+        if (BinaryBoardCodec.isBinary(bytes)) {
+            return BinaryBoardCodec.read(bytes);
         }
-        return deserializeBoard(content);
+        return BoardParser.parse(bytes);
     }
 
     /* ----------------------------- Serialization ----------------------------- */
 
     /**
-     * Converts a rectangular board into the minimal JSON-like string representation used by this handler.
+     * Writes a rectangular board in the minimal JSON-like representation used by this handler, as ASCII bytes.
      * <p>
      * The output is deterministic and contains no extraneous whitespace inside tokens.
      * </p>
      *
      * @param board the validated rectangular board
-     * @return the serialized string representation
+     * @param out   the destination, with at least {@link #serializedSize(Piece[][])} bytes remaining
      */
-    private static String serializeBoard(Piece[][] board) {
+    private static void serializeBoard(Piece[][] board, ByteBuffer out) {
         int rows = board.length;
         int cols = (rows == 0) ? 0 : board[0].length;
 
-        // Rough capacity hint
-        StringBuilder sb = new StringBuilder(Math.max(64, rows * Math.max(1, cols) * 20));
-        sb.append('[');
+        out.put((byte) '[');
         for (int r = 0; r < rows; r++) {
-            if (r > 0) sb.append(','); LOG.fine("Adding one more row");
-            sb.append('[');
+            if (r > 0) out.put((byte) ',');
+            out.put((byte) '[');
             for (int c = 0; c < cols; c++) {
-                if (c > 0) sb.append(','); LOG.fine("Adding one more piece");
+                if (c > 0) out.put((byte) ',');
                 Piece p = board[r][c];
                 if (p == null) {
-                    sb.append("null");
+                    putAscii(out, "null");
                 } else {
-                    sb.append("{\"type\":\"")
-                            .append(p.getClass().getSimpleName())
-                            .append("\",\"white\":")
-                            .append(p.isWhite())
-                            .append('}');
+                    putAscii(out, "{\"type\":\"");
+                    putAscii(out, p.getType().typeName());
+                    putAscii(out, "\",\"white\":");
+                    putAscii(out, p.isWhite() ? "true" : "false");
+                    out.put((byte) '}');
                 }
             }
-            sb.append(']');
+            out.put((byte) ']');
         }
-        sb.append(']');
-        return sb.toString();
+        out.put((byte) ']');
     }
 
-    /* ----------------------------- Deserialization ----------------------------- */
-
     /**
-     * Parses the minimal JSON-like string into a rectangular board.
-     * <p>
-     * The parser expects an outer array of row arrays. Each row can have any number of items, but all rows
-     * must have the same number of columns (rectangular). Each item is either {@code null} or an object of the form
-     * {@code {"type":"ClassName","white":true/false}}.
-     * </p>
-     *
-     * @param content the serialized board string (whitespace allowed around tokens)
-     * @return a rectangular {@code Piece[][]} instance matching the parsed content
-     * @throws IOException if the content is empty, malformed, or rows differ in length
+     * @param board the validated rectangular board
+     * @return the exact number of bytes {@link #serializeBoard(Piece[][], ByteBuffer)} writes
      */
-    private static Piece[][] deserializeBoard(String content) throws IOException {
-        if (content.isEmpty()) {
-            throw new IOException("Empty file content.");
+    static int serializedSize(Piece[][] board) {
+        int size = 2;
+        for (int r = 0; r < board.length; r++) {
+            size += r > 0 ? 3 : 2;
+            for (int c = 0; c < board[r].length; c++) {
+                Piece p = board[r][c];
+                size += c > 0 ? 1 : 0;
+                // {"type":"<name>","white":<bool>}
+                size += p == null ? 4 : 20 + p.getType().typeName().length() + (p.isWhite() ? 4 : 5);
+            }
         }
+        return size;
+    }
 
-        int idx = skipWs(content, 0);
-        if (idx >= content.length() || content.charAt(idx) != '[') {
-            throw new IOException("Expected '[' at start.");
+    private static void putAscii(ByteBuffer out, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            out.put((byte) s.charAt(i));
         }
-        idx++;
-
-        List<Piece[]> rows = new ArrayList<>();
-        Integer expectedCols = null;
-
-        while (true) {
-            idx = skipWs(content, idx);
-            if (idx >= content.length()) throw new IOException("Unexpected end while reading rows.");
+    }
 
-            char ch = content.charAt(idx);
-            if (ch == ']') {
-                idx++; // end of top-level array
-                break;
-            }
+    /* ----------------------------- Bulk I/O ----------------------------- */
+
+    private static void writeAll(Collection<Piece[][]> boards, Path file, boolean binary) throws IOException {
+        long start = System.nanoTime();
+        Piece[][][] all = boards.toArray(new Piece[0][][]);
+        int[] sizes = new int[all.length];
+        for (int i = 0; i < all.length; i++) {
+            requireRectangularBoard(all[i]);
+            sizes[i] = binary
+                    ? BinaryBoardCodec.encodedSize(all[i].length, BinaryBoardCodec.columns(all[i]))
+                    : serializedSize(all[i]) + 1;
+        }
 
-            if (ch != '[') {
-                throw new IOException("Expected '[' to start a row.");
+        // batch boundaries: batch b holds boards [starts[b], starts[b + 1])
+        int[] starts = new int[all.length + 1];
+        int batches = 0;
+        long batchBytes = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (i == 0 || batchBytes + sizes[i] > BATCH_BYTES) {
+                starts[batches++] = i;
+                batchBytes = 0;
             }
-            idx++;
-
-            List<Piece> rowItems = new ArrayList<>();
-
-            while (true) {
-                idx = skipWs(content, idx);
-                if (idx >= content.length()) throw new IOException("Unexpected end while reading row items.");
-
-                ch = content.charAt(idx);
-                if (ch == ']') {
-                    idx++; // end of row
-                    break;
-                }
-
-                // Parse item: either null or object
-                if (startsWith(content, idx, "null")) {
-                    rowItems.add(null);
-                    idx += 4;
-                } else if (ch == '{') {
-                    int objEnd = findMatchingBrace(content, idx);
-                    if (objEnd < 0) throw new IOException("Unclosed object starting at " + idx);
-                    String obj = content.substring(idx + 1, objEnd); // inside braces
-                    idx = objEnd + 1;
-
-                    String type = parseStringField(obj, "type");
-                    Boolean white = parseBooleanField(obj, "white");
-                    if (type == null || white == null) {
-                        throw new IOException("Invalid piece object: " + obj);
+            batchBytes += sizes[i];
+        }
+        starts[batches] = all.length;
+
+        long written = 0;
+        ByteBuffer[] window = new ByteBuffer[BATCH_WINDOW];
+        try (FileChannel channel = openForWriting(file)) {
+            for (int first = 0; first < batches; first += BATCH_WINDOW) {
+                int count = Math.min(BATCH_WINDOW, batches - first);
+                int base = first;
+                try {
+                    IntStream.range(0, count).parallel().forEach(b ->
+                            window[b] = serializeBatch(all, sizes, starts[base + b], starts[base + b + 1], binary));
+                    ByteBuffer last = window[count - 1];
+                    while (last.hasRemaining()) {
+                        written += channel.write(window, 0, count);
+                    }
+                } finally {
+                    for (int b = 0; b < count; b++) {
+                        if (window[b] != null) {
+                            BUFFERS.release(window[b]);
+                            window[b] = null;
+                        }
                     }
-                    rowItems.add(createPiece(type, white));
-                } else {
-                    throw new IOException("Unexpected token at index " + idx + ": '" + ch + "'");
-                }
-
-                // After item, expect ',' or ']' (handled by loop top)
-                idx = skipWs(content, idx);
-                if (idx < content.length() && content.charAt(idx) == ',') {
-                    idx++; // next item
                 }
             }
+        }
+        METRICS.record(all.length, written, start);
+    }
 
-            // Check rectangularity against first row
-            if (expectedCols == null) {
-                expectedCols = rowItems.size();
-            } else if (rowItems.size() != expectedCols) {
-                throw new IOException("Non-rectangular board: row has " + rowItems.size()
-                        + " columns but expected " + expectedCols + ".");
+    private static ByteBuffer serializeBatch(Piece[][][] boards, int[] sizes, int from, int to, boolean binary) {
+        int bytes = 0;
+        for (int i = from; i < to; i++) {
+            bytes += sizes[i];
+        }
+        ByteBuffer out = BUFFERS.acquire(bytes);
+        for (int i = from; i < to; i++) {
+            if (binary) {
+                BinaryBoardCodec.write(boards[i], out);
+            } else {
+                serializeBoard(boards[i], out);
+                out.put((byte) '\n');
             }
+        }
+        return out.flip();
+    }
 
-            // Move to next row or end
-            rows.add(rowItems.toArray(new Piece[0]));
-            idx = skipWs(content, idx);
-            if (idx < content.length() && content.charAt(idx) == ',') {
-                idx++;
+    /**
+     * Splits a file of boards at board boundaries, without parsing them.
+     */
+    private static List<ByteBuffer> splitBoards(ByteBuffer bytes) throws IOException {
+        List<ByteBuffer> slices = new ArrayList<>();
+        int limit = bytes.limit();
+        int position = 0;
+        while (true) {
+            while (position < limit && Character.isWhitespace(bytes.get(position))) {
+                position++;
+            }
+            if (position == limit) {
+                return slices;
             }
+            int length;
+            if (limit - position >= Integer.BYTES && bytes.getInt(position) == BinaryBoardCodec.MAGIC) {
+                length = BinaryBoardCodec.encodedSizeAt(bytes, position);
+                if (length < 0 || length > limit - position) {
+                    throw new IOException("Truncated binary board at offset " + position + ".");
+                }
+            } else {
+                int end = position;
+                while (end < limit && bytes.get(end) != '\n') {
+                    end++;
+                }
+                length = end - position;
+            }
+            slices.add(bytes.slice(position, length));
+            position += length;
         }
+    }
 
-        // Allow trailing whitespace only
-        idx = skipWs(content, idx);
-        if (idx != content.length()) {
-            throw new IOException("Unexpected content after board end at index " + idx);
+    private static Piece[][] loadSlice(ByteBuffer slice, int index) {
+        try {
+            return loadGame(slice);
+        } catch (IOException e) {
+            throw new UncheckedIOException(new IOException("Board " + index + ": " + e.getMessage(), e));
         }
+    }
 
-        // Build final matrix
-        int rowCount = rows.size();
-        int colCount = (expectedCols == null) ? 0 : expectedCols;
-        Piece[][] board = new Piece[rowCount][colCount];
-        for (int r = 0; r < rowCount; r++) {
-            System.arraycopy(rows.get(r), 0, board[r], 0, colCount);
+    private static FileChannel openForWriting(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
         }
-        return board;
     }
 
     /* ----------------------------- Helpers ----------------------------- */
@@ -287,119 +457,4 @@ public final class ChessFileHandler {
             }
         }
     }
-
-    /**
-     * Skips ASCII whitespace characters (space, tab, CR, LF) starting at index {@code i}.
-     *
-     * @param s the source string
-     * @param i the starting index
-     * @return the first index at or after {@code i} that is not whitespace
-     */
-    private static int skipWs(String s, int i) {
-        while (i < s.length()) {
-            char c = s.charAt(i);
-            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') break;
-            i++;
-        }
-        return i;
-    }
-
-    /**
-     * Checks whether string {@code s} starts with token {@code t} at position {@code i}.
-     *
-     * @param s the source string
-     * @param i the position in {@code s}
-     * @param t the token to match
-     * @return {@code true} if {@code s} has {@code t} at {@code i}; otherwise {@code false}
-     */
-    private static boolean startsWith(String s, int i, String t) {
-        int n = t.length();
-        return i + n <= s.length() && s.regionMatches(i, t, 0, n);
-    }
-
-    /**
-     * Finds the matching closing brace for an object starting at {@code start}, accounting for nested braces.
-     * <p>
-     * The input is assumed not to contain quoted braces that would confuse nesting.
-     * </p>
-     *
-     * @param s     the source string
-     * @param start index of the opening brace '{'
-     * @return index of the matching '}' or {@code -1} if not found
-     */
-    private static int findMatchingBrace(String s, int start) {
-        int depth = 0;
-        for (int i = start; i < s.length(); i++) {
-            char c = s.charAt(i);
-            if (c == '{') depth++;
-            else if (c == '}') {
-                depth--;
-                if (depth == 0) return i;
-            }
-        }
-        return -1;
-    }
-
-    /**
-     * Extracts a string field with the form {@code "key":"value"} from a simple object string.
-     * <p>
-     * This method is tailored for the serializer's output and does not handle escapes or reordering of fields.
-     * </p>
-     *
-     * @param obj the object content (without outer braces)
-     * @param key the field name to extract
-     * @return the string value if present, otherwise {@code null}
-     */
-    private static String parseStringField(String obj, String key) {
-        String needle = "\"" + key + "\":\"";
-        int k = obj.indexOf(needle);
-        if (k < 0) return null;
-        int vStart = k + needle.length();
-        int vEnd = obj.indexOf('"', vStart);
-        if (vEnd < 0) return null;
-        return obj.substring(vStart, vEnd);
-    }
-
-    /**
-     * Extracts a boolean field with the form {@code "key":true/false} from a simple object string.
-     *
-     * @param obj the object content (without outer braces)
-     * @param key the field name to extract
-     * @return {@code Boolean.TRUE}/{@code Boolean.FALSE} if present; otherwise {@code null}
-     */
-    private static Boolean parseBooleanField(String obj, String key) {
-        String needle = "\"" + key + "\":";
-        int k = obj.indexOf(needle);
-        if (k < 0) return null;
-        int vStart = k + needle.length();
-        int vEnd = obj.indexOf(',', vStart);
-        if (vEnd < 0) vEnd = obj.length();
-        String token = obj.substring(vStart, vEnd).trim();
-        if ("true".equals(token)) return Boolean.TRUE;
-        if ("false".equals(token)) return Boolean.FALSE;
-        return null;
-    }
-
-    /**
-     * Creates a concrete {@link Piece} instance from the given type name and color flag.
-     * <p>
-     * Supported type names: {@code Pawn}, {@code Rook}, {@code Knight}, {@code Bishop}, {@code Queen}, {@code King}.
-     * Unknown types yield {@code null}.
-     * </p>
-     *
-     * @param type    the simple class name of the piece
-     * @param isWhite {@code true} for white; {@code false} for black
-     * @return a new piece instance or {@code null} if the type is not recognized
-     */
-    private static Piece createPiece(String type, boolean isWhite) {
-        switch (type) {
-            case "Pawn":   return new Pawn(isWhite);
-            case "Rook":   return new Rook(isWhite);
-            case "Knight": return new Knight(isWhite);
-            case "Bishop": return new Bishop(isWhite);
-            case "Queen":  return new Queen(isWhite);
-            case "King":   return new King(isWhite);
-            default:       return null;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,471 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.Piece;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Archive of boards compressed in independently decodable blocks, with random access by block.
+ * <p>
+ * Layout (big-endian):
+ * </p>
+ * <pre>
+ * int    magic        0x8943425A (0x89 'C' 'B' 'Z')
+ * byte   version      1
+ * byte[3] reserved
+ * ushort rows
+ * ushort cols
+ * int    recordSize   (rows * cols + 1) / 2
+ * int    blockBoards  boards per block, the last block holding the remainder
+ * long   count        number of boards
+ * long   indexOffset  position of the block index
+ * byte[] blocks       each block: its records, encoded as in {@link PositionArchive}, deflated
+ * index  per block:   long offset, int compressed length
+ * </pre>
+ * <p>
+ * Board positions repeat heavily between records, so blocks typically compress 5 to 10 times.
+ * {@link #get(long)} inflates only the block holding the board, and keeps the last inflated block
+ * for sequential lookups. Blocks are deflated in parallel by the {@link Writer}, and inflated in
+ * parallel by {@link #stream(boolean) parallel streams}, whose spliterator splits by block range.
+ * An open archive may be shared between threads.
+ * </p>
+ */
+public final class CompressedPositionArchive implements Closeable {
+
+    /** First four bytes of every compressed archive. */
+    public static final int MAGIC = 0x8943425A;
+    /** Version written by this class. */
+    public static final int VERSION = 1;
+    /** Boards per block, unless configured otherwise. */
+    public static final int DEFAULT_BLOCK_BOARDS = 1024;
+
+    private static final int HEADER_BYTES = 40;
+    private static final int INDEX_ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+
+    private final FileChannel channel;
+    private final ArchiveLayout layout;
+    private final int blockBoards;
+    private final long count;
+    private final long[] blockOffsets;
+    private final int[] blockLengths;
+    private volatile InflatedBlock lastBlock;
+
+    private CompressedPositionArchive(FileChannel channel, ArchiveLayout layout, int blockBoards, long count,
+                                      long[] blockOffsets, int[] blockLengths) {
+        this.channel = channel;
+        this.layout = layout;
+        this.blockBoards = blockBoards;
+        this.count = count;
+        this.blockOffsets = blockOffsets;
+        this.blockLengths = blockLengths;
+    }
+
+    /**
+     * Opens an archive for reading; only the header and the block index are read.
+     *
+     * @param path the archive file
+     * @return the open archive
+     * @throws IOException if the file cannot be read or is not a supported archive
+     */
+    public static CompressedPositionArchive open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = readFully(channel, 0, HEADER_BYTES);
+            if (header == null || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a compressed position archive.");
+            }
+            int version = header.get(4) & 0xFF;
+            if (version != VERSION) {
+                throw new IOException("Unsupported compressed position archive version " + version + ".");
+            }
+            ArchiveLayout layout = ArchiveLayout.read(header);
+            int blockBoards = header.getInt(16);
+            long count = header.getLong(20);
+            long indexOffset = header.getLong(28);
+            long blocks = blockBoards <= 0 ? -1 : (count + blockBoards - 1) / blockBoards;
+            if (layout == null || blocks < 0 || blocks * INDEX_ENTRY_BYTES > Integer.MAX_VALUE
+                    || (long) blockBoards * layout.recordSize() > Integer.MAX_VALUE
+                    || indexOffset < HEADER_BYTES || channel.size() != indexOffset + blocks * INDEX_ENTRY_BYTES) {
+                throw new IOException("Corrupted compressed position archive header.");
+            }
+
+            ByteBuffer index = readFully(channel, indexOffset, (int) blocks * INDEX_ENTRY_BYTES);
+            long[] offsets = new long[(int) blocks];
+            int[] lengths = new int[(int) blocks];
+            for (int b = 0; b < blocks; b++) {
+                offsets[b] = index.getLong();
+                lengths[b] = index.getInt();
+                if (offsets[b] < HEADER_BYTES || lengths[b] < 0 || offsets[b] + lengths[b] > indexOffset) {
+                    throw new IOException("Corrupted index entry for block " + b + ".");
+                }
+            }
+            return new CompressedPositionArchive(channel, layout, blockBoards, count, offsets, lengths);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates an archive, overwriting any existing file.
+     *
+     * @param path        the archive file
+     * @param rows        the number of rows of every board
+     * @param cols        the number of columns of every board
+     * @param blockBoards the number of boards per block: larger blocks compress better, smaller
+     *                    blocks make random access cheaper
+     * @return a writer, which must be closed to complete the archive
+     * @throws IOException if the file cannot be created
+     */
+    public static Writer create(Path path, int rows, int cols, int blockBoards) throws IOException {
+        return new Writer(path, rows, cols, blockBoards);
+    }
+
+    /**
+     * Creates an archive with {@link #DEFAULT_BLOCK_BOARDS} boards per block.
+     *
+     * @see #create(Path, int, int, int)
+     */
+    public static Writer create(Path path, int rows, int cols) throws IOException {
+        return create(path, rows, cols, DEFAULT_BLOCK_BOARDS);
+    }
+
+    /* ----------------------------- Reading ----------------------------- */
+
+    /**
+     * @return the number of boards
+     */
+    public long size() {
+        return count;
+    }
+
+    public int rows() {
+        return layout.rows();
+    }
+
+    public int cols() {
+        return layout.cols();
+    }
+
+    public int blockCount() {
+        return blockOffsets.length;
+    }
+
+    public int blockBoards() {
+        return blockBoards;
+    }
+
+    /**
+     * Decodes one board, inflating its block unless it was the last one inflated.
+     *
+     * @param n a board number, from 0
+     * @return a newly allocated board
+     * @throws IndexOutOfBoundsException if {@code n} is not a board number
+     * @throws IOException if reading fails or the block is corrupted
+     */
+    public Piece[][] get(long n) throws IOException {
+        if (n < 0 || n >= count) {
+            throw new IndexOutOfBoundsException("Board " + n + " out of [0, " + count + ").");
+        }
+        int block = (int) (n / blockBoards);
+        InflatedBlock inflated = lastBlock;
+        if (inflated == null || inflated.block != block) {
+            inflated = new InflatedBlock(block, inflate(block));
+            lastBlock = inflated;
+        }
+        int offset = (int) (n % blockBoards) * layout.recordSize();
+        return BinaryBoardCodec.readSquares(inflated.records, offset, layout.rows(), layout.cols());
+    }
+
+    /**
+     * @return a spliterator over all boards in order, splitting by block range
+     */
+    public Spliterator<Piece[][]> spliterator() {
+        return new BlockSpliterator(0, blockCount());
+    }
+
+    /**
+     * @param parallel whether the stream is parallel, each block then being inflated by one worker
+     * @return a stream of all boards in order; read errors throw {@link UncheckedIOException}
+     */
+    public Stream<Piece[][]> stream(boolean parallel) {
+        return StreamSupport.stream(spliterator(), parallel);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int boardsIn(int block) {
+        return (int) Math.min(blockBoards, count - (long) block * blockBoards);
+    }
+
+    /**
+     * Reads and inflates one block with positional reads, which do not move the shared channel.
+     */
+    private ByteBuffer inflate(int block) throws IOException {
+        ByteBuffer compressed = readFully(channel, blockOffsets[block], blockLengths[block]);
+        if (compressed == null) {
+            throw new IOException("Truncated block " + block + ".");
+        }
+        byte[] records = new byte[boardsIn(block) * layout.recordSize()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed.array());
+            int inflated = 0;
+            while (inflated < records.length && !inflater.finished()) {
+                int n = inflater.inflate(records, inflated, records.length - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += n;
+            }
+            if (inflated != records.length || !inflater.finished()) {
+                throw new IOException("Corrupted block " + block + ": inflated to " + inflated + " bytes.");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted block " + block + ".", e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(records);
+    }
+
+    /**
+     * @return the bytes read, or {@code null} if the file ends first
+     */
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return null;
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static final class InflatedBlock {
+        final int block;
+        final ByteBuffer records;
+
+        InflatedBlock(int block, ByteBuffer records) {
+            this.block = block;
+            this.records = records;
+        }
+    }
+
+    private final class BlockSpliterator implements Spliterator<Piece[][]> {
+
+        private int nextBlock;
+        private final int endBlock;
+        private ByteBuffer current;
+        private int currentBoards;
+        private int currentIndex;
+
+        BlockSpliterator(int nextBlock, int endBlock) {
+            this.nextBlock = nextBlock;
+            this.endBlock = endBlock;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Piece[][]> action) {
+            try {
+                if (currentIndex == currentBoards) {
+                    if (nextBlock >= endBlock) {
+                        return false;
+                    }
+                    current = inflate(nextBlock);
+                    currentBoards = boardsIn(nextBlock++);
+                    currentIndex = 0;
+                }
+                int offset = currentIndex++ * layout.recordSize();
+                action.accept(BinaryBoardCodec.readSquares(current, offset, layout.rows(), layout.cols()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        }
+
+        @Override
+        public Spliterator<Piece[][]> trySplit() {
+            // whole blocks only, and never while a block is in progress, to keep the prefix in order
+            int mid = (nextBlock + endBlock) >>> 1;
+            if (currentIndex < currentBoards || mid <= nextBlock) {
+                return null;
+            }
+            Spliterator<Piece[][]> prefix = new BlockSpliterator(nextBlock, mid);
+            nextBlock = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            long remaining = currentBoards - currentIndex;
+            if (nextBlock < endBlock) {
+                remaining += Math.min(count, (long) endBlock * blockBoards) - (long) nextBlock * blockBoards;
+            }
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+
+    /* ----------------------------- Writing ----------------------------- */
+
+    /**
+     * Appends boards to a new archive. Full blocks are deflated on the common fork-join pool while
+     * the caller keeps adding boards, and written in order; {@link #close()} writes the last block,
+     * the index and the header. Not thread-safe.
+     */
+    public static final class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final ArchiveLayout layout;
+        private final int blockBoards;
+        private final int maxPending = Math.max(2, 2 * ForkJoinPool.getCommonPoolParallelism());
+        private final ArrayDeque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+        private ByteBuffer block;
+        private long count;
+        private long[] offsets = new long[64];
+        private int[] lengths = new int[64];
+        private int blocks;
+        private boolean closed;
+
+        private Writer(Path path, int rows, int cols, int blockBoards) throws IOException {
+            this.layout = new ArchiveLayout(rows, cols);
+            if (blockBoards <= 0 || (long) blockBoards * layout.recordSize() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid block size " + blockBoards + ".");
+            }
+            this.blockBoards = blockBoards;
+            this.block = ByteBuffer.allocate(blockBoards * layout.recordSize());
+            this.channel = ArchiveLayout.create(path, HEADER_BYTES);
+        }
+
+        /**
+         * Appends a board.
+         *
+         * @param board a board of the archive's dimensions
+         * @return its board number
+         * @throws IOException if writing a completed block fails
+         * @throws IllegalArgumentException if the board has other dimensions
+         */
+        public long add(Piece[][] board) throws IOException {
+            layout.requireBoard(board);
+            BinaryBoardCodec.writeSquares(board, block);
+            if (!block.hasRemaining()) {
+                submitBlock();
+            }
+            return count++;
+        }
+
+        /**
+         * @return the number of boards added so far
+         */
+        public long size() {
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (block.position() > 0) {
+                    submitBlock();
+                }
+                while (!pending.isEmpty()) {
+                    writeOldestBlock();
+                }
+                long indexOffset = channel.position();
+                ByteBuffer index = ByteBuffer.allocate(blocks * INDEX_ENTRY_BYTES);
+                for (int b = 0; b < blocks; b++) {
+                    index.putLong(offsets[b]).putInt(lengths[b]);
+                }
+                writeFully(index.flip());
+
+                ByteBuffer header = layout.header(MAGIC, VERSION, HEADER_BYTES)
+                        .putInt(blockBoards)
+                        .putLong(count)
+                        .putLong(indexOffset);
+                ArchiveLayout.writeHeader(channel, header);
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void submitBlock() throws IOException {
+            byte[] records = Arrays.copyOf(block.array(), block.position());
+            block.clear();
+            pending.add(CompletableFuture.supplyAsync(() -> deflate(records)));
+            if (pending.size() >= maxPending) {
+                writeOldestBlock();
+            }
+        }
+
+        private void writeOldestBlock() throws IOException {
+            byte[] compressed;
+            try {
+                compressed = pending.remove().join();
+            } catch (CompletionException e) {
+                throw new IOException("Block compression failed.", e.getCause());
+            }
+            if (blocks == offsets.length) {
+                offsets = Arrays.copyOf(offsets, blocks * 2);
+                lengths = Arrays.copyOf(lengths, blocks * 2);
+            }
+            offsets[blocks] = channel.position();
+            lengths[blocks] = compressed.length;
+            blocks++;
+            writeFully(ByteBuffer.wrap(compressed));
+        }
+
+        private void writeFully(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+
+        private static byte[] deflate(byte[] records) {
+            Deflater deflater = new Deflater();
+            try {
+                deflater.setInput(records);
+                deflater.finish();
+                byte[] out = new byte[Math.max(64, records.length / 4)];
+                int length = 0;
+                while (!deflater.finished()) {
+                    if (length == out.length) {
+                        out = Arrays.copyOf(out, out.length * 2);
+                    }
+                    length += deflater.deflate(out, length, out.length - length);
+                }
+                return Arrays.copyOf(out, length);
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+}
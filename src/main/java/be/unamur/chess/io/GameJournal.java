@@ -0,0 +1,359 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.MoveList;
+import be.unamur.chess.model.Position;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of one game, for per-move autosave in constant time.
+ * <p>
+ * The file is a sequence of records:
+ * </p>
+ * <pre>
+ * byte   type     'S' (snapshot) or 'M' (move)
+ * ushort length   payload length
+ * byte[] payload  snapshot: the position in FEN (ASCII); move: the packed move, 3 bytes big-endian
+ * int    crc      CRC-32 of type, length and payload
+ * </pre>
+ * <p>
+ * A journal starts with a snapshot; every {@link #append(int)} then writes a 10-byte move record, and
+ * a new snapshot is written every {@code snapshotInterval} moves so that recovery only replays the
+ * moves after the last one. {@link #compact()} folds the whole file into a single snapshot.
+ * </p>
+ * <p>
+ * Records are written in a single {@link FileChannel#write(ByteBuffer)}, so after a crash the file
+ * ends at most with one incomplete record. {@link #open(Path)} detects it by its length or checksum,
+ * drops it and resumes after the last complete record. Appended records survive a process crash
+ * once written; {@link #force()} also makes them survive a system crash.
+ * </p>
+ * <p>
+ * Not thread-safe.
+ * </p>
+ */
+public final class GameJournal implements Closeable {
+
+    /** Moves between two automatic snapshots, unless configured otherwise. */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 64;
+
+    private static final byte SNAPSHOT = 'S';
+    private static final byte MOVE = 'M';
+    private static final int FRAME_BYTES = 1 + Short.BYTES + Integer.BYTES;
+    private static final int MOVE_BYTES = 3;
+
+    private final Path path;
+    private final int snapshotInterval;
+    private final ByteBuffer moveRecord = ByteBuffer.allocate(FRAME_BYTES + MOVE_BYTES);
+    private final CRC32 crc = new CRC32();
+    private final MoveList scratch = new MoveList();
+    private FileChannel channel;
+    private Position position;
+    private int movesSinceSnapshot;
+
+    private GameJournal(Path path, int snapshotInterval, FileChannel channel, Position position, int movesSinceSnapshot) {
+        this.path = path;
+        this.snapshotInterval = snapshotInterval;
+        this.channel = channel;
+        this.position = position;
+        this.movesSinceSnapshot = movesSinceSnapshot;
+    }
+
+    /**
+     * Creates a journal, overwriting any existing file, and writes its first snapshot.
+     *
+     * @param path             the journal file
+     * @param start            the position the game starts from; it is copied
+     * @param snapshotInterval the number of moves between two automatic snapshots
+     * @return the open journal
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if {@code snapshotInterval} is not positive; the file is then left untouched
+     */
+    public static GameJournal create(Path path, Position start, int snapshotInterval) throws IOException {
+        requirePositive(snapshotInterval);
+        Position position = start.copy();
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            GameJournal journal = new GameJournal(path, snapshotInterval, channel, position, 0);
+            journal.snapshot();
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a journal with the {@link #DEFAULT_SNAPSHOT_INTERVAL}.
+     *
+     * @see #create(Path, Position, int)
+     */
+    public static GameJournal create(Path path, Position start) throws IOException {
+        return create(path, start, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Recovers an existing journal and reopens it for appending; an incomplete last record is removed.
+     *
+     * @param path             the journal file
+     * @param snapshotInterval the number of moves between two automatic snapshots
+     * @return the open journal, at the recovered position
+     * @throws IOException if the file cannot be read or its complete records are inconsistent
+     * @throws IllegalArgumentException if {@code snapshotInterval} is not positive; the file is then left untouched
+     */
+    public static GameJournal open(Path path, int snapshotInterval) throws IOException {
+        requirePositive(snapshotInterval);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            Replay replay = replay(channel);
+            channel.truncate(replay.validLength);
+            channel.position(replay.validLength);
+            return new GameJournal(path, snapshotInterval, channel, replay.position, replay.moves);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a journal with the {@link #DEFAULT_SNAPSHOT_INTERVAL}.
+     *
+     * @see #open(Path, int)
+     */
+    public static GameJournal open(Path path) throws IOException {
+        return open(path, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Replays a journal without modifying it.
+     *
+     * @param path the journal file
+     * @return the position after the last complete record
+     * @throws IOException if the file cannot be read or its complete records are inconsistent
+     */
+    public static Position recover(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return replay(channel).position;
+        }
+    }
+
+    /* ----------------------------- Writing ----------------------------- */
+
+    /**
+     * Plays a move and appends it to the journal, writing a snapshot every {@code snapshotInterval} moves.
+     *
+     * @param move a legal move of the current position
+     * @throws IOException if writing fails
+     * @throws IllegalArgumentException if the move is not legal
+     */
+    public void append(int move) throws IOException {
+        if (!isLegal(position, move, scratch)) {
+            throw new IllegalArgumentException("Illegal move " + move + " in " + position.toFen());
+        }
+        moveRecord.clear();
+        moveRecord.put(MOVE).putShort((short) MOVE_BYTES)
+                .put((byte) (move >>> 16)).putShort((short) move);
+        writeRecord(channel, moveRecord, crc);
+        position.makeMove(move);
+        if (++movesSinceSnapshot >= snapshotInterval) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Appends a snapshot of the current position, so that recovery does not need earlier records.
+     *
+     * @throws IOException if writing fails
+     */
+    public void snapshot() throws IOException {
+        writeRecord(channel, snapshotRecord(position), crc);
+        // the undo history of the replayed moves is no longer needed
+        position = position.copy();
+        movesSinceSnapshot = 0;
+    }
+
+    /**
+     * Replaces the journal by a single snapshot of the current position. The new file is written
+     * and forced aside, then atomically moved over the journal, so a crash leaves either file whole.
+     *
+     * @throws IOException if writing or renaming fails
+     */
+    public void compact() throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeRecord(out, snapshotRecord(position), crc);
+            out.force(true);
+        }
+        channel.close();
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        position = position.copy();
+        movesSinceSnapshot = 0;
+    }
+
+    /**
+     * Forces the appended records to the storage device.
+     *
+     * @throws IOException if forcing fails
+     */
+    public void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * @return a copy of the current position
+     */
+    public Position position() {
+        return position.copy();
+    }
+
+    /**
+     * @return the number of moves appended since the last snapshot, i.e. the moves recovery replays
+     */
+    public int movesSinceSnapshot() {
+        return movesSinceSnapshot;
+    }
+
+    /**
+     * @return the size of the journal file, in bytes
+     * @throws IOException if the size cannot be read
+     */
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static void requirePositive(int snapshotInterval) {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("The snapshot interval must be positive.");
+        }
+    }
+
+    private static ByteBuffer snapshotRecord(Position position) {
+        byte[] fen = position.toFen().getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer record = ByteBuffer.allocate(FRAME_BYTES + fen.length);
+        record.put(SNAPSHOT).putShort((short) fen.length).put(fen);
+        return record;
+    }
+
+    /**
+     * Completes a record with its checksum and writes it at the channel's position.
+     *
+     * @param record a buffer positioned after the payload, with room for the checksum
+     */
+    private static void writeRecord(FileChannel channel, ByteBuffer record, CRC32 crc) throws IOException {
+        crc.reset();
+        crc.update(record.array(), 0, record.position());
+        record.putInt((int) crc.getValue()).flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+    }
+
+    /* ----------------------------- Recovery ----------------------------- */
+
+    private static final class Replay {
+        Position position;
+        int moves;
+        long validLength;
+    }
+
+    /**
+     * Finds the complete records and the last snapshot in a first pass, then replays the moves after it.
+     * <p>
+     * The file is read with positional reads rather than mapped: {@link #open(Path, int)} truncates
+     * it right after, which fails on some platforms while a mapping of the file is still alive.
+     * </p>
+     */
+    private static Replay replay(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Journal larger than 2 GB; it should have been compacted.");
+        }
+        ByteBuffer bytes = ByteBuffer.allocate((int) size);
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, bytes.position()) < 0) {
+                break; // truncated meanwhile: the missing tail counts as an incomplete record
+            }
+        }
+        bytes.flip();
+        CRC32 crc = new CRC32();
+
+        int lastSnapshot = -1;
+        int end = 0;
+        while (bytes.limit() - end >= FRAME_BYTES) {
+            int length = bytes.getShort(end + 1) & 0xFFFF;
+            int payloadEnd = end + 1 + Short.BYTES + length;
+            if (bytes.limit() - payloadEnd < Integer.BYTES) {
+                break;
+            }
+            crc.reset();
+            crc.update(bytes.slice(end, payloadEnd - end));
+            if ((int) crc.getValue() != bytes.getInt(payloadEnd)) {
+                break;
+            }
+            if (bytes.get(end) == SNAPSHOT) {
+                lastSnapshot = end;
+            }
+            end = payloadEnd + Integer.BYTES;
+        }
+        if (lastSnapshot < 0) {
+            throw new IOException("No complete snapshot in journal.");
+        }
+
+        Replay replay = new Replay();
+        replay.validLength = end;
+        MoveList scratch = new MoveList();
+        for (int record = lastSnapshot; record < end; ) {
+            byte type = bytes.get(record);
+            int length = bytes.getShort(record + 1) & 0xFFFF;
+            int payload = record + 1 + Short.BYTES;
+            if (type == SNAPSHOT) {
+                byte[] fen = new byte[length];
+                bytes.get(payload, fen);
+                try {
+                    replay.position = Position.fromFen(new String(fen, StandardCharsets.US_ASCII));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Invalid snapshot at offset " + record + ": " + e.getMessage(), e);
+                }
+            } else if (type == MOVE && length == MOVE_BYTES) {
+                int move = (bytes.get(payload) & 0xFF) << 16 | (bytes.getShort(payload + 1) & 0xFFFF);
+                if (!isLegal(replay.position, move, scratch)) {
+                    throw new IOException("Illegal move at offset " + record + ".");
+                }
+                replay.position.makeMove(move);
+                replay.moves++;
+            } else {
+                throw new IOException("Invalid record at offset " + record + ".");
+            }
+            record = payload + length + Integer.BYTES;
+        }
+        return replay;
+    }
+
+    private static boolean isLegal(Position position, int move, MoveList scratch) {
+        scratch.clear();
+        position.generateLegalMoves(scratch);
+        for (int i = 0; i < scratch.size(); i++) {
+            if (scratch.get(i) == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,306 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.BitboardPosition;
+import be.unamur.chess.model.Position;
+import be.unamur.chess.model.Zobrist;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memory-mapped opening book: weighted candidate moves by position, found by binary search.
+ * <p>
+ * Layout (big-endian):
+ * </p>
+ * <pre>
+ * int    magic    0x8943424F (0x89 'C' 'B' 'O')
+ * byte   version  1
+ * byte[3] reserved
+ * long   count    number of entries
+ * entry[] entries count entries of 16 bytes, sorted by key, then by decreasing weight:
+ *   long key      {@link #key(Position)} of the position
+ *   int  move     packed move played from it
+ *   int  weight   how much the move is recommended, at least 1
+ * </pre>
+ * <p>
+ * {@link #candidates(Position)} binary-searches the first entry of a key with absolute reads of the
+ * mapped file, then reads the entries that follow while the key matches: a lookup costs
+ * {@code log2(count)} reads and no decoding, and an open book may be shared between threads.
+ * </p>
+ * <p>
+ * Books are built offline from PGN games with {@link #build(Reader, Path, int)}, or from the command
+ * line: {@code OpeningBook <games.pgn> <book> [maxPlies]}. The weight of a move is the number of
+ * half-points scored with it by the side that played it, so moves that only lost are left out.
+ * </p>
+ */
+public final class OpeningBook implements Closeable {
+
+    /** First four bytes of every book. */
+    public static final int MAGIC = 0x8943424F;
+    /** Version written by this class. */
+    public static final int VERSION = 1;
+    /** Plies of each game recorded by default: the first 15 moves of both sides. */
+    public static final int DEFAULT_MAX_PLIES = 30;
+
+    static final int HEADER_BYTES = 16;
+    static final int ENTRY_BYTES = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer entries;
+    private final int count;
+
+    private OpeningBook(FileChannel channel, MappedByteBuffer entries, int count) {
+        this.channel = channel;
+        this.entries = entries;
+        this.count = count;
+    }
+
+    /**
+     * Key of a position in a book: the Zobrist keys of its pieces and of the side to move.
+     * <p>
+     * Castling rights and en passant squares are left out, because the {@code Piece[][]} boards
+     * the strategies are given do not carry them.
+     * </p>
+     *
+     * @param position a position
+     * @return its book key
+     */
+    public static long key(Position position) {
+        long key = position.isWhiteToMove() ? 0L : Zobrist.blackToMove();
+        for (int square = 0; square < BitboardPosition.SQUARES; square++) {
+            int piece = position.pieceAt(square);
+            if (piece != BitboardPosition.NONE) {
+                key ^= Zobrist.piece(piece, square);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Opens a book for reading and maps it into memory.
+     *
+     * @param path the book file
+     * @return the open book
+     * @throws IOException if the file cannot be read or is not a supported book
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not an opening book.");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an opening book.");
+            }
+            int version = buffer.get(4) & 0xFF;
+            if (version != VERSION) {
+                throw new IOException("Unsupported opening book version " + version + ".");
+            }
+            long count = buffer.getLong(8);
+            if (count < 0 || size != HEADER_BYTES + count * ENTRY_BYTES) {
+                throw new IOException("Corrupted opening book header.");
+            }
+            return new OpeningBook(channel, buffer, (int) count);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /* ----------------------------- Reading ----------------------------- */
+
+    /**
+     * @return the number of entries, that is of (position, move) pairs
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @param position a position
+     * @return its book moves, by decreasing weight; empty if the position is not in the book
+     */
+    public List<Candidate> candidates(Position position) {
+        return candidates(key(position));
+    }
+
+    /**
+     * @param key a {@link #key(Position)}
+     * @return the book moves of that key, by decreasing weight; empty if there are none
+     */
+    public List<Candidate> candidates(long key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keyAt(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<Candidate> candidates = new ArrayList<>();
+        for (int i = low; i < count && keyAt(i) == key; i++) {
+            int offset = HEADER_BYTES + i * ENTRY_BYTES;
+            candidates.add(new Candidate(entries.getInt(offset + 8), entries.getInt(offset + 12)));
+        }
+        return candidates;
+    }
+
+    /**
+     * Closes the file; the mapping itself is released when it is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long keyAt(int i) {
+        return entries.getLong(HEADER_BYTES + i * ENTRY_BYTES);
+    }
+
+    /**
+     * A book move with its weight.
+     */
+    public static final class Candidate {
+
+        private final int move;
+        private final int weight;
+
+        Candidate(int move, int weight) {
+            this.move = move;
+            this.weight = weight;
+        }
+
+        /**
+         * @return the packed move
+         */
+        public int move() {
+            return move;
+        }
+
+        public int weight() {
+            return weight;
+        }
+    }
+
+    /* ----------------------------- Building ----------------------------- */
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: OpeningBook <games.pgn> <book> [maxPlies]");
+            return;
+        }
+        int maxPlies = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_PLIES;
+        try (Reader reader = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+            int entries = build(reader, Path.of(args[1]), maxPlies);
+            System.out.println(entries + " book entries written to " + args[1]);
+        }
+    }
+
+    /**
+     * Builds a book from PGN games, overwriting any existing file. Games the {@link PgnReader}
+     * rejects, for an illegal or unreadable move, are skipped.
+     *
+     * @param pgn      the games; not closed
+     * @param path     the book file
+     * @param maxPlies how many plies of each game to record
+     * @return the number of entries written
+     * @throws IOException if reading the games, other than rejecting one, or writing the book fails
+     */
+    public static int build(Reader pgn, Path path, int maxPlies) throws IOException {
+        if (maxPlies < 1) {
+            throw new IllegalArgumentException("At least one ply must be recorded.");
+        }
+        Map<Long, Map<Integer, Integer>> weights = new HashMap<>();
+        PgnReader reader = new PgnReader(pgn);
+        while (true) {
+            PgnGame game;
+            try {
+                game = reader.readGame();
+            } catch (PgnFormatException e) {
+                continue; // the reader is already past the rejected game
+            }
+            if (game == null) {
+                break;
+            }
+            add(game, maxPlies, weights);
+        }
+        return write(weights, path);
+    }
+
+    private static void add(PgnGame game, int maxPlies, Map<Long, Map<Integer, Integer>> weights) {
+        Position position = game.startPosition();
+        for (int ply = 0; ply < Math.min(maxPlies, game.moveCount()); ply++) {
+            int move = game.move(ply);
+            int points = halfPoints(game.result(), position.isWhiteToMove());
+            if (points > 0) {
+                weights.computeIfAbsent(key(position), k -> new HashMap<>()).merge(move, points, Integer::sum);
+            }
+            position.makeMove(move);
+        }
+    }
+
+    /**
+     * @return the half-points scored by a side: 2 for a win, 1 for a draw or an unknown result, 0 for a loss
+     */
+    private static int halfPoints(String result, boolean white) {
+        switch (result) {
+            case "1-0":
+                return white ? 2 : 0;
+            case "0-1":
+                return white ? 0 : 2;
+            default:
+                return 1;
+        }
+    }
+
+    private static int write(Map<Long, Map<Integer, Integer>> weights, Path path) throws IOException {
+        long[] keys = new long[weights.size()];
+        int k = 0;
+        for (long key : weights.keySet()) {
+            keys[k++] = key;
+        }
+        Arrays.sort(keys);
+
+        long count = 0;
+        for (Map<Integer, Integer> moves : weights.values()) {
+            count += moves.size();
+        }
+        if (count > (Integer.MAX_VALUE - HEADER_BYTES) / ENTRY_BYTES) {
+            throw new IOException("Opening books are limited to " + (Integer.MAX_VALUE - HEADER_BYTES) / ENTRY_BYTES + " entries.");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + (int) count * ENTRY_BYTES);
+        buffer.putInt(MAGIC).put((byte) VERSION).put(new byte[3]).putLong(count);
+        for (long key : keys) {
+            List<Map.Entry<Integer, Integer>> moves = new ArrayList<>(weights.get(key).entrySet());
+            moves.sort(Map.Entry.<Integer, Integer>comparingByValue().reversed());
+            for (Map.Entry<Integer, Integer> move : moves) {
+                buffer.putLong(key).putInt(move.getKey()).putInt(move.getValue());
+            }
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return (int) count;
+    }
+}
@@ -0,0 +1,31 @@
+package be.unamur.chess.io;
+
+import java.io.IOException;
+
+/**
+ * Thrown by {@link PgnReader#readGame()} for a game it rejects, such as one holding an illegal or
+ * malformed move.
+ * <p>
+ * The reader is then positioned after that game, so a caller may skip it and keep reading; any
+ * other {@link IOException} comes from the underlying reader and is not recoverable that way.
+ * </p>
+ */
+public class PgnFormatException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message the game and the reason it was rejected
+     */
+    public PgnFormatException(String message) {
+        super(message);
+    }
+
+    /**
+     * @param message the game and the reason it was rejected
+     * @param cause   the parsing error
+     */
+    public PgnFormatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
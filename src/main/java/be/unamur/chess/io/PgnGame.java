@@ -0,0 +1,109 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.Position;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One game of a PGN file: its tag pairs, its moves as packed ints, and its result.
+ * <p>
+ * The moves are legal moves of the positions reached from {@link #startPosition()}, in order.
+ * Instances are immutable.
+ * </p>
+ */
+public final class PgnGame {
+
+    /** Result marker of a game still in progress or of unknown outcome. */
+    public static final String UNKNOWN_RESULT = "*";
+
+    private final Map<String, String> tags;
+    private final int[] moves;
+    private final String result;
+
+    /**
+     * @param tags   the tag pairs, in file order; a {@code FEN} tag gives the start position
+     * @param moves  the packed moves, from the start position
+     * @param result the result: {@code 1-0}, {@code 0-1}, {@code 1/2-1/2} or {@code *}
+     */
+    public PgnGame(Map<String, String> tags, int[] moves, String result) {
+        this.tags = Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+        this.moves = moves.clone();
+        this.result = result;
+    }
+
+    public Map<String, String> tags() {
+        return tags;
+    }
+
+    /**
+     * @param name a tag name, e.g. {@code White}
+     * @return the tag value, or {@code null} if absent
+     */
+    public String tag(String name) {
+        return tags.get(name);
+    }
+
+    public int moveCount() {
+        return moves.length;
+    }
+
+    /**
+     * @param index a ply index, from 0
+     * @return the packed move of that ply
+     */
+    public int move(int index) {
+        return moves[index];
+    }
+
+    public int[] moves() {
+        return moves.clone();
+    }
+
+    public String result() {
+        return result;
+    }
+
+    /**
+     * @return a new position at the start of the game: the {@code FEN} tag if present, else the initial position
+     */
+    public Position startPosition() {
+        String fen = tags.get("FEN");
+        return fen == null ? Position.initial() : Position.fromFen(fen);
+    }
+
+    /**
+     * @return a new position after the last move
+     */
+    public Position finalPosition() {
+        Position position = startPosition();
+        for (int move : moves) {
+            position.makeMove(move);
+        }
+        return position;
+    }
+
+    @Override
+    public String toString() {
+        return "PgnGame" + tags + " " + moves.length + " plies " + result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PgnGame)) {
+            return false;
+        }
+        PgnGame other = (PgnGame) o;
+        return tags.equals(other.tags) && Arrays.equals(moves, other.moves) && result.equals(other.result);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * tags.hashCode() + Arrays.hashCode(moves)) + result.hashCode();
+    }
+}
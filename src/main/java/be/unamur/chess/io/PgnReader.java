@@ -0,0 +1,316 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.MoveList;
+import be.unamur.chess.model.Position;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming reader of PGN files, one game at a time.
+ * <p>
+ * Characters are pulled from the underlying {@link Reader} through a fixed buffer, and each game is
+ * replayed on a single {@link Position} as its SAN moves are read, so memory stays bounded by the
+ * longest game whatever the size of the file. Comments, variations, numeric annotation glyphs and
+ * move numbers are skipped.
+ * </p>
+ * <p>
+ * {@link #readGame()} reports a game with an illegal or unreadable move by a
+ * {@link PgnFormatException} after skipping to the end of that game, so a caller may log it and
+ * keep reading; other {@link IOException}s come from the underlying reader. The
+ * {@link #iterator()} and {@link #stream()} views wrap such errors in {@link UncheckedIOException}.
+ * </p>
+ */
+public final class PgnReader implements Closeable, Iterable<PgnGame> {
+
+    private static final int EOF = -1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int length;
+    private int index;
+    private int pushedBack = EOF;
+
+    private final StringBuilder token = new StringBuilder(32);
+    private final MoveList scratch = new MoveList();
+    private int[] moves = new int[256];
+    private long gamesRead;
+
+    /**
+     * @param reader the PGN source; closed by {@link #close()}
+     */
+    public PgnReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next game.
+     *
+     * @return the game, or {@code null} at the end of the input
+     * @throws PgnFormatException if the game holds an illegal or malformed move; the reader is then
+     *                             positioned after that game
+     * @throws IOException if reading fails
+     */
+    public PgnGame readGame() throws IOException {
+        Map<String, String> tags = new LinkedHashMap<>();
+        int c = skipWhitespace();
+        while (c == '[') {
+            readTag(tags);
+            c = skipWhitespace();
+        }
+        if (c == EOF) {
+            if (tags.isEmpty()) {
+                return null;
+            }
+            throw new PgnFormatException("Game " + (gamesRead + 1) + " has tags but no moves.");
+        }
+        pushedBack = c;
+        gamesRead++;
+
+        Position position;
+        try {
+            String fen = tags.get("FEN");
+            position = fen == null ? Position.initial() : Position.fromFen(fen);
+        } catch (IllegalArgumentException e) {
+            skipGame();
+            throw new PgnFormatException("Game " + gamesRead + ": " + e.getMessage(), e);
+        }
+
+        int count = 0;
+        while (true) {
+            c = skipWhitespace();
+            if (c == EOF || c == '[') {
+                pushedBack = c;
+                return new PgnGame(tags, Arrays.copyOf(moves, count), tags.getOrDefault("Result", PgnGame.UNKNOWN_RESULT));
+            }
+            if (c == '{') {
+                skipUntil('}');
+            } else if (c == ';') {
+                skipUntil('\n');
+            } else if (c == '(') {
+                skipVariation();
+            } else if (c != ')') { // a stray closing parenthesis is ignored
+                readToken(c);
+                if (isResult(token)) {
+                    return new PgnGame(tags, Arrays.copyOf(moves, count), token.toString());
+                }
+                if (!isMoveNumberOrGlyph(token)) {
+                    String san = token.toString();
+                    int move;
+                    try {
+                        move = San.parse(position, san, scratch);
+                    } catch (IllegalArgumentException e) {
+                        skipGame();
+                        throw new PgnFormatException("Game " + gamesRead + ", ply " + (count + 1) + ": " + e.getMessage(), e);
+                    }
+                    position.makeMove(move);
+                    if (count == moves.length) {
+                        moves = Arrays.copyOf(moves, count * 2);
+                    }
+                    moves[count++] = move;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of games started so far, including rejected ones
+     */
+    public long gamesRead() {
+        return gamesRead;
+    }
+
+    @Override
+    public Iterator<PgnGame> iterator() {
+        return new Iterator<>() {
+            private PgnGame next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = readGame();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public PgnGame next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                PgnGame game = next;
+                next = null;
+                return game;
+            }
+        };
+    }
+
+    /**
+     * @return a sequential stream of the remaining games
+     */
+    public Stream<PgnGame> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /* ----------------------------- Tokens ----------------------------- */
+
+    private void readTag(Map<String, String> tags) throws IOException {
+        int c = skipWhitespace();
+        token.setLength(0);
+        while (c != EOF && c != '"' && c != ']' && !Character.isWhitespace(c)) {
+            token.append((char) c);
+            c = next();
+        }
+        String name = token.toString();
+        while (c != EOF && c != '"' && c != ']') {
+            c = next();
+        }
+        token.setLength(0);
+        if (c == '"') {
+            c = next();
+            while (c != EOF && c != '"') {
+                if (c == '\\') {
+                    c = next();
+                }
+                token.append((char) c);
+                c = next();
+            }
+            while (c != EOF && c != ']') {
+                c = next();
+            }
+        }
+        tags.put(name, token.toString());
+    }
+
+    private void readToken(int first) throws IOException {
+        token.setLength(0);
+        int c = first;
+        while (c != EOF && !Character.isWhitespace(c) && c != '{' && c != '(' && c != ')' && c != ';' && c != '[') {
+            token.append((char) c);
+            c = next();
+        }
+        pushedBack = c;
+        // a move number glued to its move, e.g. "12.Nf3" or "12...Nf6"
+        int dot = token.lastIndexOf(".");
+        if (dot >= 0 && dot < token.length() - 1) {
+            token.delete(0, dot + 1);
+        }
+    }
+
+    private static boolean isResult(CharSequence s) {
+        return contentEquals(s, "1-0") || contentEquals(s, "0-1") || contentEquals(s, "1/2-1/2") || contentEquals(s, "*");
+    }
+
+    private static boolean isMoveNumberOrGlyph(CharSequence s) {
+        char first = s.charAt(0);
+        return first == '$' || first == '.' || (first >= '1' && first <= '9' && s.charAt(s.length() - 1) == '.');
+    }
+
+    private static boolean contentEquals(CharSequence s, String expected) {
+        if (s.length() != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (s.charAt(i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Skips the rest of the current game: up to its result, or up to the tags of the next one.
+     */
+    private void skipGame() throws IOException {
+        int c = skipWhitespace();
+        while (c != EOF && c != '[') {
+            if (c == '{') {
+                skipUntil('}');
+            } else if (c == ';') {
+                skipUntil('\n');
+            } else if (c == '(') {
+                skipVariation();
+            } else if (c != ')') {
+                readToken(c);
+                if (isResult(token)) {
+                    return;
+                }
+            }
+            c = skipWhitespace();
+        }
+        pushedBack = c;
+    }
+
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        while (depth > 0) {
+            int c = next();
+            if (c == EOF) {
+                return;
+            }
+            if (c == '{') {
+                skipUntil('}');
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            }
+        }
+    }
+
+    private void skipUntil(char end) throws IOException {
+        int c = next();
+        while (c != EOF && c != end) {
+            c = next();
+        }
+    }
+
+    /* ----------------------------- Characters ----------------------------- */
+
+    private int next() throws IOException {
+        if (pushedBack != EOF) {
+            int c = pushedBack;
+            pushedBack = EOF;
+            return c;
+        }
+        if (index == length) {
+            length = reader.read(buffer, 0, buffer.length);
+            index = 0;
+            if (length <= 0) {
+                length = 0;
+                return EOF;
+            }
+        }
+        return buffer[index++];
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c = next();
+        while (c != EOF && Character.isWhitespace(c)) {
+            c = next();
+        }
+        return c;
+    }
+}
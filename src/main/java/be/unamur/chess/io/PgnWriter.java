@@ -0,0 +1,68 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.MoveList;
+import be.unamur.chess.model.Position;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes {@link PgnGame games} in PGN export format: tag pairs, then SAN movetext wrapped at
+ * 80 columns and terminated by the result.
+ */
+public final class PgnWriter {
+
+    private static final int LINE_LENGTH = 80;
+
+    private PgnWriter() {
+        // utility class
+    }
+
+    /**
+     * Writes one game followed by a blank line; the writer is neither flushed nor closed.
+     *
+     * @param game the game to write
+     * @param out  the destination
+     * @throws IOException if writing fails
+     */
+    public static void write(PgnGame game, Writer out) throws IOException {
+        for (Map.Entry<String, String> tag : game.tags().entrySet()) {
+            out.write('[');
+            out.write(tag.getKey());
+            out.write(" \"");
+            out.write(tag.getValue().replace("\\", "\\\\").replace("\"", "\\\""));
+            out.write("\"]\n");
+        }
+        out.write('\n');
+
+        Position position = game.startPosition();
+        MoveList scratch = new MoveList();
+        StringBuilder line = new StringBuilder(LINE_LENGTH + 16);
+        for (int i = 0; i < game.moveCount(); i++) {
+            int move = game.move(i);
+            if (position.isWhiteToMove()) {
+                append(line, out, position.fullmoveNumber() + ".");
+            } else if (i == 0) {
+                append(line, out, position.fullmoveNumber() + "...");
+            }
+            append(line, out, San.format(position, move, scratch));
+            position.makeMove(move);
+        }
+        append(line, out, game.result());
+        out.write(line.toString());
+        out.write("\n\n");
+    }
+
+    private static void append(StringBuilder line, Writer out, String token) throws IOException {
+        if (line.length() > 0 && line.length() + 1 + token.length() > LINE_LENGTH) {
+            out.write(line.toString());
+            out.write('\n');
+            line.setLength(0);
+        }
+        if (line.length() > 0) {
+            line.append(' ');
+        }
+        line.append(token);
+    }
+}
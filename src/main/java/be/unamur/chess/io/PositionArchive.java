@@ -0,0 +1,420 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.Piece;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Memory-mapped archive of boards with random access by index.
+ * <p>
+ * Layout (big-endian):
+ * </p>
+ * <pre>
+ * int    magic        0x89434241 (0x89 'C' 'B' 'A')
+ * byte   version      1
+ * byte[3] reserved
+ * ushort rows
+ * ushort cols
+ * int    recordSize   (rows * cols + 1) / 2
+ * long   count        number of records
+ * long   indexOffset  HEADER_BYTES + count * recordSize
+ * byte[] records      count fixed-size records, squares encoded as in {@link BinaryBoardCodec}
+ * long[] index        count entries (hash &lt;&lt; 32 | record number), sorted, for {@link #indexOf(Piece[][])}
+ * </pre>
+ * <p>
+ * Every board of an archive has the same dimensions, so record {@code n} lives at
+ * {@code HEADER_BYTES + n * recordSize}: {@link #get(long)} decodes it without reading anything
+ * else, and {@link #record(long)} returns a read-only view of the mapped bytes without copying.
+ * Reads only use absolute buffer accesses, so an open archive may be shared between threads;
+ * {@link #spliterator()} splits by index range for parallel scans.
+ * </p>
+ * <p>
+ * Archives are written by a {@link Writer}, see {@link #create(Path, int, int)}.
+ * </p>
+ */
+public final class PositionArchive implements Closeable {
+
+    /** First four bytes of every archive. */
+    public static final int MAGIC = 0x89434241;
+    /** Version written by this class. */
+    public static final int VERSION = 1;
+
+    static final int HEADER_BYTES = 32;
+    private static final int INDEX_ENTRY_BYTES = Long.BYTES;
+
+    private final FileChannel channel;
+    private final ArchiveLayout layout;
+    private final long count;
+    private final MappedRegion records;
+    private final MappedRegion index;
+
+    private PositionArchive(FileChannel channel, ArchiveLayout layout, long count, MappedRegion records,
+                            MappedRegion index) {
+        this.channel = channel;
+        this.layout = layout;
+        this.count = count;
+        this.records = records;
+        this.index = index;
+    }
+
+    /**
+     * Opens an archive for reading and maps it into memory.
+     *
+     * @param path the archive file
+     * @return the open archive
+     * @throws IOException if the file cannot be read or is not a supported archive
+     */
+    public static PositionArchive open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // fill the header
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a position archive.");
+            }
+            int version = header.get(4) & 0xFF;
+            if (version != VERSION) {
+                throw new IOException("Unsupported position archive version " + version + ".");
+            }
+            ArchiveLayout layout = ArchiveLayout.read(header);
+            long count = header.getLong(16);
+            long indexOffset = header.getLong(24);
+            if (layout == null || count < 0 || count > Integer.MAX_VALUE
+                    || indexOffset != HEADER_BYTES + count * layout.recordSize()
+                    || channel.size() < indexOffset + count * INDEX_ENTRY_BYTES) {
+                throw new IOException("Corrupted position archive header.");
+            }
+            MappedRegion records = new MappedRegion(channel, HEADER_BYTES, count, layout.recordSize());
+            MappedRegion index = new MappedRegion(channel, indexOffset, count, INDEX_ENTRY_BYTES);
+            return new PositionArchive(channel, layout, count, records, index);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates an archive, overwriting any existing file.
+     *
+     * @param path the archive file
+     * @param rows the number of rows of every board
+     * @param cols the number of columns of every board
+     * @return a writer, which must be closed to complete the archive
+     * @throws IOException if the file cannot be created
+     */
+    public static Writer create(Path path, int rows, int cols) throws IOException {
+        return new Writer(path, rows, cols);
+    }
+
+    /* ----------------------------- Reading ----------------------------- */
+
+    /**
+     * @return the number of boards
+     */
+    public long size() {
+        return count;
+    }
+
+    public int rows() {
+        return layout.rows();
+    }
+
+    public int cols() {
+        return layout.cols();
+    }
+
+    /**
+     * Returns a read-only view of the encoded squares of a board, backed by the mapped file.
+     *
+     * @param n a record number, from 0
+     * @return a buffer of {@code (rows * cols + 1) / 2} bytes at position 0
+     * @throws IndexOutOfBoundsException if {@code n} is not a record number
+     */
+    public ByteBuffer record(long n) {
+        checkIndex(n);
+        return records.slice(n, layout.recordSize()).asReadOnlyBuffer();
+    }
+
+    /**
+     * Decodes one board.
+     *
+     * @param n a record number, from 0
+     * @return a newly allocated board
+     * @throws IndexOutOfBoundsException if {@code n} is not a record number
+     * @throws IOException if the record holds an invalid square code
+     */
+    public Piece[][] get(long n) throws IOException {
+        checkIndex(n);
+        return BinaryBoardCodec.readSquares(records.buffer(n), records.offset(n), layout.rows(), layout.cols());
+    }
+
+    /**
+     * Looks a board up through the index section.
+     *
+     * @param board a board of the archive's dimensions
+     * @return the lowest record number holding an equal board, or -1 if there is none
+     * @throws IllegalArgumentException if the board does not have the archive's dimensions
+     */
+    public long indexOf(Piece[][] board) {
+        layout.requireBoard(board);
+        ByteBuffer probe = ByteBuffer.allocate(layout.recordSize());
+        BinaryBoardCodec.writeSquares(board, probe);
+        long key = (long) hash(probe, 0, layout.recordSize()) << 32;
+
+        long low = 0;
+        long high = count;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (index.getLong(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (long i = low; i < count; i++) {
+            long entry = index.getLong(i);
+            if ((entry & 0xFFFF_FFFF_0000_0000L) != key) {
+                break;
+            }
+            long n = entry & 0xFFFF_FFFFL;
+            if (records.slice(n, layout.recordSize()).equals(probe.rewind())) {
+                return n;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return a spliterator over all boards in record order, splitting by index range
+     */
+    public Spliterator<Piece[][]> spliterator() {
+        return new RecordSpliterator(0, count);
+    }
+
+    /**
+     * @param parallel whether the stream is parallel
+     * @return a stream of all boards in record order; invalid records throw {@link UncheckedIOException}
+     */
+    public Stream<Piece[][]> stream(boolean parallel) {
+        return StreamSupport.stream(spliterator(), parallel);
+    }
+
+    /**
+     * Closes the file; the mapping itself is released when the buffers are garbage collected, so
+     * views returned by {@link #record(long)} must not be used afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void checkIndex(long n) {
+        if (n < 0 || n >= count) {
+            throw new IndexOutOfBoundsException("Record " + n + " out of [0, " + count + ").");
+        }
+    }
+
+    /**
+     * FNV-1a over the encoded squares, with a final avalanche so the high bits are well mixed.
+     */
+    static int hash(ByteBuffer bytes, int offset, int length) {
+        int h = 0x811C9DC5;
+        for (int i = offset; i < offset + length; i++) {
+            h = (h ^ (bytes.get(i) & 0xFF)) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    /* ----------------------------- Mapping ----------------------------- */
+
+    /**
+     * A file region of fixed-size elements, mapped in chunks below 2 GB that never split an element.
+     */
+    private static final class MappedRegion {
+
+        private final MappedByteBuffer[] chunks;
+        private final long elementsPerChunk;
+        private final int elementSize;
+
+        MappedRegion(FileChannel channel, long start, long elements, int elementSize) throws IOException {
+            this.elementSize = elementSize;
+            this.elementsPerChunk = Integer.MAX_VALUE / elementSize;
+            int chunkCount = (int) ((elements + elementsPerChunk - 1) / elementsPerChunk);
+            this.chunks = new MappedByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                long first = i * elementsPerChunk;
+                long size = Math.min(elementsPerChunk, elements - first) * elementSize;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start + first * elementSize, size);
+            }
+        }
+
+        ByteBuffer buffer(long n) {
+            return chunks[(int) (n / elementsPerChunk)];
+        }
+
+        int offset(long n) {
+            return (int) (n % elementsPerChunk) * elementSize;
+        }
+
+        ByteBuffer slice(long n, int length) {
+            return buffer(n).slice(offset(n), length);
+        }
+
+        long getLong(long n) {
+            return buffer(n).getLong(offset(n));
+        }
+    }
+
+    private final class RecordSpliterator implements Spliterator<Piece[][]> {
+
+        private long next;
+        private final long end;
+
+        RecordSpliterator(long next, long end) {
+            this.next = next;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Piece[][]> action) {
+            if (next >= end) {
+                return false;
+            }
+            try {
+                action.accept(get(next++));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        }
+
+        @Override
+        public Spliterator<Piece[][]> trySplit() {
+            long mid = (next + end) >>> 1;
+            if (mid <= next) {
+                return null;
+            }
+            Spliterator<Piece[][]> prefix = new RecordSpliterator(next, mid);
+            next = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - next;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+
+    /* ----------------------------- Writing ----------------------------- */
+
+    /**
+     * Appends boards to a new archive; {@link #close()} writes the index section and the header.
+     * Not thread-safe.
+     */
+    public static final class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final ArchiveLayout layout;
+        private final ByteBuffer record;
+        private long[] index = new long[1024];
+        private int count;
+        private boolean closed;
+
+        private Writer(Path path, int rows, int cols) throws IOException {
+            this.layout = new ArchiveLayout(rows, cols);
+            this.record = ByteBuffer.allocate(layout.recordSize());
+            this.channel = ArchiveLayout.create(path, HEADER_BYTES);
+        }
+
+        /**
+         * Appends a board.
+         *
+         * @param board a board of the archive's dimensions
+         * @return its record number
+         * @throws IOException if writing fails
+         * @throws IllegalArgumentException if the board has other dimensions
+         */
+        public long add(Piece[][] board) throws IOException {
+            layout.requireBoard(board);
+            if (count == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Position archives are limited to " + Integer.MAX_VALUE + " boards.");
+            }
+            record.clear();
+            BinaryBoardCodec.writeSquares(board, record);
+            record.flip();
+            int hash = hash(record, 0, record.limit());
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            if (count == index.length) {
+                index = Arrays.copyOf(index, (int) Math.min(Integer.MAX_VALUE - 8L, 2L * count));
+            }
+            index[count] = (long) hash << 32 | count;
+            return count++;
+        }
+
+        /**
+         * @return the number of boards added so far
+         */
+        public long size() {
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                Arrays.sort(index, 0, count);
+                ByteBuffer out = ByteBuffer.allocate(1 << 16);
+                for (int i = 0; i < count; i++) {
+                    if (!out.hasRemaining()) {
+                        drain(out);
+                    }
+                    out.putLong(index[i]);
+                }
+                drain(out);
+
+                ByteBuffer header = layout.header(MAGIC, VERSION, HEADER_BYTES)
+                        .putLong(count)
+                        .putLong(HEADER_BYTES + (long) count * layout.recordSize());
+                ArchiveLayout.writeHeader(channel, header);
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void drain(ByteBuffer out) throws IOException {
+            out.flip();
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            out.clear();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.BitboardPosition;
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.MoveList;
+import be.unamur.chess.model.Position;
+
+/**
+ * Conversion between packed moves and Standard Algebraic Notation (SAN), as used in PGN files.
+ * <p>
+ * Both directions work on the legal moves of a {@link Position}: parsing picks the unique legal
+ * move matching the notation, and formatting adds exactly the disambiguation, capture, promotion
+ * and check markers SAN requires. The parser is lenient about what PGN exports commonly contain:
+ * trailing annotations ({@code !?}), castling written with zeros, and promotions without {@code =}.
+ * </p>
+ */
+public final class San {
+
+    private static final String PIECE_LETTERS = "PNBRQK";
+
+    private San() {
+        // utility class
+    }
+
+    /**
+     * Resolves a SAN token to a legal move of the position.
+     *
+     * @param position the position the move is played from; it is not modified
+     * @param san      the move, e.g. {@code Nbd7}, {@code exd6}, {@code e8=Q+} or {@code O-O-O}
+     * @param moves    a scratch list, cleared and filled with the legal moves
+     * @return the packed move
+     * @throws IllegalArgumentException if no legal move, or more than one, matches
+     */
+    public static int parse(Position position, String san, MoveList moves) {
+        int end = san.length();
+        while (end > 0 && "+#!?".indexOf(san.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        moves.clear();
+        position.generateLegalMoves(moves);
+
+        if (isCastling(san, end)) {
+            boolean kingside = end == 3;
+            for (int i = 0; i < moves.size(); i++) {
+                int move = moves.get(i);
+                if ((Move.flags(move) & Move.CASTLING) != 0
+                        && (BitboardPosition.col(Move.to(move)) == 6) == kingside) {
+                    return move;
+                }
+            }
+            throw new IllegalArgumentException("Illegal castling: " + san);
+        }
+
+        int promotion = 0;
+        if (end > 0 && PIECE_LETTERS.indexOf(san.charAt(end - 1)) > 0) {
+            promotion = PIECE_LETTERS.indexOf(san.charAt(end - 1));
+            end -= (end > 1 && san.charAt(end - 2) == '=') ? 2 : 1;
+        }
+        if (end < 2) {
+            throw new IllegalArgumentException("Invalid SAN: " + san);
+        }
+        int to = square(san.charAt(end - 2), san.charAt(end - 1), san);
+
+        int start = 0;
+        int kind = BitboardPosition.PAWN;
+        if (PIECE_LETTERS.indexOf(san.charAt(0)) > 0) {
+            kind = PIECE_LETTERS.indexOf(san.charAt(0));
+            start = 1;
+        }
+        int fromFile = -1;
+        int fromRow = -1;
+        for (int i = start; i < end - 2; i++) {
+            char c = san.charAt(i);
+            if (c >= 'a' && c <= 'h') {
+                fromFile = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                fromRow = '8' - c;
+            } else if (c != 'x' && c != '-') {
+                throw new IllegalArgumentException("Invalid SAN: " + san);
+            }
+        }
+
+        int found = Move.NONE;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int from = Move.from(move);
+            if (Move.to(move) != to
+                    || BitboardPosition.kindOf(position.pieceAt(from)) != kind
+                    || Move.promotion(move) != promotion
+                    || (fromFile >= 0 && BitboardPosition.col(from) != fromFile)
+                    || (fromRow >= 0 && BitboardPosition.row(from) != fromRow)) {
+                continue;
+            }
+            if (found != Move.NONE) {
+                throw new IllegalArgumentException("Ambiguous SAN: " + san);
+            }
+            found = move;
+        }
+        if (found == Move.NONE) {
+            throw new IllegalArgumentException("Illegal move: " + san);
+        }
+        return found;
+    }
+
+    /**
+     * Writes a legal move in SAN, with its check or mate suffix.
+     *
+     * @param position the position the move is played from; it is restored before returning
+     * @param move     a legal move of that position
+     * @param moves    a scratch list, cleared and filled with legal moves
+     * @return the move in SAN
+     */
+    public static String format(Position position, int move, MoveList moves) {
+        StringBuilder sb = new StringBuilder(8);
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int kind = BitboardPosition.kindOf(position.pieceAt(from));
+
+        if ((Move.flags(move) & Move.CASTLING) != 0) {
+            sb.append(BitboardPosition.col(to) == 6 ? "O-O" : "O-O-O");
+        } else if (kind == BitboardPosition.PAWN) {
+            if (Move.isCapture(move)) {
+                sb.append((char) ('a' + BitboardPosition.col(from))).append('x');
+            }
+            sb.append(Move.squareName(to));
+            if (Move.isPromotion(move)) {
+                sb.append('=').append(PIECE_LETTERS.charAt(Move.promotion(move)));
+            }
+        } else {
+            sb.append(PIECE_LETTERS.charAt(kind));
+            appendDisambiguation(sb, position, move, kind, moves);
+            if (Move.isCapture(move)) {
+                sb.append('x');
+            }
+            sb.append(Move.squareName(to));
+        }
+
+        position.makeMove(move);
+        if (position.isInCheck()) {
+            moves.clear();
+            position.generateLegalMoves(moves);
+            sb.append(moves.isEmpty() ? '#' : '+');
+        }
+        position.unmakeMove(move);
+        return sb.toString();
+    }
+
+    private static void appendDisambiguation(StringBuilder sb, Position position, int move, int kind, MoveList moves) {
+        int from = Move.from(move);
+        moves.clear();
+        position.generateLegalMoves(moves);
+        boolean ambiguous = false;
+        boolean sameFile = false;
+        boolean sameRow = false;
+        for (int i = 0; i < moves.size(); i++) {
+            int other = Move.from(moves.get(i));
+            if (other != from && Move.to(moves.get(i)) == Move.to(move)
+                    && BitboardPosition.kindOf(position.pieceAt(other)) == kind) {
+                ambiguous = true;
+                sameFile |= BitboardPosition.col(other) == BitboardPosition.col(from);
+                sameRow |= BitboardPosition.row(other) == BitboardPosition.row(from);
+            }
+        }
+        if (!ambiguous) {
+            return;
+        }
+        String name = Move.squareName(from);
+        if (!sameFile) {
+            sb.append(name.charAt(0));
+        } else if (!sameRow) {
+            sb.append(name.charAt(1));
+        } else {
+            sb.append(name);
+        }
+    }
+
+    private static boolean isCastling(String san, int end) {
+        if (end != 3 && end != 5) {
+            return false;
+        }
+        for (int i = 0; i < end; i++) {
+            char c = san.charAt(i);
+            if ((i % 2 == 0 && c != 'O' && c != '0') || (i % 2 == 1 && c != '-')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int square(char file, char rank, String san) {
+        if (file < 'a' || file > 'h' || rank < '1' || rank > '8') {
+            throw new IllegalArgumentException("Invalid SAN: " + san);
+        }
+        return BitboardPosition.square('8' - rank, file - 'a');
+    }
+}
@@ -0,0 +1,74 @@
+package be.unamur.chess.io;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Thread-safe implementation of {@link SerializationMetricsMXBean}, backed by {@link LongAdder}s so
+ * that concurrent saves do not contend on the counters.
+ */
+final class SerializationMetrics implements SerializationMetricsMXBean {
+
+    /** Name under which the metrics of {@link ChessFileHandler} are registered. */
+    static final String OBJECT_NAME = "be.unamur.chess.io:type=SerializationMetrics";
+
+    private static final Logger LOG = Logger.getLogger(SerializationMetrics.class.getName());
+
+    private final LongAdder boards = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    /**
+     * Records one save call.
+     *
+     * @param boardCount the number of boards written
+     * @param byteCount  the number of bytes written
+     * @param startNanos the {@link System#nanoTime()} at the start of the call
+     */
+    void record(long boardCount, long byteCount, long startNanos) {
+        nanos.add(System.nanoTime() - startNanos);
+        boards.add(boardCount);
+        bytes.add(byteCount);
+    }
+
+    @Override
+    public long getBoardsWritten() {
+        return boards.sum();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytes.sum();
+    }
+
+    @Override
+    public long getWriteNanos() {
+        return nanos.sum();
+    }
+
+    @Override
+    public void reset() {
+        boards.reset();
+        bytes.reset();
+        nanos.reset();
+    }
+
+    /**
+     * Registers these metrics on the platform MBean server; failures are logged, never thrown, so
+     * that persistence keeps working where JMX is unavailable.
+     *
+     * @return {@code this}
+     */
+    SerializationMetrics register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException e) {
+            LOG.log(Level.WARNING, "Could not register " + OBJECT_NAME, e);
+        }
+        return this;
+    }
+}
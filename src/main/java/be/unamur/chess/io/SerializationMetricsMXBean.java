@@ -0,0 +1,32 @@
+package be.unamur.chess.io;
+
+/**
+ * Counters of the boards written by {@link ChessFileHandler}, in every format.
+ * <p>
+ * The counters are updated once per save call, never per square, and are published on the platform
+ * MBean server as {@code be.unamur.chess.io:type=SerializationMetrics}. They are also available
+ * in-process through {@link ChessFileHandler#metrics()}.
+ * </p>
+ */
+public interface SerializationMetricsMXBean {
+
+    /**
+     * @return the number of boards written since the start or the last {@link #reset()}
+     */
+    long getBoardsWritten();
+
+    /**
+     * @return the number of bytes written, headers and separators included
+     */
+    long getBytesWritten();
+
+    /**
+     * @return the wall-clock time spent in save calls, serialization and I/O included, in nanoseconds
+     */
+    long getWriteNanos();
+
+    /**
+     * Sets every counter back to zero.
+     */
+    void reset();
+}
@@ -0,0 +1,267 @@
+package be.unamur.chess.model;
+
+import java.util.logging.Logger;
+
+/**
+ * Precomputed attack tables, indexed by square ({@code row * 8 + col}, see {@link BitboardPosition}).
+ * <p>
+ * Knight, king and pawn attacks are plain per-square masks. Rook and bishop attacks use
+ * "fixed shift" magic bitboards: the blockers relevant to a square are multiplied by a magic
+ * number whose high bits give a collision-free index into that square's attack table. The magic
+ * numbers below were found offline by a seeded random search (sparse candidates, kept when no two
+ * blocker sets with different attacks share an index); the tables themselves are filled, and every
+ * entry checked against a ray walk, once at class load. The time spent is available through
+ * {@link #initializationNanos()}.
+ * </p>
+ */
+public final class Attacks {
+
+    private static final Logger LOG = Logger.getLogger(Attacks.class.getName());
+
+    private static final int[][] KNIGHT_OFFSETS = {{-2, -1}, {-2, 1}, {2, -1}, {2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}};
+    private static final int[][] KING_OFFSETS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+    private static final int[][] WHITE_PAWN_OFFSETS = {{-1, -1}, {-1, 1}};
+    private static final int[][] BLACK_PAWN_OFFSETS = {{1, -1}, {1, 1}};
+    private static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    private static final long[] ROOK_MAGICS = {
+            0x1080004008801020L, 0x0840092002C03000L, 0x1900200010400900L, 0x0880100008000480L,
+            0x4200100420080200L, 0x8100020100080400L, 0x0200040110886200L, 0x0200008040220411L,
+            0x0404800084400220L, 0x0000401000402000L, 0x0086001081220440L, 0x0408800800100280L,
+            0x000A001201040820L, 0x8848800200840080L, 0x4001000100040200L, 0x0442000102105084L,
+            0x9080010020804100L, 0x0040404000201009L, 0x0000808010002009L, 0x2200090021D00100L,
+            0x0008008008040080L, 0x0004004002010040L, 0x0011040008015042L, 0x00000A0001768104L,
+            0x0000800080204009L, 0x2010004140002001L, 0x9800200280100080L, 0x1000100080080080L,
+            0x0050500500080100L, 0x0000020080040080L, 0x0C10010400420810L, 0x1040008200005104L,
+            0x01808240088004A0L, 0x0882804004802000L, 0x0880402001001100L, 0x2000210409001000L,
+            0x2000480131001500L, 0x0000800400800200L, 0x000002380C001003L, 0x4600084882000431L,
+            0x0080002000504000L, 0x0300500020004002L, 0x0040408200220011L, 0x0010040008004040L,
+            0x0000080004008080L, 0x0010040002008080L, 0x2012004881020004L, 0x8300842444820011L,
+            0x0088403882010200L, 0x0820400080210100L, 0x0110910040A00300L, 0x0801100280080480L,
+            0x0242009008200600L, 0x1002000489500200L, 0x0040800200010080L, 0x0091800041000080L,
+            0x0000209300488001L, 0x04C1002414824001L, 0x020020000B001041L, 0x7000100004200901L,
+            0x8002002004100802L, 0x30010002084C0007L, 0x0888221800813004L, 0x4000002840840112L
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+            0x20C0090901061081L, 0x0024040094030104L, 0x8210810200290200L, 0x0011040484620000L,
+            0x0081104002221000L, 0x0009012011001350L, 0x0081010802400380L, 0x0000420210010408L,
+            0x0008105002280050L, 0x0001028484040044L, 0x2A00880810408804L, 0x7020022282000100L,
+            0x0084040420100A50L, 0x000401010840E000L, 0x2020020210420888L, 0x0008084202012010L,
+            0x2010400810018800L, 0x0445122008020840L, 0x0804100808002008L, 0x0008002104110100L,
+            0x0061005820080800L, 0x2001000200820100L, 0x480C210084010800L, 0x3004442500480420L,
+            0x1010102240048100L, 0x00182009084220A3L, 0x8803090A10004205L, 0x0208080040202020L,
+            0x000C044084010040L, 0x00A1010002004106L, 0x6008210020640202L, 0x1600902112860801L,
+            0x00042008C1220200L, 0x010C042002440140L, 0x5022080200040820L, 0x0402004042940100L,
+            0x0860108400008020L, 0x000C080022021000L, 0x0264080652822100L, 0x4005031221010401L,
+            0x0004502410008400L, 0x000500B010A20400L, 0x0415094050080800L, 0x080000201800A104L,
+            0x4022A80304000110L, 0x4012140802028020L, 0x40200104010100A0L, 0x12810806008B0C41L,
+            0x0020441008080000L, 0x2002120084045420L, 0x0704020062080002L, 0x0000001084040001L,
+            0x0322200891240200L, 0xF040200210024800L, 0x0140824832008042L, 0x000210020A004602L,
+            0x0083042805141020L, 0x002C12009A011000L, 0x0041A00044140400L, 0x00004004020A0202L,
+            0x0000140010020210L, 0x2864160811012200L, 0x2060080841082A17L, 0xA010041108003100L
+    };
+
+    private static final long[] KNIGHT = new long[64];
+    private static final long[] KING = new long[64];
+    private static final long[][] PAWN = new long[2][64];
+
+    private static final long[] BETWEEN = new long[64 * 64];
+    private static final long[] LINE = new long[64 * 64];
+
+    private static final Magic[] ROOK = new Magic[64];
+    private static final Magic[] BISHOP = new Magic[64];
+
+    private static final long INIT_NANOS;
+
+    static {
+        long start = System.nanoTime();
+        for (int square = 0; square < 64; square++) {
+            KNIGHT[square] = stepAttacks(square, KNIGHT_OFFSETS);
+            KING[square] = stepAttacks(square, KING_OFFSETS);
+            PAWN[0][square] = stepAttacks(square, WHITE_PAWN_OFFSETS);
+            PAWN[1][square] = stepAttacks(square, BLACK_PAWN_OFFSETS);
+        }
+        for (int square = 0; square < 64; square++) {
+            ROOK[square] = new Magic(square, ROOK_DIRECTIONS, ROOK_MAGICS[square]);
+            BISHOP[square] = new Magic(square, BISHOP_DIRECTIONS, BISHOP_MAGICS[square]);
+            initLines(square, ROOK_DIRECTIONS);
+            initLines(square, BISHOP_DIRECTIONS);
+        }
+        INIT_NANOS = System.nanoTime() - start;
+        LOG.fine(() -> "Attack tables initialized in " + INIT_NANOS / 1_000 + " us");
+    }
+
+    private Attacks() {
+        // utility class
+    }
+
+    /**
+     * @return the time, in nanoseconds, spent building the tables when the class was loaded
+     */
+    public static long initializationNanos() {
+        return INIT_NANOS;
+    }
+
+    public static long knight(int square) {
+        return KNIGHT[square];
+    }
+
+    public static long king(int square) {
+        return KING[square];
+    }
+
+    /**
+     * @param square  the square of the pawn
+     * @param isWhite the color of the pawn
+     * @return the squares the pawn attacks diagonally
+     */
+    public static long pawn(int square, boolean isWhite) {
+        return PAWN[isWhite ? 0 : 1][square];
+    }
+
+    /**
+     * @param square   the square of the rook
+     * @param occupied all occupied squares; blockers are included in the result
+     * @return the squares attacked along ranks and files
+     */
+    public static long rook(int square, long occupied) {
+        return ROOK[square].attacks(occupied);
+    }
+
+    /**
+     * @param square   the square of the bishop
+     * @param occupied all occupied squares; blockers are included in the result
+     * @return the squares attacked along diagonals
+     */
+    public static long bishop(int square, long occupied) {
+        return BISHOP[square].attacks(occupied);
+    }
+
+    public static long queen(int square, long occupied) {
+        return rook(square, occupied) | bishop(square, occupied);
+    }
+
+    /**
+     * @param from a square
+     * @param to   another square
+     * @return the squares strictly between both squares if they share a rank, file or diagonal; otherwise 0
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from * 64 + to];
+    }
+
+    /**
+     * @param from a square
+     * @param to   another square
+     * @return the whole rank, file or diagonal through both squares (edge to edge), or 0 if they are not aligned
+     */
+    public static long line(int from, int to) {
+        return LINE[from * 64 + to];
+    }
+
+    /* ----------------------------- Table construction ----------------------------- */
+
+    /**
+     * Fills {@link #BETWEEN} and {@link #LINE} for every square aligned with {@code square}
+     * along the given directions.
+     */
+    private static void initLines(int square, int[][] directions) {
+        for (int[] dir : directions) {
+            long line = ray(square, dir[0], dir[1]) | ray(square, -dir[0], -dir[1]) | (1L << square);
+            long between = 0L;
+            int r = BitboardPosition.row(square) + dir[0];
+            int c = BitboardPosition.col(square) + dir[1];
+            while (r >= 0 && r < 8 && c >= 0 && c < 8) {
+                int target = BitboardPosition.square(r, c);
+                BETWEEN[square * 64 + target] = between;
+                LINE[square * 64 + target] = line;
+                between |= 1L << target;
+                r += dir[0];
+                c += dir[1];
+            }
+        }
+    }
+
+    private static long ray(int square, int dRow, int dCol) {
+        return slidingAttacks(square, 0L, new int[][]{{dRow, dCol}}, true);
+    }
+
+    private static long stepAttacks(int square, int[][] offsets) {
+        int row = BitboardPosition.row(square);
+        int col = BitboardPosition.col(square);
+        long attacks = 0L;
+        for (int[] offset : offsets) {
+            int r = row + offset[0];
+            int c = col + offset[1];
+            if (r >= 0 && r < 8 && c >= 0 && c < 8) {
+                attacks |= 1L << BitboardPosition.square(r, c);
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Walks each ray from {@code square} until a blocker or the edge of the board.
+     *
+     * @param edges {@code false} to stop one square before the edge, which yields the relevant-blocker mask
+     */
+    private static long slidingAttacks(int square, long occupied, int[][] directions, boolean edges) {
+        int row = BitboardPosition.row(square);
+        int col = BitboardPosition.col(square);
+        long attacks = 0L;
+        for (int[] dir : directions) {
+            int r = row + dir[0];
+            int c = col + dir[1];
+            while (r >= 0 && r < 8 && c >= 0 && c < 8) {
+                boolean last = r + dir[0] < 0 || r + dir[0] > 7 || c + dir[1] < 0 || c + dir[1] > 7;
+                if (last && !edges) {
+                    break;
+                }
+                long bit = 1L << BitboardPosition.square(r, c);
+                attacks |= bit;
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+                r += dir[0];
+                c += dir[1];
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Magic lookup for one square and one sliding piece kind.
+     */
+    private static final class Magic {
+        private final long mask;
+        private final long magic;
+        private final int shift;
+        private final long[] table;
+
+        Magic(int square, int[][] directions, long magic) {
+            this.mask = slidingAttacks(square, 0L, directions, false);
+            this.magic = magic;
+            int bits = Long.bitCount(mask);
+            this.shift = 64 - bits;
+            this.table = new long[1 << bits];
+
+            // Enumerate every subset of the mask (carry-rippler) and store its attacks
+            long subset = 0L;
+            do {
+                long reference = slidingAttacks(square, subset, directions, true);
+                int index = (int) ((subset * magic) >>> shift);
+                if (table[index] != 0L && table[index] != reference) {
+                    throw new IllegalStateException("Magic collision on square " + square);
+                }
+                table[index] = reference;
+                subset = (subset - mask) & mask;
+            } while (subset != 0);
+        }
+
+        long attacks(long occupied) {
+            return table[(int) (((occupied & mask) * magic) >>> shift)];
+        }
+    }
+}
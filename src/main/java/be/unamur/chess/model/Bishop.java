@@ -10,7 +10,7 @@ public class Bishop extends SlidingPiece {
     };
 
     public Bishop(boolean isWhite) {
-        super(isWhite);
+        super(PieceType.BISHOP, isWhite);
     }
 
     @Override
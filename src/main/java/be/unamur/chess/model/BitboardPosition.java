@@ -0,0 +1,378 @@
+package be.unamur.chess.model;
+
+import java.util.Arrays;
+
+/**
+ * Bitboard representation of an 8x8 board: one 64-bit word per piece kind and color,
+ * plus occupancy masks for each side and for the whole board.
+ * <p>
+ * Squares are numbered in the same order as the {@code Piece[][]} grid they mirror:
+ * {@code square = row * 8 + col}. Bit 0 is therefore {@code board[0][0]} (a8, black's back rank)
+ * and bit 63 is {@code board[7][7]} (h1).
+ * </p>
+ * <p>
+ * Pieces are identified by an index in {@code [0, 12)}: {@code kind} for white and
+ * {@code kind + 6} for black, where {@code kind} is one of {@link #PAWN}, {@link #KNIGHT},
+ * {@link #BISHOP}, {@link #ROOK}, {@link #QUEEN} or {@link #KING}.
+ * </p>
+ */
+public final class BitboardPosition {
+
+    /** Width and height of the board. */
+    public static final int SIZE = 8;
+    /** Number of squares on the board. */
+    public static final int SQUARES = SIZE * SIZE;
+
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+    /** Number of piece kinds per color. */
+    public static final int KINDS = 6;
+    /** Number of distinct piece indices (kinds times colors). */
+    public static final int PIECES = 2 * KINDS;
+    /** Value returned by {@link #pieceAt(int)} for an empty square. */
+    public static final int NONE = -1;
+
+    /** Row reached by a single push of a white pawn from its starting row. */
+    private static final long WHITE_SINGLE_PUSH_ROW = 0xFFL << 40;
+    /** Row reached by a single push of a black pawn from its starting row. */
+    private static final long BLACK_SINGLE_PUSH_ROW = 0xFFL << 16;
+
+    private final long[] pieces = new long[PIECES];
+    private long white;
+    private long black;
+
+    /**
+     * Creates an empty position.
+     */
+    public BitboardPosition() {
+        // empty board
+    }
+
+    /**
+     * Builds a bitboard position from a {@code Piece[][]} board.
+     *
+     * @param boardState an 8x8 board; {@code null} cells are empty squares
+     * @return the equivalent bitboard position
+     * @throws IllegalArgumentException if the board is not 8x8
+     */
+    public static BitboardPosition fromBoard(Piece[][] boardState) {
+        requireStandardBoard(boardState);
+        BitboardPosition position = new BitboardPosition();
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                Piece piece = boardState[row][col];
+                if (piece != null) {
+                    position.put(pieceIndex(piece), square(row, col));
+                }
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Converts this position back to a freshly allocated {@code Piece[][]} board.
+     *
+     * @return an 8x8 board equivalent to this position
+     */
+    public Piece[][] toBoard() {
+        Piece[][] board = new Piece[SIZE][SIZE];
+        for (int piece = 0; piece < PIECES; piece++) {
+            long bits = pieces[piece];
+            while (bits != 0) {
+                int square = Long.numberOfTrailingZeros(bits);
+                board[row(square)][col(square)] = createPiece(piece);
+                bits &= bits - 1;
+            }
+        }
+        return board;
+    }
+
+    /* ----------------------------- Queries ----------------------------- */
+
+    /**
+     * @param piece a piece index in {@code [0, 12)}
+     * @return the squares occupied by that piece
+     */
+    public long pieces(int piece) {
+        return pieces[piece];
+    }
+
+    /**
+     * @param kind    a piece kind such as {@link #KNIGHT}
+     * @param isWhite the color of the pieces
+     * @return the squares occupied by pieces of that kind and color
+     */
+    public long pieces(int kind, boolean isWhite) {
+        return pieces[pieceIndex(kind, isWhite)];
+    }
+
+    /**
+     * @param isWhite the side to look up
+     * @return the squares occupied by that side
+     */
+    public long occupancy(boolean isWhite) {
+        return isWhite ? white : black;
+    }
+
+    /**
+     * @return the squares occupied by either side
+     */
+    public long occupied() {
+        return white | black;
+    }
+
+    /**
+     * Returns the piece index standing on a square.
+     *
+     * @param square the square in {@code [0, 64)}
+     * @return the piece index, or {@link #NONE} if the square is empty
+     */
+    public int pieceAt(int square) {
+        long bit = 1L << square;
+        if (((white | black) & bit) == 0) {
+            return NONE;
+        }
+        int first = (white & bit) != 0 ? 0 : KINDS;
+        for (int piece = first; piece < first + KINDS; piece++) {
+            if ((pieces[piece] & bit) != 0) {
+                return piece;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Returns the squares attacked by a piece standing on a square, using the {@link Attacks} tables
+     * and the current occupancy. Squares holding pieces of either color are included.
+     *
+     * @param piece  the piece index
+     * @param square the square of the piece
+     * @return the attacked squares
+     */
+    public long attacks(int piece, int square) {
+        switch (kindOf(piece)) {
+            case PAWN:   return Attacks.pawn(square, isWhite(piece));
+            case KNIGHT: return Attacks.knight(square);
+            case BISHOP: return Attacks.bishop(square, occupied());
+            case ROOK:   return Attacks.rook(square, occupied());
+            case QUEEN:  return Attacks.queen(square, occupied());
+            default:     return Attacks.king(square);
+        }
+    }
+
+    /**
+     * Appends the moves of every piece of one side, with the same rules as
+     * {@link Piece#generateMoves(Piece[][], int, int, MoveList)} but computed from table lookups.
+     *
+     * @param isWhite the side to generate moves for
+     * @param moves   the list to append to; it is not cleared first
+     */
+    public void generateMoves(boolean isWhite, MoveList moves) {
+        long own = occupancy(isWhite);
+        long enemy = occupancy(!isWhite);
+        generatePawnMoves(isWhite, enemy, moves);
+        for (int kind = KNIGHT; kind <= KING; kind++) {
+            int piece = pieceIndex(kind, isWhite);
+            long bits = pieces[piece];
+            while (bits != 0) {
+                int from = Long.numberOfTrailingZeros(bits);
+                addTargets(from, attacks(piece, from) & ~own, enemy, moves);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    private void generatePawnMoves(boolean isWhite, long enemy, MoveList moves) {
+        long pawns = pieces(PAWN, isWhite);
+        long empty = ~occupied();
+        long single;
+        long doubles;
+        int forward;
+        if (isWhite) {
+            single = (pawns >>> 8) & empty;
+            doubles = ((single & WHITE_SINGLE_PUSH_ROW) >>> 8) & empty;
+            forward = -SIZE;
+        } else {
+            single = (pawns << 8) & empty;
+            doubles = ((single & BLACK_SINGLE_PUSH_ROW) << 8) & empty;
+            forward = SIZE;
+        }
+        addPushes(single, forward, 0, moves);
+        addPushes(doubles, 2 * forward, Move.DOUBLE_PUSH, moves);
+        while (pawns != 0) {
+            int from = Long.numberOfTrailingZeros(pawns);
+            addTargets(from, Attacks.pawn(from, isWhite) & enemy, enemy, moves);
+            pawns &= pawns - 1;
+        }
+    }
+
+    private static void addPushes(long targets, int offset, int flags, MoveList moves) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            moves.add(Move.of(to - offset, to, flags));
+            targets &= targets - 1;
+        }
+    }
+
+    private static void addTargets(int from, long targets, long enemy, MoveList moves) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            moves.add(Move.of(from, to, (enemy & (1L << to)) != 0 ? Move.CAPTURE : 0));
+            targets &= targets - 1;
+        }
+    }
+
+    /* ----------------------------- Updates ----------------------------- */
+
+    /**
+     * Places a piece on an empty square.
+     *
+     * @param piece  the piece index
+     * @param square the target square
+     */
+    public void put(int piece, int square) {
+        long bit = 1L << square;
+        pieces[piece] |= bit;
+        if (isWhite(piece)) {
+            white |= bit;
+        } else {
+            black |= bit;
+        }
+    }
+
+    /**
+     * Removes a piece from the square it stands on.
+     *
+     * @param piece  the piece index
+     * @param square the square to clear
+     */
+    public void remove(int piece, int square) {
+        long mask = ~(1L << square);
+        pieces[piece] &= mask;
+        white &= mask;
+        black &= mask;
+    }
+
+    /**
+     * Removes every piece from the board.
+     */
+    public void clear() {
+        Arrays.fill(pieces, 0L);
+        white = 0L;
+        black = 0L;
+    }
+
+    /**
+     * @return an independent copy of this position
+     */
+    public BitboardPosition copy() {
+        BitboardPosition copy = new BitboardPosition();
+        System.arraycopy(pieces, 0, copy.pieces, 0, PIECES);
+        copy.white = white;
+        copy.black = black;
+        return copy;
+    }
+
+    /* ----------------------------- Helpers ----------------------------- */
+
+    /**
+     * @param row the row in {@code [0, 8)}
+     * @param col the column in {@code [0, 8)}
+     * @return the square index of that cell
+     */
+    public static int square(int row, int col) {
+        return row * SIZE + col;
+    }
+
+    /**
+     * @param square a square index
+     * @return the {@code Piece[][]} row of the square
+     */
+    public static int row(int square) {
+        return square >>> 3;
+    }
+
+    /**
+     * @param square a square index
+     * @return the {@code Piece[][]} column of the square
+     */
+    public static int col(int square) {
+        return square & 7;
+    }
+
+    /**
+     * @param kind    a piece kind
+     * @param isWhite the piece color
+     * @return the piece index for that kind and color
+     */
+    public static int pieceIndex(int kind, boolean isWhite) {
+        return isWhite ? kind : kind + KINDS;
+    }
+
+    /**
+     * @param piece a piece index
+     * @return the kind of that piece, in {@code [0, 6)}
+     */
+    public static int kindOf(int piece) {
+        return piece < KINDS ? piece : piece - KINDS;
+    }
+
+    /**
+     * @param piece a piece index
+     * @return {@code true} if the piece index denotes a white piece
+     */
+    public static boolean isWhite(int piece) {
+        return piece < KINDS;
+    }
+
+    /**
+     * Maps a {@link Piece} instance to its piece index.
+     *
+     * @param piece a non-null piece
+     * @return the matching piece index
+     */
+    public static int pieceIndex(Piece piece) {
+        return pieceIndex(piece.getType().ordinal(), piece.isWhite());
+    }
+
+    /**
+     * Returns the {@link Piece} instance for a piece index.
+     *
+     * @param piece a piece index
+     * @return the canonical piece of the matching kind and color, see {@link Pieces}
+     */
+    public static Piece createPiece(int piece) {
+        return Pieces.of(piece);
+    }
+
+    private static void requireStandardBoard(Piece[][] boardState) {
+        if (boardState == null || boardState.length != SIZE) {
+            throw new IllegalArgumentException("Board must have " + SIZE + " rows.");
+        }
+        for (int row = 0; row < SIZE; row++) {
+            if (boardState[row] == null || boardState[row].length != SIZE) {
+                throw new IllegalArgumentException("Row " + row + " must have " + SIZE + " columns.");
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BitboardPosition)) {
+            return false;
+        }
+        return Arrays.equals(pieces, ((BitboardPosition) o).pieces);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(pieces);
+    }
+}
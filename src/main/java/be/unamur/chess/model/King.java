@@ -10,33 +10,41 @@ import java.util.Set;
 public class King extends Piece {
 
     public King(boolean isWhite) {
-        super(isWhite);
+        super(PieceType.KING, isWhite);
     }
 
     @Override
     public Set<Point> getValidMoves(Piece[][] boardState, int row, int col) {
         Set<Point> moves = new HashSet<>();
+        long targets = Attacks.king(BitboardPosition.square(row, col));
 
-        for (int i = -1; i <= 1; i++) {
-            for (int j = -1; j <= 1; j++) {
-                if (i != 0 || j != 0) {
-                    int newRow = row + i;
-                    int newCol = col + j;
-                    if (newRow >= 0 && newRow <= 8 && newCol >= 0 && newCol <= 8) {
-                        Piece target = boardState[newRow][newCol];
-                        if (target == null || target.isWhite() != isWhite) {
-                            moves.add(new Point(newRow, newCol));
-                        }
-                    }
-                }
+        while (targets != 0) {
+            int square = Long.numberOfTrailingZeros(targets);
+            int newRow = BitboardPosition.row(square);
+            int newCol = BitboardPosition.col(square);
+            Piece target = boardState[newRow][newCol];
+            if (target == null || target.isWhite() != isWhite) {
+                moves.add(new Point(newRow, newCol));
             }
+            targets &= targets - 1;
         }
 
         return moves;
     }
 
+    @Override
+    public void generateMoves(Piece[][] boardState, int row, int col, MoveList moves) {
+        int from = BitboardPosition.square(row, col);
+        long targets = Attacks.king(from);
+        while (targets != 0) {
+            int square = Long.numberOfTrailingZeros(targets);
+            addMoveOrCapture(boardState, from, BitboardPosition.row(square), BitboardPosition.col(square), moves);
+            targets &= targets - 1;
+        }
+    }
+
     @Override
     public String toString() {
         return isWhite() ? "WKing" : "BKing";
     }
-}
\ No newline at end of file
+}
@@ -8,30 +8,41 @@ import java.util.Set;
  * Knight piece class.
  */
 public class Knight extends Piece {
+
     public Knight(boolean isWhite) {
-        super(isWhite);
+        super(PieceType.KNIGHT, isWhite);
     }
 
     @Override
     public Set<Point> getValidMoves(Piece[][] boardState, int row, int col) {
         Set<Point> moves = new HashSet<>();
-        int[][] offsets = {{-2, -1}, {-2, 1}, {2, -1}, {2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}};
-
-        for (int[] offset : offsets) {
-            int newRow = row + offset[0];
-            int newCol = col + offset[1];
+        long targets = Attacks.knight(BitboardPosition.square(row, col));
 
-            if (newRow >= 0 && newRow < 8 && newCol >= 0 && newCol < 8) {
-                Piece target = boardState[newRow][newCol];
-                if (target == null || target.isWhite() != isWhite) {
-                    moves.add(new Point(newRow, newCol));
-                }
+        while (targets != 0) {
+            int square = Long.numberOfTrailingZeros(targets);
+            int newRow = BitboardPosition.row(square);
+            int newCol = BitboardPosition.col(square);
+            Piece target = boardState[newRow][newCol];
+            if (target == null || target.isWhite() != isWhite) {
+                moves.add(new Point(newRow, newCol));
             }
+            targets &= targets - 1;
         }
 
         return moves;
     }
 
+    @Override
+    public void generateMoves(Piece[][] boardState, int row, int col, MoveList moves) {
+        int from = BitboardPosition.square(row, col);
+        long targets = Attacks.knight(from);
+        while (targets != 0) {
+            int square = Long.numberOfTrailingZeros(targets);
+            addMoveOrCapture(boardState, from, BitboardPosition.row(square), BitboardPosition.col(square), moves);
+            targets &= targets - 1;
+        }
+    }
+
     @Override
     public String toString() {
         return isWhite() ? "WKnight" : "BKnight";
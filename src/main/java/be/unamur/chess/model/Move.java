@@ -0,0 +1,153 @@
+package be.unamur.chess.model;
+
+import java.awt.Point;
+
+/**
+ * Static helpers to encode and decode moves packed into a single {@code int}.
+ * <p>
+ * Layout (least significant bits first):
+ * </p>
+ * <pre>
+ *   bits  0-5   source square      (row * 8 + col)
+ *   bits  6-11  destination square (row * 8 + col)
+ *   bits 12-15  flags ({@link #CAPTURE}, {@link #DOUBLE_PUSH}, {@link #EN_PASSANT}, {@link #CASTLING})
+ *   bits 16-18  promotion kind (a {@link BitboardPosition} kind, 0 when the move is not a promotion)
+ * </pre>
+ * <p>
+ * A packed move is never {@code 0} unless it is {@link #NONE}, because source and destination differ.
+ * </p>
+ */
+public final class Move {
+
+    /** Sentinel for "no move". */
+    public static final int NONE = 0;
+
+    /** The move captures the piece standing on the destination square. */
+    public static final int CAPTURE = 1;
+    /** A pawn advances two squares from its starting row. */
+    public static final int DOUBLE_PUSH = 1 << 1;
+    /** A pawn captures en passant. */
+    public static final int EN_PASSANT = 1 << 2;
+    /** The king castles; the destination is the king's target square. */
+    public static final int CASTLING = 1 << 3;
+
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int TO_SHIFT = 6;
+    private static final int FLAGS_SHIFT = 12;
+    private static final int FLAGS_MASK = 0xF;
+    private static final int PROMOTION_SHIFT = 16;
+    private static final int PROMOTION_MASK = 0x7;
+
+    private Move() {
+        // utility class
+    }
+
+    /**
+     * @param from  the source square
+     * @param to    the destination square
+     * @param flags a combination of the flag constants
+     * @return the packed move
+     */
+    public static int of(int from, int to, int flags) {
+        return from | (to << TO_SHIFT) | (flags << FLAGS_SHIFT);
+    }
+
+    /**
+     * @param from      the source square
+     * @param to        the destination square
+     * @param flags     a combination of the flag constants
+     * @param promotion the kind the pawn promotes to
+     * @return the packed move
+     */
+    public static int of(int from, int to, int flags, int promotion) {
+        return of(from, to, flags) | (promotion << PROMOTION_SHIFT);
+    }
+
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int to(int move) {
+        return (move >>> TO_SHIFT) & SQUARE_MASK;
+    }
+
+    public static int flags(int move) {
+        return (move >>> FLAGS_SHIFT) & FLAGS_MASK;
+    }
+
+    public static int promotion(int move) {
+        return (move >>> PROMOTION_SHIFT) & PROMOTION_MASK;
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & ((CAPTURE | EN_PASSANT) << FLAGS_SHIFT)) != 0;
+    }
+
+    public static boolean isPromotion(int move) {
+        return promotion(move) != 0;
+    }
+
+    /**
+     * Converts a packed move to the {@code Point[]{from, to}} pair used by the strategies,
+     * where each point is {@code (row, col)}.
+     *
+     * @param move the packed move
+     * @return a new two-element array with the source and destination points
+     */
+    public static Point[] toPoints(int move) {
+        int from = from(move);
+        int to = to(move);
+        return new Point[]{
+            new Point(BitboardPosition.row(from), BitboardPosition.col(from)),
+            new Point(BitboardPosition.row(to), BitboardPosition.col(to))
+        };
+    }
+
+    /**
+     * Formats a move in coordinate notation, e.g. {@code e2e4} or {@code e7e8q}.
+     *
+     * @param move the packed move
+     * @return the coordinate notation of the move
+     */
+    public static String toString(int move) {
+        if (move == NONE) {
+            return "0000";
+        }
+        StringBuilder sb = new StringBuilder(5);
+        sb.append(squareName(from(move))).append(squareName(to(move)));
+        if (isPromotion(move)) {
+            sb.append("pnbrqk".charAt(promotion(move)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Finds the legal move of a position written in coordinate notation, the reverse of
+     * {@link #toString(int)}.
+     *
+     * @param position the position the move is played from
+     * @param notation the move, e.g. {@code e2e4} or {@code e7e8q}
+     * @return the packed move
+     * @throws IllegalArgumentException if no legal move of the position has that notation
+     */
+    public static int fromString(Position position, String notation) {
+        MoveList moves = new MoveList();
+        position.generateLegalMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (toString(moves.get(i)).equals(notation)) {
+                return moves.get(i);
+            }
+        }
+        throw new IllegalArgumentException("Illegal move " + notation + ".");
+    }
+
+    /**
+     * @param square a square index
+     * @return its algebraic name, e.g. {@code a8} for square 0 and {@code h1} for square 63
+     */
+    public static String squareName(int square) {
+        char file = (char) ('a' + BitboardPosition.col(square));
+        char rank = (char) ('8' - BitboardPosition.row(square));
+        return new String(new char[]{file, rank});
+    }
+}
@@ -0,0 +1,101 @@
+package be.unamur.chess.model;
+
+import java.util.Arrays;
+
+/**
+ * Reusable, growable buffer of packed moves (see {@link Move}).
+ * <p>
+ * A single instance is meant to be cleared and refilled many times, so that generating moves
+ * does not allocate once the buffer has reached its working size.
+ * </p>
+ */
+public final class MoveList {
+
+    /** Default capacity; enough for the legal moves of any chess position. */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private int[] moves;
+    private int size;
+
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the initial capacity of the buffer
+     */
+    public MoveList(int capacity) {
+        this.moves = new int[Math.max(1, capacity)];
+    }
+
+    /**
+     * Appends a packed move.
+     *
+     * @param move the packed move
+     */
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    /**
+     * @param index the position in the list
+     * @return the packed move at that position
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return moves[index];
+    }
+
+    /**
+     * Replaces the packed move at the given position.
+     *
+     * @param index the position in the list
+     * @param move  the new packed move
+     */
+    public void set(int index, int move) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        moves[index] = move;
+    }
+
+    /**
+     * @param move a packed move
+     * @return {@code true} if the list holds that move
+     */
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Empties the list while keeping its buffer.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return a copy of the packed moves currently held
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(moves, size);
+    }
+}
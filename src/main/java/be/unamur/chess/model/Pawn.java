@@ -10,7 +10,7 @@ import java.util.Set;
 public class Pawn extends Piece {
 
     public Pawn(boolean isWhite) {
-        super(isWhite);
+        super(PieceType.PAWN, isWhite);
     }
 
     @Override
@@ -24,6 +24,32 @@ public class Pawn extends Piece {
         return moves;
     }
 
+    @Override
+    public void generateMoves(Piece[][] boardState, int row, int col, MoveList moves) {
+        int direction = isWhite ? -1 : 1;
+        int from = BitboardPosition.square(row, col);
+        int nextRow = row + direction;
+        if (!isWithinBounds(nextRow, col)) {
+            return;
+        }
+
+        if (boardState[nextRow][col] == null) {
+            moves.add(Move.of(from, BitboardPosition.square(nextRow, col), 0));
+            int doubleNextRow = row + 2 * direction;
+            if (isAtStartingPosition(row) && boardState[doubleNextRow][col] == null) {
+                moves.add(Move.of(from, BitboardPosition.square(doubleNextRow, col), Move.DOUBLE_PUSH));
+            }
+        }
+        for (int nextCol = col - 1; nextCol <= col + 1; nextCol += 2) {
+            if (isWithinBounds(nextRow, nextCol)) {
+                Piece target = boardState[nextRow][nextCol];
+                if (target != null && target.isWhite() != isWhite) {
+                    moves.add(Move.of(from, BitboardPosition.square(nextRow, nextCol), Move.CAPTURE));
+                }
+            }
+        }
+    }
+
     private void addForwardMoves(Set<Point> moves, Piece[][] boardState, int row, int col, int direction) {
         int nextRow = row + direction;
         if (!isWithinBounds(nextRow, col) || boardState[nextRow][col] != null) {
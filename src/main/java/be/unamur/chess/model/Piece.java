@@ -5,12 +5,17 @@ import java.util.Set;
 
 /**
  * Abstract class representing a chess piece.
+ * <p>
+ * Pieces are immutable, so the canonical instances of {@link Pieces} can be shared between squares and boards.
+ * </p>
  */
 public abstract class Piece {
 
-    protected boolean isWhite;
+    private final PieceType type;
+    protected final boolean isWhite;
 
-    public Piece(boolean isWhite) {
+    protected Piece(PieceType type, boolean isWhite) {
+        this.type = type;
         this.isWhite = isWhite;
     }
 
@@ -18,6 +23,46 @@ public abstract class Piece {
         return isWhite;
     }
 
+    /**
+     * @return the kind of this piece, for table lookups by {@link PieceType#ordinal()}
+     */
+    public final PieceType getType() {
+        return type;
+    }
+
     public abstract Set<Point> getValidMoves(Piece[][] boardState, int row, int col);
+
+    /**
+     * Appends the moves of this piece to a caller-supplied list, as packed ints (see {@link Move}).
+     * <p>
+     * Produces the same destinations as {@link #getValidMoves(Piece[][], int, int)} without
+     * allocating, so a single {@link MoveList} can be reused across calls. Squares are encoded as
+     * {@code row * 8 + col}, hence the board must be 8x8.
+     * </p>
+     *
+     * @param boardState the 8x8 board
+     * @param row        the row of this piece
+     * @param col        the column of this piece
+     * @param moves      the list to append to; it is not cleared first
+     */
+    public abstract void generateMoves(Piece[][] boardState, int row, int col, MoveList moves);
+
+    /**
+     * Appends the move {@code from} to {@code (row, col)} unless that square holds a piece of the same color.
+     *
+     * @return {@code true} if the square was empty, i.e. a sliding piece may continue past it
+     */
+    protected boolean addMoveOrCapture(Piece[][] boardState, int from, int row, int col, MoveList moves) {
+        Piece target = boardState[row][col];
+        int to = BitboardPosition.square(row, col);
+        if (target == null) {
+            moves.add(Move.of(from, to, 0));
+            return true;
+        }
+        if (target.isWhite() != isWhite) {
+            moves.add(Move.of(from, to, Move.CAPTURE));
+        }
+        return false;
+    }
 }
 
@@ -0,0 +1,65 @@
+package be.unamur.chess.model;
+
+/**
+ * The six kinds of pieces, with the attributes the rest of the code looks up by kind.
+ * <p>
+ * The ordinal of each constant is the matching kind of {@link BitboardPosition}, from
+ * {@link BitboardPosition#PAWN} to {@link BitboardPosition#KING}, so per-kind tables can be
+ * indexed by either. Every {@link Piece} holds its type in a final field: dispatching on it is a
+ * field load and a table lookup, not a chain of {@code instanceof} checks.
+ * </p>
+ */
+public enum PieceType {
+
+    PAWN("Pawn", 100, "♙", "♟"),
+    KNIGHT("Knight", 320, "♘", "♞"),
+    BISHOP("Bishop", 330, "♗", "♝"),
+    ROOK("Rook", 500, "♖", "♜"),
+    QUEEN("Queen", 900, "♕", "♛"),
+    KING("King", 20_000, "♔", "♚");
+
+    private static final PieceType[] VALUES = values();
+
+    private final String typeName;
+    private final int value;
+    private final String whiteSymbol;
+    private final String blackSymbol;
+
+    PieceType(String typeName, int value, String whiteSymbol, String blackSymbol) {
+        this.typeName = typeName;
+        this.value = value;
+        this.whiteSymbol = whiteSymbol;
+        this.blackSymbol = blackSymbol;
+    }
+
+    /**
+     * @param kind a kind of {@link BitboardPosition}
+     * @return the type of that kind
+     */
+    public static PieceType of(int kind) {
+        return VALUES[kind];
+    }
+
+    /**
+     * @return the name used by the file formats, e.g. {@code Knight}
+     */
+    public String typeName() {
+        return typeName;
+    }
+
+    /**
+     * @return the material value in centipawns; the king's outweighs all the other pieces together, so
+     *         that it is never traded
+     */
+    public int value() {
+        return value;
+    }
+
+    /**
+     * @param isWhite the color
+     * @return the Unicode chess symbol of a piece of this type and color
+     */
+    public String symbol(boolean isWhite) {
+        return isWhite ? whiteSymbol : blackSymbol;
+    }
+}
@@ -0,0 +1,64 @@
+package be.unamur.chess.model;
+
+/**
+ * Registry of the 12 canonical {@link Piece} instances, one per kind and color.
+ * <p>
+ * Pieces hold no state beyond their color, so a board never needs more than these 12 objects:
+ * the loaders and the board initializer share them instead of allocating one piece per square.
+ * Two canonical pieces are of the same kind and color exactly when they are the same instance.
+ * Pieces built with their public constructors remain valid, and {@link #intern(Piece)} maps
+ * them to their canonical instance.
+ * </p>
+ */
+public final class Pieces {
+
+    private static final Piece[] CANONICAL = new Piece[BitboardPosition.PIECES];
+
+    static {
+        for (int kind = BitboardPosition.PAWN; kind <= BitboardPosition.KING; kind++) {
+            for (boolean isWhite : new boolean[]{true, false}) {
+                CANONICAL[BitboardPosition.pieceIndex(kind, isWhite)] = create(kind, isWhite);
+            }
+        }
+    }
+
+    private Pieces() {
+        // utility class
+    }
+
+    /**
+     * @param piece a piece index, see {@link BitboardPosition#pieceIndex(int, boolean)}
+     * @return the canonical piece of that index
+     */
+    public static Piece of(int piece) {
+        return CANONICAL[piece];
+    }
+
+    /**
+     * @param kind    a piece kind, from {@link BitboardPosition#PAWN} to {@link BitboardPosition#KING}
+     * @param isWhite the color
+     * @return the canonical piece of that kind and color
+     */
+    public static Piece of(int kind, boolean isWhite) {
+        return CANONICAL[BitboardPosition.pieceIndex(kind, isWhite)];
+    }
+
+    /**
+     * @param piece a piece, or {@code null}
+     * @return the canonical piece of the same kind and color, or {@code null}
+     */
+    public static Piece intern(Piece piece) {
+        return piece == null ? null : CANONICAL[BitboardPosition.pieceIndex(piece)];
+    }
+
+    private static Piece create(int kind, boolean isWhite) {
+        switch (kind) {
+            case BitboardPosition.PAWN:   return new Pawn(isWhite);
+            case BitboardPosition.KNIGHT: return new Knight(isWhite);
+            case BitboardPosition.BISHOP: return new Bishop(isWhite);
+            case BitboardPosition.ROOK:   return new Rook(isWhite);
+            case BitboardPosition.QUEEN:  return new Queen(isWhite);
+            default:                      return new King(isWhite);
+        }
+    }
+}
@@ -22,6 +22,8 @@ public class Player {
     public static final int STRATEGY_SIMPLE = 0;
     /** Constant representing a smarter AI strategy level. */
     public static final int STRATEGY_SMARTER = 1;
+    /** Constant representing a multi-ply alpha-beta search AI strategy level. */
+    public static final int STRATEGY_ALPHA_BETA = 2;
 
     // A Map to store attributes dynamically, similar to Python's __dict__
     private final Map<String, Object> attributes = new HashMap<>();
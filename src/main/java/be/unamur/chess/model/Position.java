@@ -0,0 +1,702 @@
+package be.unamur.chess.model;
+
+import java.util.Arrays;
+
+/**
+ * Mutable chess position supporting incremental {@link #makeMove(int)} / {@link #unmakeMove(int)}.
+ * <p>
+ * Besides piece placement (kept both as a {@link BitboardPosition} and as a square-indexed mailbox),
+ * the position tracks the state that the plain {@code Piece[][]} board cannot express: side to move,
+ * castling rights, en passant square and move clocks. Every {@link #makeMove(int)} pushes an undo
+ * record (captured piece, previous state and hash) on an internal stack of primitives, so a search
+ * can walk a whole tree on a single instance without copying boards.
+ * </p>
+ * <p>
+ * The {@link Zobrist} {@link #hash()} is updated incrementally by every move.
+ * </p>
+ * <p>
+ * Squares and moves follow the conventions of {@link BitboardPosition} and {@link Move}.
+ * </p>
+ */
+public final class Position {
+
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 1 << 1;
+    public static final int BLACK_KINGSIDE = 1 << 2;
+    public static final int BLACK_QUEENSIDE = 1 << 3;
+    public static final int ALL_CASTLING = WHITE_KINGSIDE | WHITE_QUEENSIDE | BLACK_KINGSIDE | BLACK_QUEENSIDE;
+
+    /** Value of {@link #enPassantSquare()} when no en passant capture is possible. */
+    public static final int NO_SQUARE = -1;
+
+    /** FEN letters of the piece kinds, indexed by kind. */
+    private static final String FEN_PIECES = "pnbrqk";
+    /** FEN letters of the castling rights, indexed by bit. */
+    private static final String FEN_CASTLING = "KQkq";
+
+    /** Castling rights kept when a piece moves from or to each square. */
+    private static final int[] CASTLING_MASK = new int[BitboardPosition.SQUARES];
+
+    static {
+        Arrays.fill(CASTLING_MASK, ALL_CASTLING);
+        CASTLING_MASK[0] = ~BLACK_QUEENSIDE & ALL_CASTLING;
+        CASTLING_MASK[4] = ~(BLACK_KINGSIDE | BLACK_QUEENSIDE) & ALL_CASTLING;
+        CASTLING_MASK[7] = ~BLACK_KINGSIDE & ALL_CASTLING;
+        CASTLING_MASK[56] = ~WHITE_QUEENSIDE & ALL_CASTLING;
+        CASTLING_MASK[60] = ~(WHITE_KINGSIDE | WHITE_QUEENSIDE) & ALL_CASTLING;
+        CASTLING_MASK[63] = ~WHITE_KINGSIDE & ALL_CASTLING;
+    }
+
+    private final BitboardPosition board;
+    private final int[] mailbox = new int[BitboardPosition.SQUARES];
+    private boolean whiteToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private int halfmoveClock;
+    private int fullmoveNumber;
+    private long hash;
+
+    // Undo stack: one packed record per move made (captured piece and previous state) and its hash
+    private int[] undo = new int[MoveList.DEFAULT_CAPACITY];
+    private long[] undoHash = new long[MoveList.DEFAULT_CAPACITY];
+    private int ply;
+
+    /**
+     * Creates a position from its components.
+     *
+     * @param board           the piece placement; it is copied
+     * @param whiteToMove     {@code true} if white is to move
+     * @param castlingRights  a combination of the castling constants
+     * @param enPassantSquare the square a pawn may capture en passant on, or {@link #NO_SQUARE}
+     * @param halfmoveClock   plies since the last capture or pawn move
+     * @param fullmoveNumber  the move number, starting at 1
+     */
+    public Position(BitboardPosition board, boolean whiteToMove, int castlingRights, int enPassantSquare,
+                    int halfmoveClock, int fullmoveNumber) {
+        this.board = board.copy();
+        this.whiteToMove = whiteToMove;
+        this.castlingRights = castlingRights & ALL_CASTLING;
+        this.enPassantSquare = enPassantSquare;
+        this.halfmoveClock = halfmoveClock;
+        this.fullmoveNumber = fullmoveNumber;
+        for (int square = 0; square < BitboardPosition.SQUARES; square++) {
+            mailbox[square] = board.pieceAt(square);
+        }
+        this.hash = computeHash();
+    }
+
+    /**
+     * Builds a position from a {@code Piece[][]} board. The board carries no castling or en passant
+     * information, so neither is available in the returned position.
+     *
+     * @param boardState  an 8x8 board
+     * @param whiteToMove {@code true} if white is to move
+     * @return the equivalent position
+     */
+    public static Position fromBoard(Piece[][] boardState, boolean whiteToMove) {
+        return new Position(BitboardPosition.fromBoard(boardState), whiteToMove, 0, NO_SQUARE, 0, 1);
+    }
+
+    /**
+     * @return the standard starting position, white to move, with all castling rights
+     */
+    public static Position initial() {
+        BitboardPosition board = new BitboardPosition();
+        int[] backRank = {
+            BitboardPosition.ROOK, BitboardPosition.KNIGHT, BitboardPosition.BISHOP, BitboardPosition.QUEEN,
+            BitboardPosition.KING, BitboardPosition.BISHOP, BitboardPosition.KNIGHT, BitboardPosition.ROOK
+        };
+        for (int col = 0; col < BitboardPosition.SIZE; col++) {
+            board.put(BitboardPosition.pieceIndex(backRank[col], false), BitboardPosition.square(0, col));
+            board.put(BitboardPosition.pieceIndex(BitboardPosition.PAWN, false), BitboardPosition.square(1, col));
+            board.put(BitboardPosition.pieceIndex(BitboardPosition.PAWN, true), BitboardPosition.square(6, col));
+            board.put(BitboardPosition.pieceIndex(backRank[col], true), BitboardPosition.square(7, col));
+        }
+        return new Position(board, true, ALL_CASTLING, NO_SQUARE, 0, 1);
+    }
+
+    /**
+     * Parses a position in Forsyth-Edwards Notation. The halfmove clock and fullmove number may be
+     * omitted, in which case they default to 0 and 1.
+     *
+     * @param fen the FEN record, e.g. {@code rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1}
+     * @return the position described
+     * @throws IllegalArgumentException if the record is malformed
+     */
+    public static Position fromFen(String fen) {
+        String[] fields = fen.trim().split("\\s+");
+        if (fields.length < 4 || fields.length > 6) {
+            throw new IllegalArgumentException("FEN needs 4 to 6 fields: " + fen);
+        }
+
+        BitboardPosition board = new BitboardPosition();
+        String[] ranks = fields[0].split("/", -1);
+        if (ranks.length != BitboardPosition.SIZE) {
+            throw new IllegalArgumentException("FEN placement needs 8 ranks: " + fields[0]);
+        }
+        for (int row = 0; row < BitboardPosition.SIZE; row++) {
+            int col = 0;
+            for (int i = 0; i < ranks[row].length(); i++) {
+                char c = ranks[row].charAt(i);
+                if (c >= '1' && c <= '8') {
+                    col += c - '0';
+                } else {
+                    int kind = FEN_PIECES.indexOf(Character.toLowerCase(c));
+                    if (kind < 0 || col >= BitboardPosition.SIZE) {
+                        throw new IllegalArgumentException("Invalid FEN rank: " + ranks[row]);
+                    }
+                    board.put(BitboardPosition.pieceIndex(kind, Character.isUpperCase(c)), BitboardPosition.square(row, col++));
+                }
+            }
+            if (col != BitboardPosition.SIZE) {
+                throw new IllegalArgumentException("FEN rank does not have 8 squares: " + ranks[row]);
+            }
+        }
+
+        boolean whiteToMove;
+        if ("w".equals(fields[1])) {
+            whiteToMove = true;
+        } else if ("b".equals(fields[1])) {
+            whiteToMove = false;
+        } else {
+            throw new IllegalArgumentException("Invalid side to move: " + fields[1]);
+        }
+
+        int castling = 0;
+        if (!"-".equals(fields[2])) {
+            for (int i = 0; i < fields[2].length(); i++) {
+                int right = FEN_CASTLING.indexOf(fields[2].charAt(i));
+                if (right < 0) {
+                    throw new IllegalArgumentException("Invalid castling rights: " + fields[2]);
+                }
+                castling |= 1 << right;
+            }
+        }
+
+        int enPassant = "-".equals(fields[3]) ? NO_SQUARE : parseSquare(fields[3]);
+        try {
+            int halfmove = fields.length > 4 ? Integer.parseInt(fields[4]) : 0;
+            int fullmove = fields.length > 5 ? Integer.parseInt(fields[5]) : 1;
+            return new Position(board, whiteToMove, castling, enPassant, halfmove, fullmove);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid move counters: " + fen, e);
+        }
+    }
+
+    /**
+     * @return the position in Forsyth-Edwards Notation
+     */
+    public String toFen() {
+        StringBuilder sb = new StringBuilder(90);
+        for (int row = 0; row < BitboardPosition.SIZE; row++) {
+            if (row > 0) {
+                sb.append('/');
+            }
+            int empty = 0;
+            for (int col = 0; col < BitboardPosition.SIZE; col++) {
+                int piece = mailbox[BitboardPosition.square(row, col)];
+                if (piece == BitboardPosition.NONE) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    sb.append(empty);
+                    empty = 0;
+                }
+                char c = FEN_PIECES.charAt(BitboardPosition.kindOf(piece));
+                sb.append(BitboardPosition.isWhite(piece) ? Character.toUpperCase(c) : c);
+            }
+            if (empty > 0) {
+                sb.append(empty);
+            }
+        }
+        sb.append(whiteToMove ? " w " : " b ");
+        if (castlingRights == 0) {
+            sb.append('-');
+        }
+        for (int right = 0; right < FEN_CASTLING.length(); right++) {
+            if ((castlingRights & (1 << right)) != 0) {
+                sb.append(FEN_CASTLING.charAt(right));
+            }
+        }
+        sb.append(' ').append(enPassantSquare == NO_SQUARE ? "-" : Move.squareName(enPassantSquare));
+        sb.append(' ').append(halfmoveClock).append(' ').append(fullmoveNumber);
+        return sb.toString();
+    }
+
+    private static int parseSquare(String name) {
+        if (name.length() != 2 || name.charAt(0) < 'a' || name.charAt(0) > 'h'
+                || name.charAt(1) < '1' || name.charAt(1) > '8') {
+            throw new IllegalArgumentException("Invalid square: " + name);
+        }
+        return BitboardPosition.square('8' - name.charAt(1), name.charAt(0) - 'a');
+    }
+
+    /**
+     * @return a freshly allocated 8x8 {@code Piece[][]} board with the current placement
+     */
+    public Piece[][] toBoard() {
+        return board.toBoard();
+    }
+
+    /**
+     * @return an independent copy of this position, without its undo history
+     */
+    public Position copy() {
+        return new Position(board, whiteToMove, castlingRights, enPassantSquare, halfmoveClock, fullmoveNumber);
+    }
+
+    /* ----------------------------- Queries ----------------------------- */
+
+    /**
+     * @param square a square index
+     * @return the piece index on that square, or {@link BitboardPosition#NONE}
+     */
+    public int pieceAt(int square) {
+        return mailbox[square];
+    }
+
+    public long pieces(int kind, boolean isWhite) {
+        return board.pieces(kind, isWhite);
+    }
+
+    public long occupancy(boolean isWhite) {
+        return board.occupancy(isWhite);
+    }
+
+    public long occupied() {
+        return board.occupied();
+    }
+
+    public boolean isWhiteToMove() {
+        return whiteToMove;
+    }
+
+    public int castlingRights() {
+        return castlingRights;
+    }
+
+    public int enPassantSquare() {
+        return enPassantSquare;
+    }
+
+    public int halfmoveClock() {
+        return halfmoveClock;
+    }
+
+    public int fullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    /**
+     * @return the Zobrist hash of the position, maintained incrementally
+     */
+    public long hash() {
+        return hash;
+    }
+
+    /**
+     * Recomputes the Zobrist hash from scratch; it always equals {@link #hash()}.
+     *
+     * @return the Zobrist hash of the position
+     */
+    public long computeHash() {
+        long h = Zobrist.castling(castlingRights) ^ enPassantKey();
+        if (!whiteToMove) {
+            h ^= Zobrist.blackToMove();
+        }
+        for (int square = 0; square < BitboardPosition.SQUARES; square++) {
+            if (mailbox[square] != BitboardPosition.NONE) {
+                h ^= Zobrist.piece(mailbox[square], square);
+            }
+        }
+        return h;
+    }
+
+    /**
+     * @return the en passant key, only when a pawn of the side to move can actually capture,
+     *         so that transpositions differing by a useless en passant square share a hash
+     */
+    private long enPassantKey() {
+        if (enPassantSquare == NO_SQUARE
+                || (Attacks.pawn(enPassantSquare, !whiteToMove) & board.pieces(BitboardPosition.PAWN, whiteToMove)) == 0) {
+            return 0L;
+        }
+        return Zobrist.enPassant(enPassantSquare);
+    }
+
+    /**
+     * @return the number of moves currently on the undo stack
+     */
+    public int ply() {
+        return ply;
+    }
+
+    /**
+     * Tells whether a square is attacked by a side, by looking outward from the square with the
+     * reverse attack pattern of every piece kind.
+     *
+     * @param square  the square to test
+     * @param byWhite the attacking side
+     * @return {@code true} if at least one piece of that side attacks the square
+     */
+    public boolean isSquareAttacked(int square, boolean byWhite) {
+        return attackersTo(square, byWhite, board.occupied()) != 0;
+    }
+
+    /**
+     * @return {@code true} if the king of the side to move is attacked
+     */
+    public boolean isInCheck() {
+        long king = board.pieces(BitboardPosition.KING, whiteToMove);
+        return king != 0 && isSquareAttacked(Long.numberOfTrailingZeros(king), !whiteToMove);
+    }
+
+    /**
+     * Finds the pieces of a side attacking a square, sliders being blocked by a given occupancy
+     * rather than the actual one; a static exchange evaluation removes the pieces it has traded
+     * from that occupancy to uncover the attackers behind them.
+     *
+     * @param square   the square attacked
+     * @param byWhite  the attacking side
+     * @param occupied the squares blocking sliding pieces
+     * @return the squares of the attackers, which may include pieces outside {@code occupied}
+     */
+    public long attackersTo(int square, boolean byWhite, long occupied) {
+        long queens = board.pieces(BitboardPosition.QUEEN, byWhite);
+        return (Attacks.pawn(square, !byWhite) & board.pieces(BitboardPosition.PAWN, byWhite))
+                | (Attacks.knight(square) & board.pieces(BitboardPosition.KNIGHT, byWhite))
+                | (Attacks.king(square) & board.pieces(BitboardPosition.KING, byWhite))
+                | (Attacks.bishop(square, occupied) & (board.pieces(BitboardPosition.BISHOP, byWhite) | queens))
+                | (Attacks.rook(square, occupied) & (board.pieces(BitboardPosition.ROOK, byWhite) | queens));
+    }
+
+    /* ----------------------------- Legal move generation ----------------------------- */
+
+    /**
+     * Appends every legal move of the side to move.
+     * <p>
+     * Legality is decided up front instead of by playing each candidate: the pieces giving check
+     * restrict the other pieces to a check mask (capture the checker or block the ray), pinned
+     * pieces may only move along the line through their king, and king moves are filtered against
+     * the squares attacked with the king lifted off the board. Only en passant captures, whose
+     * removal of two pawns from one rank cannot be expressed by a pin, are verified by playing them.
+     * A side without a king has no king moves and no check or pin restriction.
+     * </p>
+     *
+     * @param moves the list to append to; it is not cleared first
+     */
+    public void generateLegalMoves(MoveList moves) {
+        long kingBit = board.pieces(BitboardPosition.KING, whiteToMove);
+        int king = kingBit == 0 ? NO_SQUARE : Long.numberOfTrailingZeros(kingBit);
+        long checkers = 0L;
+        long pinned = 0L;
+        if (king != NO_SQUARE) {
+            checkers = attackersTo(king, !whiteToMove, board.occupied());
+            pinned = pinnedPieces(king);
+            generateKingMoves(king, kingBit, moves);
+            if (Long.bitCount(checkers) > 1) {
+                return; // double check: only the king may move
+            }
+        }
+        long checkMask = checkers == 0 ? ~0L : checkers | Attacks.between(king, Long.numberOfTrailingZeros(checkers));
+        generatePawnMoves(king, checkMask, pinned, moves);
+        generatePieceMoves(king, checkMask, pinned, moves);
+        if (king != NO_SQUARE && checkers == 0) {
+            generateCastling(king, moves);
+        }
+    }
+
+    /**
+     * @return the pieces of the side to move that stand alone between their king and an enemy slider
+     */
+    private long pinnedPieces(int king) {
+        boolean them = !whiteToMove;
+        long queens = board.pieces(BitboardPosition.QUEEN, them);
+        long snipers = (Attacks.rook(king, 0L) & (board.pieces(BitboardPosition.ROOK, them) | queens))
+                | (Attacks.bishop(king, 0L) & (board.pieces(BitboardPosition.BISHOP, them) | queens));
+        long occupied = board.occupied();
+        long pinned = 0L;
+        while (snipers != 0) {
+            long blockers = Attacks.between(king, Long.numberOfTrailingZeros(snipers)) & occupied;
+            if (Long.bitCount(blockers) == 1) {
+                pinned |= blockers & board.occupancy(whiteToMove);
+            }
+            snipers &= snipers - 1;
+        }
+        return pinned;
+    }
+
+    private void generateKingMoves(int king, long kingBit, MoveList moves) {
+        long enemy = board.occupancy(!whiteToMove);
+        long withoutKing = board.occupied() ^ kingBit;
+        long targets = Attacks.king(king) & ~board.occupancy(whiteToMove);
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            if (attackersTo(to, !whiteToMove, withoutKing) == 0) {
+                moves.add(Move.of(king, to, (enemy & (1L << to)) != 0 ? Move.CAPTURE : 0));
+            }
+            targets &= targets - 1;
+        }
+    }
+
+    private void generatePieceMoves(int king, long checkMask, long pinned, MoveList moves) {
+        long own = board.occupancy(whiteToMove);
+        long enemy = board.occupancy(!whiteToMove);
+        // Extra kings (possible on arbitrary Piece[][] boards) move like any other piece
+        for (int kind = BitboardPosition.KNIGHT; kind <= BitboardPosition.KING; kind++) {
+            int piece = BitboardPosition.pieceIndex(kind, whiteToMove);
+            long bits = kind == BitboardPosition.KING && king != NO_SQUARE
+                    ? board.pieces(piece) & ~(1L << king) : board.pieces(piece);
+            while (bits != 0) {
+                int from = Long.numberOfTrailingZeros(bits);
+                long targets = board.attacks(piece, from) & ~own & checkMask & pinMask(king, from, pinned);
+                while (targets != 0) {
+                    int to = Long.numberOfTrailingZeros(targets);
+                    moves.add(Move.of(from, to, (enemy & (1L << to)) != 0 ? Move.CAPTURE : 0));
+                    targets &= targets - 1;
+                }
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    private void generatePawnMoves(int king, long checkMask, long pinned, MoveList moves) {
+        int forward = whiteToMove ? -BitboardPosition.SIZE : BitboardPosition.SIZE;
+        int startRow = whiteToMove ? 6 : 1;
+        long empty = ~board.occupied();
+        long enemy = board.occupancy(!whiteToMove);
+        long pawns = board.pieces(BitboardPosition.PAWN, whiteToMove);
+        while (pawns != 0) {
+            int from = Long.numberOfTrailingZeros(pawns);
+            long allowed = checkMask & pinMask(king, from, pinned);
+            int one = from + forward;
+            if (one >= 0 && one < BitboardPosition.SQUARES && (empty & (1L << one)) != 0) {
+                if ((allowed & (1L << one)) != 0) {
+                    addPawnMove(from, one, 0, moves);
+                }
+                int two = one + forward;
+                if (BitboardPosition.row(from) == startRow && (empty & allowed & (1L << two)) != 0) {
+                    moves.add(Move.of(from, two, Move.DOUBLE_PUSH));
+                }
+            }
+            long captures = Attacks.pawn(from, whiteToMove) & enemy & allowed;
+            while (captures != 0) {
+                addPawnMove(from, Long.numberOfTrailingZeros(captures), Move.CAPTURE, moves);
+                captures &= captures - 1;
+            }
+            if (enPassantSquare != NO_SQUARE && (Attacks.pawn(from, whiteToMove) & (1L << enPassantSquare)) != 0) {
+                int move = Move.of(from, enPassantSquare, Move.EN_PASSANT);
+                if (leavesKingSafe(move, king)) {
+                    moves.add(move);
+                }
+            }
+            pawns &= pawns - 1;
+        }
+    }
+
+    /**
+     * Adds a pawn move, expanded into the four promotions when it reaches the last row.
+     */
+    private static void addPawnMove(int from, int to, int flags, MoveList moves) {
+        int row = BitboardPosition.row(to);
+        if (row == 0 || row == BitboardPosition.SIZE - 1) {
+            for (int kind = BitboardPosition.QUEEN; kind >= BitboardPosition.KNIGHT; kind--) {
+                moves.add(Move.of(from, to, flags, kind));
+            }
+        } else {
+            moves.add(Move.of(from, to, flags));
+        }
+    }
+
+    private void generateCastling(int king, MoveList moves) {
+        if (whiteToMove) {
+            addCastling(king, WHITE_KINGSIDE, 60, 62, 63, moves);
+            addCastling(king, WHITE_QUEENSIDE, 60, 58, 56, moves);
+        } else {
+            addCastling(king, BLACK_KINGSIDE, 4, 6, 7, moves);
+            addCastling(king, BLACK_QUEENSIDE, 4, 2, 0, moves);
+        }
+    }
+
+    /**
+     * Adds a castling move if the right is held, the squares between king and rook are empty and
+     * the king does not pass through or land on an attacked square.
+     */
+    private void addCastling(int king, int right, int kingFrom, int kingTo, int rookFrom, MoveList moves) {
+        if ((castlingRights & right) == 0 || king != kingFrom
+                || mailbox[rookFrom] != BitboardPosition.pieceIndex(BitboardPosition.ROOK, whiteToMove)
+                || (Attacks.between(kingFrom, rookFrom) & board.occupied()) != 0) {
+            return;
+        }
+        int step = kingTo > kingFrom ? 1 : -1;
+        for (int square = kingFrom + step; square != kingTo + step; square += step) {
+            if (isSquareAttacked(square, !whiteToMove)) {
+                return;
+            }
+        }
+        moves.add(Move.of(kingFrom, kingTo, Move.CASTLING));
+    }
+
+    /**
+     * @return the line through the king for a pinned piece, or every square for a free one
+     */
+    private static long pinMask(int king, int from, long pinned) {
+        return (pinned & (1L << from)) != 0 ? Attacks.line(king, from) : ~0L;
+    }
+
+    /**
+     * Plays a move, checks that the mover's king is not attacked afterwards, and takes it back.
+     */
+    private boolean leavesKingSafe(int move, int king) {
+        makeMove(move);
+        boolean safe = king == NO_SQUARE || !isSquareAttacked(king, whiteToMove);
+        unmakeMove(move);
+        return safe;
+    }
+
+    /* ----------------------------- Make / unmake ----------------------------- */
+
+    /**
+     * Plays a move for the side to move. The move must be at least pseudo-legal in this position;
+     * it is not validated.
+     *
+     * @param move the packed move
+     */
+    public void makeMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int flags = Move.flags(move);
+        int piece = mailbox[from];
+        int capturedSquare = (flags & Move.EN_PASSANT) != 0 ? captureSquareEnPassant(to) : to;
+        int captured = mailbox[capturedSquare];
+
+        pushUndo(captured);
+        hash ^= enPassantKey() ^ Zobrist.castling(castlingRights);
+        halfmoveClock++;
+        if (captured != BitboardPosition.NONE) {
+            removePiece(captured, capturedSquare);
+            halfmoveClock = 0;
+        }
+        removePiece(piece, from);
+        putPiece(Move.isPromotion(move) ? BitboardPosition.pieceIndex(Move.promotion(move), whiteToMove) : piece, to);
+        if ((flags & Move.CASTLING) != 0) {
+            moveCastlingRook(to, true);
+        }
+        if (BitboardPosition.kindOf(piece) == BitboardPosition.PAWN) {
+            halfmoveClock = 0;
+        }
+
+        castlingRights &= CASTLING_MASK[from] & CASTLING_MASK[to];
+        enPassantSquare = (flags & Move.DOUBLE_PUSH) != 0 ? (from + to) >>> 1 : NO_SQUARE;
+        if (!whiteToMove) {
+            fullmoveNumber++;
+        }
+        whiteToMove = !whiteToMove;
+        hash ^= Zobrist.blackToMove() ^ Zobrist.castling(castlingRights) ^ enPassantKey();
+    }
+
+    /**
+     * Takes back the last move played with {@link #makeMove(int)}.
+     *
+     * @param move the packed move that was played last
+     */
+    public void unmakeMove(int move) {
+        whiteToMove = !whiteToMove;
+        if (!whiteToMove) {
+            fullmoveNumber--;
+        }
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int flags = Move.flags(move);
+        int record = undo[--ply];
+
+        int moved = mailbox[to];
+        removePiece(moved, to);
+        putPiece(Move.isPromotion(move) ? BitboardPosition.pieceIndex(BitboardPosition.PAWN, whiteToMove) : moved, from);
+        if ((flags & Move.CASTLING) != 0) {
+            moveCastlingRook(to, false);
+        }
+        int captured = (record & 0xF) - 1;
+        if (captured != BitboardPosition.NONE) {
+            putPiece(captured, (flags & Move.EN_PASSANT) != 0 ? captureSquareEnPassant(to) : to);
+        }
+        castlingRights = (record >>> 4) & 0xF;
+        enPassantSquare = ((record >>> 8) & 0x7F) - 1;
+        halfmoveClock = record >>> 15;
+        hash = undoHash[ply];
+    }
+
+    private void pushUndo(int captured) {
+        if (ply == undo.length) {
+            undo = Arrays.copyOf(undo, ply * 2);
+            undoHash = Arrays.copyOf(undoHash, ply * 2);
+        }
+        undoHash[ply] = hash;
+        undo[ply++] = (captured + 1)
+                | (castlingRights << 4)
+                | ((enPassantSquare + 1) << 8)
+                | (halfmoveClock << 15);
+    }
+
+    /**
+     * @param to the destination of an en passant capture
+     * @return the square of the pawn being captured, just behind the destination
+     */
+    private int captureSquareEnPassant(int to) {
+        return whiteToMove ? to + BitboardPosition.SIZE : to - BitboardPosition.SIZE;
+    }
+
+    /**
+     * Moves the rook matching a castling king move, or moves it back when {@code forward} is false.
+     *
+     * @param kingTo the destination square of the king
+     */
+    private void moveCastlingRook(int kingTo, boolean forward) {
+        boolean kingside = BitboardPosition.col(kingTo) == 6;
+        int rookFrom = kingside ? kingTo + 1 : kingTo - 2;
+        int rookTo = kingside ? kingTo - 1 : kingTo + 1;
+        int rook = BitboardPosition.pieceIndex(BitboardPosition.ROOK, whiteToMove);
+        if (forward) {
+            removePiece(rook, rookFrom);
+            putPiece(rook, rookTo);
+        } else {
+            removePiece(rook, rookTo);
+            putPiece(rook, rookFrom);
+        }
+    }
+
+    private void putPiece(int piece, int square) {
+        board.put(piece, square);
+        mailbox[square] = piece;
+        hash ^= Zobrist.piece(piece, square);
+    }
+
+    private void removePiece(int piece, int square) {
+        board.remove(piece, square);
+        mailbox[square] = BitboardPosition.NONE;
+        hash ^= Zobrist.piece(piece, square);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Position)) {
+            return false;
+        }
+        Position other = (Position) o;
+        return whiteToMove == other.whiteToMove
+                && castlingRights == other.castlingRights
+                && enPassantSquare == other.enPassantSquare
+                && halfmoveClock == other.halfmoveClock
+                && fullmoveNumber == other.fullmoveNumber
+                && board.equals(other.board);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+}
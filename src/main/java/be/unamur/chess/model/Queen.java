@@ -1,25 +1,22 @@
 package be.unamur.chess.model;
 
-import java.awt.*;
-import java.util.HashSet;
-import java.util.Set;
-
 /**
  * Queen piece class.
  */
-public class Queen extends Piece {
+public class Queen extends SlidingPiece {
+
+    private static final int[][] ALL_DIRECTIONS = {
+            {-1, 0}, {1, 0}, {0, -1}, {0, 1},
+            {-1, -1}, {-1, 1}, {1, -1}, {1, 1}
+    };
+
     public Queen(boolean isWhite) {
-        super(isWhite);
+        super(PieceType.QUEEN, isWhite);
     }
 
     @Override
-    public Set<Point> getValidMoves(Piece[][] boardState, int row, int col) {
-        Set<Point> moves = new HashSet<>();
-
-        moves.addAll(new Rook(isWhite).getValidMoves(boardState, row, col));
-        moves.addAll(new Bishop(isWhite).getValidMoves(boardState, row, col));
-
-        return moves;
+    protected int[][] directions() {
+        return ALL_DIRECTIONS;
     }
 
     @Override
@@ -10,7 +10,7 @@ public class Rook extends SlidingPiece {
     };
 
     public Rook(boolean isWhite) {
-        super(isWhite);
+        super(PieceType.ROOK, isWhite);
     }
 
     @Override
@@ -6,8 +6,8 @@ import java.util.Set;
 
 public abstract class SlidingPiece extends Piece {
 
-    protected SlidingPiece(boolean isWhite) {
-        super(isWhite);
+    protected SlidingPiece(PieceType type, boolean isWhite) {
+        super(type, isWhite);
     }
 
     protected abstract int[][] directions();
@@ -17,6 +17,19 @@ public abstract class SlidingPiece extends Piece {
         return generateSlidingMoves(boardState, row, col, directions());
     }
 
+    @Override
+    public void generateMoves(Piece[][] boardState, int row, int col, MoveList moves) {
+        int from = BitboardPosition.square(row, col);
+        for (int[] dir : directions()) {
+            int r = row + dir[0];
+            int c = col + dir[1];
+            while (r >= 0 && r < 8 && c >= 0 && c < 8 && addMoveOrCapture(boardState, from, r, c, moves)) {
+                r += dir[0];
+                c += dir[1];
+            }
+        }
+    }
+
     protected Set<Point> generateSlidingMoves(Piece[][] boardState, int row, int col, int[][] dirs) {
         Set<Point> moves = new HashSet<>();
         int rows = boardState.length;
@@ -31,7 +44,7 @@ public abstract class SlidingPiece extends Piece {
                 if (target == null) {
                     moves.add(new Point(r, c));
                 } else {
-                    if (target.isWhite() == this.isWhite()) {
+                    if (target.isWhite() != this.isWhite()) {
                         moves.add(new Point(r, c)); // capture
                     }
                     break; // Stop when finding a Piece
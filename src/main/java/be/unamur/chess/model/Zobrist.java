@@ -0,0 +1,71 @@
+package be.unamur.chess.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys used by {@link Position#hash()}.
+ * <p>
+ * A position hash is the XOR of one random key per (piece, square) pair present on the board, one
+ * key for the current set of castling rights, one key for the en passant file when a capture on it
+ * is actually possible, and one key when black is to move. Because XOR is its own inverse, a move
+ * updates the hash by toggling only the keys it changes. The keys come from a fixed seed, so hashes
+ * are stable across runs and can be stored on disk.
+ * </p>
+ */
+public final class Zobrist {
+
+    private static final long[] PIECE_SQUARE = new long[BitboardPosition.PIECES * BitboardPosition.SQUARES];
+    private static final long[] CASTLING = new long[Position.ALL_CASTLING + 1];
+    private static final long[] EN_PASSANT_FILE = new long[BitboardPosition.SIZE];
+    private static final long BLACK_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x2F0B_57C4_A11E_D5E5L);
+        for (int i = 0; i < PIECE_SQUARE.length; i++) {
+            PIECE_SQUARE[i] = random.nextLong();
+        }
+        for (int i = 1; i < CASTLING.length; i++) {
+            CASTLING[i] = random.nextLong();
+        }
+        for (int i = 0; i < EN_PASSANT_FILE.length; i++) {
+            EN_PASSANT_FILE[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+        // utility class
+    }
+
+    /**
+     * @param piece  a piece index
+     * @param square a square index
+     * @return the key of that piece standing on that square
+     */
+    public static long piece(int piece, int square) {
+        return PIECE_SQUARE[piece * BitboardPosition.SQUARES + square];
+    }
+
+    /**
+     * @param rights a combination of the {@link Position} castling constants
+     * @return the key of that set of rights; 0 when no right is held
+     */
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /**
+     * @param square the en passant target square
+     * @return the key of the file of that square
+     */
+    public static long enPassant(int square) {
+        return EN_PASSANT_FILE[BitboardPosition.col(square)];
+    }
+
+    /**
+     * @return the key toggled when black is to move
+     */
+    public static long blackToMove() {
+        return BLACK_TO_MOVE;
+    }
+}
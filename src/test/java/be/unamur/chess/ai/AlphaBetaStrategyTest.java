@@ -0,0 +1,124 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.King;
+import be.unamur.chess.model.Knight;
+import be.unamur.chess.model.Pawn;
+import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.Position;
+import be.unamur.chess.model.Queen;
+import be.unamur.chess.model.Rook;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AlphaBetaStrategyTest {
+
+    @Test
+    void testFindsBackRankMate() {
+        Piece[][] board = new Piece[8][8];
+        board[0][6] = new King(false);
+        board[1][5] = new Pawn(false);
+        board[1][6] = new Pawn(false);
+        board[1][7] = new Pawn(false);
+        board[7][0] = new Rook(true);
+        board[7][6] = new King(true);
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(3);
+
+        Point[] move = strategy.getNextMove(board, true);
+
+        assertThat(move).containsExactly(new Point(7, 0), new Point(0, 0));
+        assertThat(strategy.getLastScore()).isGreaterThan(Search.MATE - Search.MAX_PLY);
+    }
+
+    @Test
+    void testAvoidsPoisonedCapture() {
+        Piece[][] board = new Piece[8][8];
+        board[0][4] = new King(false);
+        board[2][3] = new Pawn(false);
+        board[1][2] = new Pawn(false);
+        board[7][4] = new King(true);
+        board[4][3] = new Queen(true);
+        board[4][0] = new Knight(false);
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(2);
+
+        Point[] move = strategy.getNextMove(board, true);
+
+        assertThat(move[1]).isNotEqualTo(new Point(2, 3));
+        assertThat(strategy.getNodesSearched()).isPositive();
+        assertThat(strategy.getNodesPerSecond()).isPositive();
+    }
+
+    @Test
+    void testStopsAtTimeBudgetWithALegalMove() {
+        Piece[][] board = new Piece[8][8];
+        board[0][4] = new King(false);
+        board[7][4] = new King(true);
+        board[6][0] = new Queen(true);
+        board[1][7] = new Queen(false);
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(Search.MAX_PLY, 50);
+
+        Point[] move = strategy.getNextMove(board, true);
+
+        assertThat(move).isNotNull();
+        assertThat(strategy.getCompletedDepth()).isBetween(1, Search.MAX_PLY - 1);
+    }
+
+    @Test
+    void testReturnsNullWithoutLegalMove() {
+        Piece[][] board = new Piece[8][8];
+        board[0][0] = new King(false);
+        board[2][1] = new Queen(true);
+        board[7][7] = new King(true);
+
+        assertThat(new AlphaBetaStrategy(2).getNextMove(board, false)).isNull();
+    }
+
+    @Test
+    void testTranspositionTableIsReusedAcrossCalls() {
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(4);
+
+        Point[] first = strategy.getNextMove(Position.initial().toBoard(), true);
+        long firstNodes = strategy.getNodesSearched();
+        Point[] second = strategy.getNextMove(Position.initial().toBoard(), true);
+
+        assertThat(second).containsExactly(first);
+        assertThat(strategy.getNodesSearched()).isLessThan(firstNodes);
+        assertThat(strategy.getTable().probe(Position.fromBoard(Position.initial().toBoard(), true).hash())).isNotEqualTo(TranspositionTable.MISS);
+    }
+
+    @Test
+    void testAsyncSearchReturnsBestMoveAtHardLimit() throws Exception {
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(Search.MAX_PLY);
+        long worst = 0;
+        for (int i = 0; i < 10; i++) {
+            long start = System.nanoTime();
+            Point[] move = strategy.getNextMove(Position.initial().toBoard(), true, TimeBudget.ofMoveTime(30))
+                    .get(5, TimeUnit.SECONDS);
+            worst = Math.max(worst, System.nanoTime() - start);
+            assertThat(move).isNotNull();
+        }
+
+        assertThat(worst).isLessThan(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(strategy.getCompletedDepth()).isBetween(1, Search.MAX_PLY - 1);
+    }
+
+    @Test
+    void testCancellingTheFutureStopsTheSearch() throws InterruptedException {
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(Search.MAX_PLY);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CompletableFuture<Point[]> future =
+                strategy.getNextMove(Position.initial().toBoard(), true, TimeBudget.ofMoveTime(60_000), executor);
+
+        future.cancel(true);
+        executor.shutdown();
+
+        assertThat(future).isCancelled();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
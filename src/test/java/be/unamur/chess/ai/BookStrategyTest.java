@@ -0,0 +1,59 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.io.OpeningBook;
+import be.unamur.chess.model.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookStrategyTest {
+
+    private static final String GAMES = "[Result \"1-0\"]\n\n1. e4 e5 2. Nf3 1-0\n\n"
+            + "[Result \"1-0\"]\n\n1. e4 c5 2. Nf3 1-0\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPlaysBookMoveWithoutSearching() throws IOException {
+        try (OpeningBook book = buildBook()) {
+            AlphaBetaStrategy fallback = new AlphaBetaStrategy(2);
+            BookStrategy strategy = new BookStrategy(book, fallback, new Random(1));
+
+            Point[] move = strategy.getNextMove(Position.initial().toBoard(), true);
+
+            assertThat(move).containsExactly(new Point(6, 4), new Point(4, 4));
+            assertThat(strategy.isLastMoveFromBook()).isTrue();
+            assertThat(fallback.getNodesSearched()).isZero();
+        }
+    }
+
+    @Test
+    void testFallsBackOutOfBook() throws Exception {
+        try (OpeningBook book = buildBook()) {
+            AlphaBetaStrategy fallback = new AlphaBetaStrategy(2);
+            BookStrategy strategy = new BookStrategy(book, fallback);
+            Position position = Position.fromFen("rnbqkbnr/pppppppp/8/8/3P4/8/PPP1PPPP/RNBQKBNR b KQkq - 0 1");
+
+            CompletableFuture<Point[]> move = strategy.getNextMove(position.toBoard(), false, TimeBudget.ofMoveTime(100));
+
+            assertThat(move.get()).isNotNull();
+            assertThat(strategy.isLastMoveFromBook()).isFalse();
+            assertThat(fallback.getNodesSearched()).isPositive();
+        }
+    }
+
+    private OpeningBook buildBook() throws IOException {
+        Path path = tempDir.resolve("book.bin");
+        OpeningBook.build(new StringReader(GAMES), path, OpeningBook.DEFAULT_MAX_PLIES);
+        return OpeningBook.open(path);
+    }
+}
@@ -0,0 +1,78 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.King;
+import be.unamur.chess.model.Pawn;
+import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.Position;
+import be.unamur.chess.model.Rook;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LazySmpStrategyTest {
+
+    private static TranspositionTable newTable() {
+        return new TranspositionTable(4, TranspositionTable.ReplacementScheme.DEPTH_PREFERRED);
+    }
+
+    @Test
+    void testFindsBackRankMateWithSeveralThreads() {
+        Piece[][] board = new Piece[8][8];
+        board[0][6] = new King(false);
+        board[1][5] = new Pawn(false);
+        board[1][6] = new Pawn(false);
+        board[1][7] = new Pawn(false);
+        board[7][0] = new Rook(true);
+        board[7][6] = new King(true);
+
+        try (LazySmpStrategy strategy = new LazySmpStrategy(4, 4, 0, newTable())) {
+            Point[] move = strategy.getNextMove(board, true);
+
+            assertThat(move).containsExactly(new Point(7, 0), new Point(0, 0));
+            assertThat(strategy.getLastScore()).isGreaterThan(Search.MATE - Search.MAX_PLY);
+        }
+    }
+
+    @Test
+    void testSingleThreadPlaysLikeAlphaBeta() {
+        Piece[][] board = Position.initial().toBoard();
+        AlphaBetaStrategy reference = new AlphaBetaStrategy(4, 0, newTable());
+
+        try (LazySmpStrategy strategy = new LazySmpStrategy(1, 4, 0, newTable())) {
+            assertThat(strategy.getNextMove(board, true)).containsExactly(reference.getNextMove(board, true));
+            assertThat(strategy.getNodesSearched()).isEqualTo(reference.getNodesSearched());
+        }
+    }
+
+    @Test
+    void testHelpersReachRequestedDepth() {
+        try (LazySmpStrategy strategy = new LazySmpStrategy(3, 4, 0, newTable())) {
+            Point[] move = strategy.getNextMove(Position.initial().toBoard(), false);
+
+            assertThat(move).isNotNull();
+            assertThat(strategy.getCompletedDepth()).isEqualTo(4);
+            assertThat(strategy.getThreads()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void testAsyncSearchStopsAtSoftLimitOfClock() throws Exception {
+        try (LazySmpStrategy strategy = new LazySmpStrategy(2, Search.MAX_PLY, 0, newTable())) {
+            Point[] move = strategy.getNextMove(Position.initial().toBoard(), true, TimeBudget.ofClock(1_000, 0))
+                    .get(5, TimeUnit.SECONDS);
+
+            assertThat(move).isNotNull();
+            assertThat(strategy.getElapsedNanos()).isLessThan(TimeUnit.MILLISECONDS.toNanos(1_000));
+        }
+    }
+
+    @Test
+    void testRejectsZeroThreads() {
+        assertThatThrownBy(() -> new LazySmpStrategy(0, 4, 0, newTable()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,79 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.MoveList;
+import be.unamur.chess.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MoveOrderingTest {
+
+    private static final String KIWIPETE = Perft.REFERENCE[1].fen();
+
+    @Test
+    void testCapturesComeFirstByMvvLva() {
+        // the white pawn, knight and queen can all take the black queen on d5; the queen can only take a pawn
+        Position position = Position.fromFen("4k3/8/8/p2q4/4P3/2N5/8/Q3K3 w - - 0 1");
+        MoveList moves = generate(position);
+
+        new MoveOrdering().order(position, moves, 0, Move.NONE);
+
+        assertThat(Move.toString(moves.get(0))).isEqualTo("e4d5");
+        assertThat(Move.toString(moves.get(1))).isEqualTo("c3d5");
+        assertThat(Move.toString(moves.get(2))).isEqualTo("a1a5");
+        assertThat(MoveOrdering.mvvLva(4, 0)).isGreaterThan(MoveOrdering.mvvLva(4, 1));
+    }
+
+    @Test
+    void testHashMoveThenKillersThenHistory() {
+        Position position = Position.initial();
+        MoveOrdering ordering = new MoveOrdering();
+        MoveList moves = generate(position);
+        int hashMove = moves.get(5);
+        int killer = moves.get(10);
+        int historyMove = moves.get(15);
+        ordering.recordCutoff(position, killer, 3, 4);
+        ordering.recordCutoff(position, historyMove, 7, 2);
+
+        ordering.order(position, moves, 3, hashMove);
+
+        assertThat(moves.get(0)).isEqualTo(hashMove);
+        assertThat(moves.get(1)).isEqualTo(killer);
+        assertThat(moves.get(2)).isEqualTo(historyMove);
+        assertThat(moves.size()).isEqualTo(20);
+    }
+
+    @Test
+    void testOrderingSearchesFewerNodesForTheSameScore() {
+        Search unordered = new Search(Position.fromFen(KIWIPETE), null, new PieceSquareEvaluator(), null);
+        Search ordered = new Search(Position.fromFen(KIWIPETE), null, new PieceSquareEvaluator(), new MoveOrdering());
+        unordered.setQuiescence(false);
+        ordered.setQuiescence(false);
+
+        unordered.iterate(1, 4);
+        ordered.iterate(1, 4);
+
+        assertThat(ordered.score()).isEqualTo(unordered.score());
+        assertThat(ordered.nodes()).isLessThan(unordered.nodes());
+    }
+
+    @Test
+    void testReportPrintsTotals() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long[] total = MoveOrderingReport.run(3, new PrintStream(out, true));
+
+        assertThat(total[1]).isLessThanOrEqualTo(total[0]);
+        assertThat(out.toString()).contains("total");
+    }
+
+    private static MoveList generate(Position position) {
+        MoveList moves = new MoveList();
+        position.generateLegalMoves(moves);
+        return moves;
+    }
+}
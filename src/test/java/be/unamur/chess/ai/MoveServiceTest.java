@@ -0,0 +1,103 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.Bishop;
+import be.unamur.chess.model.King;
+import be.unamur.chess.model.Knight;
+import be.unamur.chess.model.Pawn;
+import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.Queen;
+import be.unamur.chess.model.Rook;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MoveServiceTest {
+
+    @Test
+    void testIsSquareAttacked() {
+        Piece[][] board = new Piece[8][8];
+        board[0][0] = new Rook(false);
+        board[0][3] = new Pawn(true);
+        board[5][5] = new Knight(true);
+        board[2][2] = new Pawn(false);
+        MoveService service = new MoveService(board);
+
+        assertThat(service.isSquareAttacked(new Point(0, 2), false)).isTrue();
+        assertThat(service.isSquareAttacked(new Point(0, 4), false)).isFalse();
+        assertThat(service.isSquareAttacked(new Point(3, 4), true)).isTrue();
+        assertThat(service.isSquareAttacked(new Point(3, 1), false)).isTrue();
+        assertThat(service.isSquareAttacked(new Point(1, 1), false)).isFalse();
+    }
+
+    @Test
+    void testPinnedPieceMayOnlyMoveAlongPin() {
+        Piece[][] board = new Piece[8][8];
+        board[7][4] = new King(true);
+        board[5][4] = new Rook(true);
+        board[0][4] = new Queen(false);
+        board[0][0] = new King(false);
+        MoveService service = new MoveService(board);
+
+        Set<Point> rookMoves = service.getAllLegalMoves(true).get(new Point(5, 4));
+
+        assertThat(rookMoves).hasSize(6).allMatch(p -> p.y == 4);
+    }
+
+    @Test
+    void testAllLegalMovesMatchSimulatedMoves() {
+        Random random = new Random(7);
+        for (int i = 0; i < 300; i++) {
+            Piece[][] board = randomBoard(random);
+            MoveService service = new MoveService(board);
+            for (boolean isWhite : new boolean[]{true, false}) {
+                assertThat(service.getAllLegalMoves(isWhite)).isEqualTo(simulatedMoves(service, board, isWhite));
+            }
+        }
+    }
+
+    private static Map<Point, Set<Point>> simulatedMoves(MoveService service, Piece[][] board, boolean isWhite) {
+        Map<Point, Set<Point>> expected = new HashMap<>();
+        for (int r = 0; r < 8; r++) {
+            for (int c = 0; c < 8; c++) {
+                if (board[r][c] != null && board[r][c].isWhite() == isWhite) {
+                    Set<Point> legal = service.getLegalMovesFor(new Point(r, c));
+                    if (!legal.isEmpty()) {
+                        expected.put(new Point(r, c), legal);
+                    }
+                }
+            }
+        }
+        return expected;
+    }
+
+    private static Piece[][] randomBoard(Random random) {
+        Piece[][] board = new Piece[8][8];
+        board[random.nextInt(8)][random.nextInt(8)] = new King(true);
+        board[random.nextInt(8)][random.nextInt(8)] = new King(false);
+        for (int n = 0; n < 14; n++) {
+            int r = random.nextInt(8);
+            int c = random.nextInt(8);
+            if (board[r][c] == null) {
+                board[r][c] = randomPiece(random);
+            }
+        }
+        return board;
+    }
+
+    private static Piece randomPiece(Random random) {
+        boolean isWhite = random.nextBoolean();
+        switch (random.nextInt(5)) {
+            case 0: return new Pawn(isWhite);
+            case 1: return new Knight(isWhite);
+            case 2: return new Bishop(isWhite);
+            case 3: return new Rook(isWhite);
+            default: return new Queen(isWhite);
+        }
+    }
+}
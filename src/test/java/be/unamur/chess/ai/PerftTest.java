@@ -0,0 +1,47 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PerftTest {
+
+    private static final String KIWIPETE = Perft.REFERENCE[1].fen();
+
+    @Test
+    void testReferencePositionsMatchKnownCounts() {
+        for (Perft.Reference reference : Perft.REFERENCE) {
+            Position position = Position.fromFen(reference.fen());
+            for (int depth = 1; depth <= 3; depth++) {
+                assertThat(Perft.perft(position, depth)).as(reference.name() + " depth " + depth)
+                        .isEqualTo(reference.nodes(depth));
+            }
+        }
+    }
+
+    @Test
+    void testKiwipeteDepthFour() {
+        assertThat(Perft.perft(Position.fromFen(KIWIPETE), 4)).isEqualTo(4_085_603L);
+    }
+
+    @Test
+    void testParallelCountEqualsSerialCount() {
+        Position position = Position.fromFen(KIWIPETE);
+
+        assertThat(Perft.perft(position, 3, 4)).isEqualTo(Perft.perft(position, 3));
+    }
+
+    @Test
+    void testDivideSumsToPerftAndRestoresPosition() {
+        Position position = Position.initial();
+
+        Map<String, Long> divide = Perft.divide(position, 3);
+
+        assertThat(divide).hasSize(20).containsEntry("e2e4", 600L);
+        assertThat(divide.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(8_902L);
+        assertThat(position).isEqualTo(Position.initial());
+    }
+}
@@ -0,0 +1,67 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.BitboardPosition;
+import be.unamur.chess.model.MoveList;
+import be.unamur.chess.model.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PieceSquareEvaluatorTest {
+
+    @Test
+    void testInitialPositionIsBalanced() {
+        PieceSquareEvaluator evaluator = new PieceSquareEvaluator();
+        evaluator.reset(Position.initial());
+
+        assertThat(evaluator.evaluate(Position.initial())).isZero();
+    }
+
+    @Test
+    void testIncrementalScoreMatchesFullRecomputation() {
+        for (Perft.Reference reference : Perft.REFERENCE) {
+            Position position = Position.fromFen(reference.fen());
+            PieceSquareEvaluator evaluator = new PieceSquareEvaluator();
+            evaluator.reset(position);
+            int rootScore = evaluator.evaluate(position);
+
+            assertThat(mismatches(position, evaluator, 3)).as(reference.name()).isZero();
+            assertThat(evaluator.evaluate(position)).isEqualTo(rootScore);
+        }
+    }
+
+    @Test
+    void testScoreIsFromTheSideToMove() {
+        Position position = Position.fromFen("4k3/8/8/8/8/8/8/Q3K3 w - - 0 1");
+        PieceSquareEvaluator evaluator = new PieceSquareEvaluator();
+        evaluator.reset(position);
+        int white = evaluator.evaluate(position);
+
+        assertThat(white).isGreaterThan(PieceSquareEvaluator.material(BitboardPosition.QUEEN) / 2);
+        assertThat(evaluator.evaluate(Position.fromFen("4k3/8/8/8/8/8/8/Q3K3 b - - 0 1"))).isEqualTo(-white);
+    }
+
+    /**
+     * Walks every line to the given depth and counts the nodes where the incremental score differs
+     * from the score of a fresh evaluator.
+     */
+    private static int mismatches(Position position, Evaluator evaluator, int depth) {
+        Evaluator fresh = new PieceSquareEvaluator();
+        fresh.reset(position);
+        int count = fresh.evaluate(position) == evaluator.evaluate(position) ? 0 : 1;
+        if (depth == 0) {
+            return count;
+        }
+        MoveList moves = new MoveList();
+        position.generateLegalMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            evaluator.makeMove(position, move);
+            position.makeMove(move);
+            count += mismatches(position, evaluator, depth - 1);
+            position.unmakeMove(move);
+            evaluator.unmakeMove();
+        }
+        return count;
+    }
+}
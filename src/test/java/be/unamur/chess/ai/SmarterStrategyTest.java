@@ -0,0 +1,56 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.King;
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.Pawn;
+import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.Position;
+import be.unamur.chess.model.Queen;
+import be.unamur.chess.model.Rook;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SmarterStrategyTest {
+
+    @Test
+    void testCapturesHangingQueen() {
+        Piece[][] board = new Piece[8][8];
+        board[0][4] = new King(false);
+        board[3][0] = new Queen(false);
+        board[7][4] = new King(true);
+        board[7][0] = new Rook(true);
+
+        assertThat(new SmarterStrategy().getNextMove(board, true)).containsExactly(new Point(7, 0), new Point(3, 0));
+    }
+
+    @Test
+    void testReturnsNullWithoutLegalMove() {
+        Piece[][] board = new Piece[8][8];
+        board[0][0] = new King(false);
+        board[2][1] = new Queen(true);
+        board[7][7] = new King(true);
+
+        assertThat(new SmarterStrategy().getNextMove(board, false)).isNull();
+    }
+
+    @Test
+    void testDoesNotTakeDefendedPawnWithQueen() {
+        Piece[][] board = new Piece[8][8];
+        board[0][4] = new King(false);
+        board[2][4] = new Pawn(false);
+        board[3][3] = new Pawn(false);
+        board[7][3] = new Queen(true);
+        board[7][4] = new King(true);
+        Search staticLeaves = new Search(Position.fromBoard(board, true), null, new PieceSquareEvaluator(), new MoveOrdering());
+        staticLeaves.setQuiescence(false);
+        staticLeaves.searchRoot(1, Move.NONE);
+
+        Point[] move = new SmarterStrategy().getNextMove(board, true);
+
+        assertThat(Move.toPoints(staticLeaves.bestMove())).containsExactly(new Point(7, 3), new Point(3, 3));
+        assertThat(move[1]).isNotEqualTo(new Point(3, 3));
+    }
+}
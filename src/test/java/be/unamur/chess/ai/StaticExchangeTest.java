@@ -0,0 +1,42 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StaticExchangeTest {
+
+    @Test
+    void testUndefendedCaptureWinsTheVictim() {
+        Position position = Position.fromFen("4k3/8/8/3n4/4P3/8/8/4K3 w - - 0 1");
+
+        assertThat(StaticExchange.evaluate(position, Move.fromString(position, "e4d5"))).isEqualTo(StaticExchange.value(1));
+    }
+
+    @Test
+    void testQueenTakingDefendedPawnLosesMaterial() {
+        Position position = Position.fromFen("4k3/8/4p3/3p4/8/8/8/3QK3 w - - 0 1");
+
+        assertThat(StaticExchange.evaluate(position, Move.fromString(position, "d1d5"))).isEqualTo(100 - 900);
+    }
+
+    @Test
+    void testBatteryWinsThroughXRay() {
+        // the rook on d1 backs the rook on d2 up, so the exchange on d5 ends with white a pawn up
+        Position position = Position.fromFen("3rk3/8/8/3p4/8/8/3R4/3RK3 w - - 0 1");
+
+        assertThat(StaticExchange.evaluate(position, Move.fromString(position, "d2d5"))).isEqualTo(100);
+    }
+
+    @Test
+    void testReusedScratchArrayGivesTheSameResults() {
+        Position battery = Position.fromFen("3rk3/8/8/3p4/8/8/3R4/3RK3 w - - 0 1");
+        Position quiet = Position.fromFen("4k3/8/8/8/8/8/8/R3K3 w - - 0 1");
+        int[] gain = StaticExchange.newScratch();
+
+        assertThat(StaticExchange.evaluate(battery, Move.fromString(battery, "d2d5"), gain)).isEqualTo(100);
+        assertThat(StaticExchange.evaluate(quiet, Move.fromString(quiet, "a1a7"), gain)).isZero();
+    }
+}
@@ -0,0 +1,35 @@
+package be.unamur.chess.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TimeBudgetTest {
+
+    @Test
+    void testMoveTimeUsesOneLimit() {
+        TimeBudget budget = TimeBudget.ofMoveTime(200);
+
+        assertThat(budget.getSoftMillis()).isEqualTo(200);
+        assertThat(budget.getHardMillis()).isEqualTo(200);
+        assertThat(budget.hardDeadline(1_000)).isEqualTo(1_000 + 200_000_000L);
+    }
+
+    @Test
+    void testClockIsSharedOverRemainingMoves() {
+        TimeBudget budget = TimeBudget.ofClock(60_000, 1_000);
+
+        assertThat(budget.getSoftMillis()).isEqualTo((60_000 - 50) / TimeBudget.DEFAULT_MOVES_TO_GO + 750);
+        assertThat(budget.getHardMillis()).isEqualTo(4 * budget.getSoftMillis());
+        assertThat(TimeBudget.ofClock(60_000, 0, 1).getHardMillis()).isEqualTo(60_000 - 50);
+        assertThat(TimeBudget.ofClock(100, 5_000).getHardMillis()).isEqualTo(90);
+    }
+
+    @Test
+    void testRejectsNegativeTimes() {
+        assertThatThrownBy(() -> TimeBudget.ofMoveTime(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TimeBudget.ofClock(-1, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TimeBudget.ofClock(1_000, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,59 @@
+package be.unamur.chess.ai;
+
+import be.unamur.chess.ai.TranspositionTable.ReplacementScheme;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TranspositionTableTest {
+
+    @Test
+    void testCapacityRespectsMemoryCap() {
+        TranspositionTable table = new TranspositionTable(1, ReplacementScheme.DEPTH_PREFERRED);
+
+        assertThat(table.capacity()).isEqualTo(1 << 16);
+    }
+
+    @Test
+    void testStoreAndProbeRoundTrip() {
+        TranspositionTable table = new TranspositionTable(1, ReplacementScheme.DEPTH_PREFERRED);
+
+        table.store(0x1234_5678_9ABCL, 0x4_1F3C, -99_990, 7, TranspositionTable.UPPER);
+        long entry = table.probe(0x1234_5678_9ABCL);
+
+        assertThat(TranspositionTable.move(entry)).isEqualTo(0x4_1F3C);
+        assertThat(TranspositionTable.score(entry)).isEqualTo(-99_990);
+        assertThat(TranspositionTable.depth(entry)).isEqualTo(7);
+        assertThat(TranspositionTable.bound(entry)).isEqualTo(TranspositionTable.UPPER);
+        assertThat(table.probe(0x1234_5678_9ABDL)).isEqualTo(TranspositionTable.MISS);
+    }
+
+    @Test
+    void testDepthPreferredKeepsDeeperEntryOfSameSearch() {
+        TranspositionTable table = new TranspositionTable(1, ReplacementScheme.DEPTH_PREFERRED);
+        long first = 5;
+        long second = first + table.capacity(); // same slot
+
+        table.store(first, 1, 10, 6, TranspositionTable.EXACT);
+        table.store(second, 2, 20, 3, TranspositionTable.EXACT);
+        assertThat(table.probe(first)).isNotEqualTo(TranspositionTable.MISS);
+        assertThat(table.probe(second)).isEqualTo(TranspositionTable.MISS);
+
+        table.newSearch();
+        table.store(second, 2, 20, 3, TranspositionTable.EXACT);
+        assertThat(table.probe(second)).isNotEqualTo(TranspositionTable.MISS);
+    }
+
+    @Test
+    void testAlwaysReplaceOverwrites() {
+        TranspositionTable table = new TranspositionTable(1, ReplacementScheme.ALWAYS_REPLACE);
+        long first = 5;
+        long second = first + table.capacity();
+
+        table.store(first, 1, 10, 6, TranspositionTable.EXACT);
+        table.store(second, 2, 20, 3, TranspositionTable.LOWER);
+
+        assertThat(table.probe(first)).isEqualTo(TranspositionTable.MISS);
+        assertThat(TranspositionTable.score(table.probe(second))).isEqualTo(20);
+    }
+}
@@ -0,0 +1,98 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.Bishop;
+import be.unamur.chess.model.King;
+import be.unamur.chess.model.Knight;
+import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BinaryBoardCodecTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Piece[][] oddBoard() {
+        Piece[][] board = new Piece[3][5];
+        board[0][0] = new King(false);
+        board[1][2] = new Knight(true);
+        board[2][4] = new Bishop(false);
+        return board;
+    }
+
+    @Test
+    void testStreamRoundTripOfOddSizedBoard() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        BinaryBoardCodec.write(oddBoard(), new DataOutputStream(bytes));
+        Piece[][] loaded = BinaryBoardCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(bytes.size()).isEqualTo(BinaryBoardCodec.encodedSize(3, 5));
+        assertThat(TestBoards.describe(loaded)).isEqualTo(TestBoards.describe(oddBoard()));
+    }
+
+    @Test
+    void testBufferRoundTripOfStandardBoard() throws IOException {
+        Piece[][] board = Position.initial().toBoard();
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryBoardCodec.encodedSize(8, 8));
+
+        BinaryBoardCodec.write(board, buffer);
+        buffer.flip();
+
+        assertThat(buffer.remaining()).isEqualTo(41);
+        assertThat(TestBoards.describe(BinaryBoardCodec.read(buffer))).isEqualTo(TestBoards.describe(board));
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void testLoadGameDetectsBothFormats() throws IOException {
+        File binary = tempDir.resolve("board.bin").toFile();
+        File text = tempDir.resolve("board.json").toFile();
+
+        Piece[][] board = Position.initial().toBoard();
+
+        ChessFileHandler.saveGameBinary(board, binary);
+        ChessFileHandler.saveGame(board, text);
+
+        assertThat(binary.length()).isLessThan(text.length() / 10);
+        assertThat(TestBoards.describe(ChessFileHandler.loadGame(binary))).isEqualTo(TestBoards.describe(board));
+        assertThat(TestBoards.describe(ChessFileHandler.loadGame(text))).isEqualTo(TestBoards.describe(board));
+    }
+
+    @Test
+    void testReadRejectsUnsupportedOrTruncatedContent() {
+        ByteBuffer wrongVersion = ByteBuffer.allocate(9).putInt(BinaryBoardCodec.MAGIC).put((byte) 2);
+        ByteBuffer truncated = ByteBuffer.allocate(9).putInt(BinaryBoardCodec.MAGIC).put((byte) 1)
+                .putShort((short) 8).putShort((short) 8);
+
+        assertThatThrownBy(() -> BinaryBoardCodec.read(wrongVersion.flip())).isInstanceOf(IOException.class)
+                .hasMessageContaining("version 2");
+        assertThatThrownBy(() -> BinaryBoardCodec.read(truncated.flip())).isInstanceOf(IOException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    @Test
+    void testHugeHeaderIsRejectedBeforeAllocating() {
+        byte[] header = ByteBuffer.allocate(9).putInt(BinaryBoardCodec.MAGIC).put((byte) 1)
+                .putShort((short) 0xFFFF).putShort((short) 0xFFFF).array();
+
+        assertThat(BinaryBoardCodec.encodedSize(0xFFFF, 0xFFFF)).isEqualTo(9 + 2_147_418_113);
+        assertThatThrownBy(() -> BinaryBoardCodec.read(ByteBuffer.wrap(header))).isInstanceOf(IOException.class)
+                .hasMessageContaining("Truncated");
+        assertThatThrownBy(() -> BinaryBoardCodec.read(new DataInputStream(new ByteArrayInputStream(header))))
+                .isInstanceOf(IOException.class).hasMessageContaining("exceeds");
+    }
+}
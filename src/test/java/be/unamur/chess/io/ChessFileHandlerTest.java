@@ -0,0 +1,159 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.Bishop;
+import be.unamur.chess.model.King;
+import be.unamur.chess.model.Pawn;
+import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.Position;
+import be.unamur.chess.model.Queen;
+import be.unamur.chess.model.Rook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ChessFileHandlerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSaveThenLoadRoundTrip() throws IOException {
+        Piece[][] board = Position.initial().toBoard();
+        File file = tempDir.resolve("board.json").toFile();
+
+        ChessFileHandler.saveGame(board, file);
+        Piece[][] loaded = ChessFileHandler.loadGame(file);
+
+        assertThat(TestBoards.describe(loaded)).isEqualTo(TestBoards.describe(board));
+    }
+
+    @Test
+    void testSerializedSizeMatchesBytesWritten() throws IOException {
+        Piece[][] board = Position.initial().toBoard();
+        board[0][0] = null;
+        File file = tempDir.resolve("board.json").toFile();
+
+        ChessFileHandler.saveGame(board, file);
+
+        assertThat(ChessFileHandler.serializedSize(board)).isEqualTo(file.length());
+    }
+
+    @Test
+    void testLoadToleratesWhitespaceAndFieldOrder() throws IOException {
+        String content = " [\n  [ null , { \"white\" : false , \"type\" : \"King\" } ],\n"
+                + "  [{\"type\":\"Queen\",\"white\":true,\"moved\":1}, null]\n]\n";
+
+        Piece[][] board = ChessFileHandler.loadGame(new StringReader(content));
+
+        assertThat(board[0][1]).isInstanceOf(King.class);
+        assertThat(board[0][1].isWhite()).isFalse();
+        assertThat(board[1][0]).isInstanceOf(Queen.class);
+        assertThat(board[1][1]).isNull();
+    }
+
+    @Test
+    void testLoadSkipsUnknownObjectAndArrayFields() throws IOException {
+        String content = "[[{\"meta\":{\"a\":1,\"b\":[1,{\"c\":\"}]\"}]},"
+                + "\"type\":\"Rook\",\"tags\":[1,2],\"white\":true},"
+                + "{\"type\":\"Bishop\",\"history\":[],\"white\":false,\"extra\":{}}]]";
+
+        Piece[][] board = ChessFileHandler.loadGame(new StringReader(content));
+
+        assertThat(board[0][0]).isInstanceOf(Rook.class);
+        assertThat(board[0][0].isWhite()).isTrue();
+        assertThat(board[0][1]).isInstanceOf(Bishop.class);
+        assertThat(board[0][1].isWhite()).isFalse();
+    }
+
+    @Test
+    void testLoadFromByteBuffer() throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap("[[{\"type\":\"Pawn\",\"white\":true},{\"type\":\"Dragon\",\"white\":true}]]"
+                .getBytes(StandardCharsets.US_ASCII));
+
+        Piece[][] board = ChessFileHandler.loadGame(bytes);
+
+        assertThat(board[0][0]).isInstanceOf(Pawn.class);
+        assertThat(board[0][1]).isNull();
+        assertThat(bytes.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void testLoadRejectsMalformedContent() {
+        assertThatThrownBy(() -> ChessFileHandler.loadGame(new StringReader("[[null],[null,null]]")))
+                .isInstanceOf(IOException.class).hasMessageContaining("Non-rectangular");
+        assertThatThrownBy(() -> ChessFileHandler.loadGame(new StringReader("[[{\"type\":\"Pawn\"}]]")))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> ChessFileHandler.loadGame(new StringReader("[[null]] x")))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> ChessFileHandler.loadGame(new StringReader("   ")))
+                .isInstanceOf(IOException.class).hasMessage("Empty file content.");
+    }
+
+    @Test
+    void testSaveAllThenLoadAllAcrossSeveralBatches() throws IOException {
+        // about 1.5 KB per board: 2000 boards span several 1 MB batches
+        List<Piece[][]> boards = TestBoards.boards(2000);
+        Path file = tempDir.resolve("boards.json");
+
+        ChessFileHandler.saveAll(boards, file);
+
+        assertThat(Files.readAllLines(file)).hasSize(2000);
+        assertThat(TestBoards.describeAll(ChessFileHandler.loadAll(file))).isEqualTo(TestBoards.describeAll(boards));
+    }
+
+    @Test
+    void testSaveAllBinaryThenLoadAll() throws IOException {
+        List<Piece[][]> boards = TestBoards.boards(100);
+        Path file = tempDir.resolve("boards.bin");
+
+        ChessFileHandler.saveAllBinary(boards, file);
+
+        assertThat(Files.size(file)).isEqualTo(100L * BinaryBoardCodec.encodedSize(8, 8));
+        assertThat(TestBoards.describeAll(ChessFileHandler.loadAll(file))).isEqualTo(TestBoards.describeAll(boards));
+    }
+
+    @Test
+    void testLoadAllReportsMalformedBoardIndex() throws IOException {
+        Path file = tempDir.resolve("boards.json");
+        Path empty = tempDir.resolve("empty.json");
+        Files.write(file, "[[null]]\n[[null],[null,null]]\n".getBytes(StandardCharsets.US_ASCII));
+        Files.write(empty, new byte[0]);
+
+        assertThatThrownBy(() -> ChessFileHandler.loadAll(file)).isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Board 1: Non-rectangular");
+        assertThat(ChessFileHandler.loadAll(empty)).isEmpty();
+    }
+
+    @Test
+    void testMetricsCountBoardsAndBytesWritten() throws IOException, JMException {
+        SerializationMetricsMXBean metrics = ChessFileHandler.metrics();
+        long boards = metrics.getBoardsWritten();
+        long bytes = metrics.getBytesWritten();
+        Path single = tempDir.resolve("board.bin");
+        Path batch = tempDir.resolve("boards.json");
+
+        ChessFileHandler.saveGameBinary(Position.initial().toBoard(), single.toFile());
+        ChessFileHandler.saveAll(TestBoards.boards(10), batch);
+
+        assertThat(metrics.getBoardsWritten() - boards).isEqualTo(11);
+        assertThat(metrics.getBytesWritten() - bytes).isEqualTo(Files.size(single) + Files.size(batch));
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(
+                new ObjectName("be.unamur.chess.io:type=SerializationMetrics"), "BoardsWritten"))
+                .isEqualTo(metrics.getBoardsWritten());
+    }
+}
@@ -0,0 +1,82 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompressedPositionArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testBlocksCompressRepetitiveBoards() throws IOException {
+        Path path = TestBoards.writeCompressedArchive(tempDir.resolve("positions.cbz"), TestBoards.boards(5000), 512);
+
+        try (CompressedPositionArchive archive = CompressedPositionArchive.open(path)) {
+            assertThat(archive.size()).isEqualTo(5000);
+            assertThat(archive.blockCount()).isEqualTo(10);
+        }
+        assertThat(Files.size(path)).isLessThan(5000L * 32 / 5);
+    }
+
+    @Test
+    void testRandomAccessAcrossBlocks() throws IOException {
+        List<Piece[][]> boards = TestBoards.boards(1000);
+        Path path = TestBoards.writeCompressedArchive(tempDir.resolve("positions.cbz"), boards, 100);
+
+        try (CompressedPositionArchive archive = CompressedPositionArchive.open(path)) {
+            assertThat(TestBoards.describe(archive.get(999))).isEqualTo(TestBoards.describe(boards.get(999)));
+            assertThat(TestBoards.describe(archive.get(150))).isEqualTo(TestBoards.describe(boards.get(150)));
+            assertThat(TestBoards.describe(archive.get(151))).isEqualTo(TestBoards.describe(boards.get(151)));
+            assertThatThrownBy(() -> archive.get(1000)).isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+
+    @Test
+    void testParallelStreamVisitsEveryBoardInOrder() throws IOException {
+        List<Piece[][]> boards = TestBoards.boards(2050);
+        Path path = TestBoards.writeCompressedArchive(tempDir.resolve("positions.cbz"), boards, 64);
+
+        try (CompressedPositionArchive archive = CompressedPositionArchive.open(path)) {
+            List<String> parallel = archive.stream(true).map(TestBoards::describe)
+                    .collect(Collectors.toList());
+
+            assertThat(archive.spliterator().estimateSize()).isEqualTo(2050);
+            assertThat(parallel).containsExactlyElementsOf(
+                    boards.stream().map(TestBoards::describe).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void testCorruptedContentIsReported() throws IOException {
+        Path path = TestBoards.writeCompressedArchive(tempDir.resolve("positions.cbz"), TestBoards.boards(300), 100);
+        Path uncompressed = tempDir.resolve("positions.cba");
+        try (PositionArchive.Writer writer = PositionArchive.create(uncompressed, 8, 8)) {
+            writer.add(Position.initial().toBoard());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[16]), 60);
+        }
+
+        try (CompressedPositionArchive archive = CompressedPositionArchive.open(path)) {
+            assertThatThrownBy(() -> archive.get(0)).isInstanceOf(IOException.class).hasMessageContaining("block 0");
+            assertThat(TestBoards.describe(archive.get(299))).isEqualTo(TestBoards.describe(TestBoards.boards(300).get(299)));
+        }
+        assertThatThrownBy(() -> CompressedPositionArchive.open(uncompressed)).isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a compressed position archive");
+    }
+}
@@ -0,0 +1,114 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.MoveList;
+import be.unamur.chess.model.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GameJournalTest {
+
+    private static final String[] RUY_LOPEZ = {"e4", "e5", "Nf3", "Nc6", "Bb5", "a6", "Ba4", "Nf6", "O-O", "Be7"};
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Appends the moves {@code from} to {@code to} (excluded) of {@link #RUY_LOPEZ} and returns the position reached.
+     */
+    private static Position play(GameJournal journal, int from, int to) throws IOException {
+        Position position = journal.position();
+        MoveList scratch = new MoveList();
+        for (int i = from; i < to; i++) {
+            int move = San.parse(position, RUY_LOPEZ[i], scratch);
+            journal.append(move);
+            position.makeMove(move);
+        }
+        return position;
+    }
+
+    @Test
+    void testOpenReplaysMovesSinceLastSnapshot() throws IOException {
+        Path path = tempDir.resolve("game.journal");
+        Position expected;
+        try (GameJournal journal = GameJournal.create(path, Position.initial(), 4)) {
+            expected = play(journal, 0, 10);
+        }
+
+        try (GameJournal journal = GameJournal.open(path, 4)) {
+            assertThat(journal.position().toFen()).isEqualTo(expected.toFen());
+            assertThat(journal.movesSinceSnapshot()).isEqualTo(2);
+        }
+        assertThat(GameJournal.recover(path).toFen()).isEqualTo(expected.toFen());
+    }
+
+    @Test
+    void testOpenDropsTornLastRecord() throws IOException {
+        Path path = tempDir.resolve("game.journal");
+        long sizeAfterTwoMoves;
+        try (GameJournal journal = GameJournal.create(path, Position.initial())) {
+            play(journal, 0, 2);
+            sizeAfterTwoMoves = journal.size();
+            play(journal, 2, 5);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (GameJournal journal = GameJournal.open(path)) {
+            assertThat(journal.size()).isEqualTo(sizeAfterTwoMoves + 2 * 10);
+            assertThat(journal.movesSinceSnapshot()).isEqualTo(4);
+            assertThat(journal.position().isWhiteToMove()).isTrue();
+        }
+    }
+
+    @Test
+    void testCompactFoldsJournalIntoOneSnapshot() throws IOException {
+        Path path = tempDir.resolve("game.journal");
+        try (GameJournal journal = GameJournal.create(path, Position.initial())) {
+            Position expected = play(journal, 0, 10);
+            long snapshotOnly = 7 + expected.toFen().length();
+
+            journal.compact();
+
+            assertThat(journal.size()).isEqualTo(snapshotOnly);
+            assertThat(journal.movesSinceSnapshot()).isZero();
+            assertThat(GameJournal.recover(path).toFen()).isEqualTo(expected.toFen());
+        }
+    }
+
+    @Test
+    void testAppendRejectsIllegalMoves() throws IOException {
+        Path path = tempDir.resolve("game.journal");
+        try (GameJournal journal = GameJournal.create(path, Position.initial())) {
+            long size = journal.size();
+
+            assertThatThrownBy(() -> journal.append(Move.of(52, 20, 0))).isInstanceOf(IllegalArgumentException.class);
+            assertThat(journal.size()).isEqualTo(size);
+        }
+    }
+
+    @Test
+    void testInvalidSnapshotIntervalLeavesTheFileUntouched() throws IOException {
+        Path path = tempDir.resolve("game.journal");
+        try (GameJournal journal = GameJournal.create(path, Position.initial())) {
+            play(journal, 0, 3);
+        }
+        long size = Files.size(path);
+
+        assertThatThrownBy(() -> GameJournal.create(path, Position.initial(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GameJournal.open(path, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(Files.size(path)).isEqualTo(size);
+    }
+}
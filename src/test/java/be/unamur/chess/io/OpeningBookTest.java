@@ -0,0 +1,94 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OpeningBookTest {
+
+    static final String GAMES = "[Result \"1/2-1/2\"]\n\n1. e4 e5 2. Nf3 Nc6 1/2-1/2\n\n"
+            + "[Result \"1-0\"]\n\n1. e4 c5 2. Nf3 1-0\n\n"
+            + "[Result \"0-1\"]\n\n1. d4 d5 2. c4 0-1\n\n" // white lost: 1. d4 is left out
+            + "[Result \"1-0\"]\n\n1. e4 e5 2. Ke3 1-0\n\n" // illegal, skipped
+            + "[Result \"1/2-1/2\"]\n\n1. Nf3 e5 2. e4 Nc6 1/2-1/2\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWeightsAreHalfPointsOfTheMover() throws IOException {
+        Path path = tempDir.resolve("book.bin");
+        OpeningBook.build(new StringReader(GAMES), path, OpeningBook.DEFAULT_MAX_PLIES);
+
+        try (OpeningBook book = OpeningBook.open(path)) {
+            List<OpeningBook.Candidate> candidates = book.candidates(Position.initial());
+
+            assertThat(candidates).extracting(c -> Move.toString(c.move())).containsExactly("e2e4", "g1f3");
+            assertThat(candidates).extracting(OpeningBook.Candidate::weight).containsExactly(3, 1);
+            assertThat(Files.size(path)).isEqualTo(OpeningBook.HEADER_BYTES + (long) book.size() * OpeningBook.ENTRY_BYTES);
+        }
+    }
+
+    @Test
+    void testTranspositionsShareTheirEntries() throws IOException {
+        Path path = tempDir.resolve("book.bin");
+        OpeningBook.build(new StringReader(GAMES), path, OpeningBook.DEFAULT_MAX_PLIES);
+        Position position = Position.fromFen("rnbqkbnr/pppp1ppp/8/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 1 2");
+
+        try (OpeningBook book = OpeningBook.open(path)) {
+            List<OpeningBook.Candidate> candidates = book.candidates(Position.fromBoard(position.toBoard(), false));
+
+            assertThat(candidates).hasSize(1);
+            assertThat(Move.toString(candidates.get(0).move())).isEqualTo("b8c6");
+            assertThat(candidates.get(0).weight()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testMaxPliesLimitsTheDepth() throws IOException {
+        Path path = tempDir.resolve("book.bin");
+        OpeningBook.build(new StringReader(GAMES), path, 1);
+
+        try (OpeningBook book = OpeningBook.open(path)) {
+            Position afterE4 = Position.fromFen("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1");
+
+            assertThat(book.candidates(Position.initial())).hasSize(2);
+            assertThat(book.candidates(afterE4)).isEmpty();
+            assertThat(book.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testReadFailuresAreNotTakenForRejectedGames() throws IOException {
+        Path pgn = tempDir.resolve("latin1.pgn");
+        Path path = tempDir.resolve("book.bin");
+        Files.write(pgn, "[Event \"Li\u00e8ge\"]\n\n1. e4 e5 1/2-1/2\n".getBytes(StandardCharsets.ISO_8859_1));
+
+        try (Reader reader = Files.newBufferedReader(pgn, StandardCharsets.UTF_8)) {
+            assertThatThrownBy(() -> OpeningBook.build(reader, path, OpeningBook.DEFAULT_MAX_PLIES))
+                    .isInstanceOf(MalformedInputException.class);
+        }
+        assertThat(path).doesNotExist();
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path path = tempDir.resolve("not-a-book.bin");
+        Files.write(path, new byte[32]);
+
+        assertThatThrownBy(() -> OpeningBook.open(path)).isInstanceOf(IOException.class);
+    }
+}
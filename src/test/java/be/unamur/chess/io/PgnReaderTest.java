@@ -0,0 +1,81 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.MoveList;
+import be.unamur.chess.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PgnReaderTest {
+
+    private static final String TWO_GAMES = "[Event \"Casual\"]\n[White \"A\"]\n[Black \"B\"]\n[Result \"1-0\"]\n\n"
+            + "1. e4 e5 2. Bc4 {aiming at f7} Nc6 (2... Nf6 3. d3) 3. Qh5 $2 Nf6?? 4.Qxf7# 1-0\n\n"
+            + "[Event \"Endgame\"]\n[SetUp \"1\"]\n[FEN \"4k3/8/8/8/8/8/4P3/4K3 w - - 0 1\"]\n\n"
+            + "1. e4 ; pawn up\n1... Kd7 2. Kf2 *\n";
+
+    @Test
+    void testReadsGamesSkippingCommentsVariationsAndGlyphs() throws IOException {
+        try (PgnReader reader = new PgnReader(new StringReader(TWO_GAMES))) {
+            PgnGame first = reader.readGame();
+            PgnGame second = reader.readGame();
+
+            assertThat(first.tag("White")).isEqualTo("A");
+            assertThat(first.moveCount()).isEqualTo(7);
+            assertThat(first.finalPosition().isInCheck()).isTrue();
+            assertThat(second.finalPosition().toFen()).isEqualTo("8/3k4/8/8/4P3/8/5K2/8 b - - 2 2");
+            assertThat(reader.readGame()).isNull();
+        }
+    }
+
+    @Test
+    void testStreamsGames() {
+        PgnReader reader = new PgnReader(new StringReader(TWO_GAMES));
+
+        List<String> results = reader.stream().map(PgnGame::result).collect(Collectors.toList());
+
+        assertThat(results).containsExactly("1-0", "*");
+    }
+
+    @Test
+    void testIllegalMoveIsReportedAndReadingContinues() throws IOException {
+        String pgn = "[Event \"Bad\"]\n\n1. e4 e5 2. Ke3 Nc6 1-0\n\n" + TWO_GAMES;
+        try (PgnReader reader = new PgnReader(new StringReader(pgn))) {
+            assertThatThrownBy(reader::readGame).isInstanceOf(PgnFormatException.class).hasMessageContaining("ply 3");
+
+            assertThat(reader.readGame().tag("Event")).isEqualTo("Casual");
+            assertThat(reader.gamesRead()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testWriterOutputReadsBackToSameGame() throws IOException {
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("Event", "Round \"trip\"");
+        tags.put("Result", "*");
+        Position position = Position.initial();
+        MoveList moves = new MoveList();
+        int[] played = new int[40];
+        for (int i = 0; i < played.length; i++) {
+            moves.clear();
+            position.generateLegalMoves(moves);
+            played[i] = moves.get((i * 7) % moves.size());
+            position.makeMove(played[i]);
+        }
+        PgnGame game = new PgnGame(tags, played, "*");
+        StringWriter out = new StringWriter();
+
+        PgnWriter.write(game, out);
+
+        assertThat(new PgnReader(new StringReader(out.toString())).readGame()).isEqualTo(game);
+        assertThat(out.toString().lines().allMatch(line -> line.length() <= 80)).isTrue();
+    }
+}
@@ -0,0 +1,97 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PositionArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRandomAccessByIndex() throws IOException {
+        List<Piece[][]> boards = TestBoards.boards(200);
+        Path path = TestBoards.writeArchive(tempDir.resolve("positions.cba"), boards);
+
+        try (PositionArchive archive = PositionArchive.open(path)) {
+            assertThat(archive.size()).isEqualTo(200);
+            assertThat(TestBoards.describe(archive.get(137))).isEqualTo(TestBoards.describe(boards.get(137)));
+            assertThat(TestBoards.describe(archive.get(0))).isEqualTo(TestBoards.describe(boards.get(0)));
+            assertThatThrownBy(() -> archive.get(200)).isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+
+    @Test
+    void testRecordIsReadOnlyViewOfEncodedSquares() throws IOException {
+        List<Piece[][]> boards = TestBoards.boards(3);
+        Path path = TestBoards.writeArchive(tempDir.resolve("positions.cba"), boards);
+
+        try (PositionArchive archive = PositionArchive.open(path)) {
+            ByteBuffer record = archive.record(2);
+            ByteBuffer expected = ByteBuffer.allocate(BinaryBoardCodec.encodedSize(8, 8));
+            BinaryBoardCodec.write(boards.get(2), expected);
+
+            assertThat(record.isReadOnly()).isTrue();
+            assertThat(record.remaining()).isEqualTo(32);
+            assertThat(record).isEqualTo(expected.position(expected.capacity() - 32));
+        }
+    }
+
+    @Test
+    void testIndexOfFindsFirstEqualBoard() throws IOException {
+        List<Piece[][]> boards = TestBoards.boards(100);
+        boards.add(boards.get(40));
+        Piece[][] absent = Position.initial().toBoard();
+        absent[4][4] = absent[6][4];
+        absent[6][4] = null;
+
+        Path path = TestBoards.writeArchive(tempDir.resolve("positions.cba"), boards);
+
+        try (PositionArchive archive = PositionArchive.open(path)) {
+            assertThat(archive.indexOf(boards.get(40))).isEqualTo(40);
+            assertThat(archive.indexOf(boards.get(99))).isEqualTo(99);
+            assertThat(archive.indexOf(absent)).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void testParallelStreamVisitsEveryRecordInOrder() throws IOException {
+        List<Piece[][]> boards = TestBoards.boards(1000);
+        Path path = TestBoards.writeArchive(tempDir.resolve("positions.cba"), boards);
+
+        try (PositionArchive archive = PositionArchive.open(path)) {
+            List<String> parallel = archive.stream(true).map(TestBoards::describe).collect(Collectors.toList());
+
+            assertThat(archive.spliterator().trySplit()).isNotNull();
+            assertThat(parallel).containsExactlyElementsOf(
+                    boards.stream().map(TestBoards::describe).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void testOpenRejectsOtherFiles() throws IOException {
+        Path binaryBoard = tempDir.resolve("board.bin");
+        ChessFileHandler.saveGameBinary(Position.initial().toBoard(), binaryBoard.toFile());
+        Path truncated = tempDir.resolve("truncated.cba");
+        Path archive = TestBoards.writeArchive(tempDir.resolve("positions.cba"), TestBoards.boards(10));
+        Files.write(truncated, Arrays.copyOf(Files.readAllBytes(archive), 100));
+
+        assertThatThrownBy(() -> PositionArchive.open(binaryBoard)).isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a position archive");
+        assertThatThrownBy(() -> PositionArchive.open(truncated)).isInstanceOf(IOException.class)
+                .hasMessageContaining("Corrupted");
+    }
+}
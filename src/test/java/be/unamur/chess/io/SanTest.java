@@ -0,0 +1,77 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.BitboardPosition;
+import be.unamur.chess.model.Move;
+import be.unamur.chess.model.MoveList;
+import be.unamur.chess.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SanTest {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    private final MoveList scratch = new MoveList();
+
+    private static int sq(String name) {
+        return BitboardPosition.square('8' - name.charAt(1), name.charAt(0) - 'a');
+    }
+
+    @Test
+    void testParseCastlingCapturesAndPromotion() {
+        Position position = Position.fromFen(KIWIPETE);
+
+        assertThat(San.parse(position, "O-O-O", scratch)).isEqualTo(Move.of(sq("e1"), sq("c1"), Move.CASTLING));
+        assertThat(San.parse(position, "0-0+", scratch)).isEqualTo(Move.of(sq("e1"), sq("g1"), Move.CASTLING));
+        assertThat(Move.from(San.parse(position, "Nxf7", scratch))).isEqualTo(sq("e5"));
+        assertThat(Move.promotion(San.parse(Position.fromFen("8/P6k/8/8/8/8/8/K7 w - - 0 1"), "a8=N", scratch)))
+                .isEqualTo(BitboardPosition.KNIGHT);
+    }
+
+    @Test
+    void testParseUsesDisambiguation() {
+        Position position = Position.fromFen("3k4/8/8/8/8/8/8/R4R1K w - - 0 1");
+
+        assertThat(Move.from(San.parse(position, "Rad1", scratch))).isEqualTo(sq("a1"));
+        assertThatThrownBy(() -> San.parse(position, "Rd1", scratch)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Ambiguous");
+        assertThatThrownBy(() -> San.parse(position, "Nf3", scratch)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Illegal");
+    }
+
+    @Test
+    void testFormatAddsDisambiguationAndMateSuffix() {
+        Position rooks = Position.fromFen("7k/8/8/8/8/8/8/R4R1K w - - 0 1");
+        Position mate = Position.fromFen("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+
+        assertThat(San.format(rooks, Move.of(sq("f1"), sq("d1"), 0), scratch)).isEqualTo("Rfd1");
+        assertThat(San.format(mate, Move.of(sq("a1"), sq("a8"), 0), scratch)).isEqualTo("Ra8#");
+        assertThat(San.format(Position.fromFen(KIWIPETE), Move.of(sq("d5"), sq("e6"), Move.CAPTURE), scratch))
+                .isEqualTo("dxe6");
+    }
+
+    @Test
+    void testFormatThenParseRoundTripsDuringRandomGames() {
+        Random random = new Random(11);
+        MoveList moves = new MoveList();
+        for (int game = 0; game < 20; game++) {
+            Position position = Position.fromFen(KIWIPETE);
+            for (int ply = 0; ply < 60; ply++) {
+                moves.clear();
+                position.generateLegalMoves(moves);
+                if (moves.isEmpty()) {
+                    break;
+                }
+                for (int i = 0; i < moves.size(); i++) {
+                    String san = San.format(position, moves.get(i), scratch);
+                    assertThat(San.parse(position, san, scratch)).as(san).isEqualTo(moves.get(i));
+                }
+                position.makeMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package be.unamur.chess.io;
+
+import be.unamur.chess.model.MoveList;
+import be.unamur.chess.model.Piece;
+import be.unamur.chess.model.Position;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Boards and archives shared by the tests of this package.
+ */
+final class TestBoards {
+
+    private TestBoards() {
+        // utility class
+    }
+
+    /**
+     * @return the kind and color of every square, row by row, so that boards compare by content
+     */
+    static String describe(Piece[][] board) {
+        StringBuilder sb = new StringBuilder();
+        for (Piece[] row : board) {
+            for (Piece piece : row) {
+                sb.append(piece == null ? "." : piece.getClass().getSimpleName() + piece.isWhite()).append(' ');
+            }
+            sb.append('/');
+        }
+        return sb.toString();
+    }
+
+    static List<String> describeAll(List<Piece[][]> boards) {
+        return boards.stream().map(TestBoards::describe).collect(Collectors.toList());
+    }
+
+    /**
+     * The boards of games of up to 40 plies, each picking legal moves by a simple rule, one after the other.
+     */
+    static List<Piece[][]> boards(int count) {
+        List<Piece[][]> boards = new ArrayList<>();
+        MoveList moves = new MoveList();
+        Position position = Position.initial();
+        for (int i = 0; i < count; i++) {
+            boards.add(position.toBoard());
+            moves.clear();
+            position.generateLegalMoves(moves);
+            if (moves.isEmpty() || position.ply() == 40) {
+                position = Position.initial();
+            } else {
+                position.makeMove(moves.get((i * 7) % moves.size()));
+            }
+        }
+        return boards;
+    }
+
+    /**
+     * Writes 8x8 boards to a {@link PositionArchive}.
+     *
+     * @return {@code path}
+     */
+    static Path writeArchive(Path path, List<Piece[][]> boards) throws IOException {
+        try (PositionArchive.Writer writer = PositionArchive.create(path, 8, 8)) {
+            for (Piece[][] board : boards) {
+                writer.add(board);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Writes 8x8 boards to a {@link CompressedPositionArchive}.
+     *
+     * @return {@code path}
+     */
+    static Path writeCompressedArchive(Path path, List<Piece[][]> boards, int blockBoards) throws IOException {
+        try (CompressedPositionArchive.Writer writer = CompressedPositionArchive.create(path, 8, 8, blockBoards)) {
+            for (Piece[][] board : boards) {
+                writer.add(board);
+            }
+        }
+        return path;
+    }
+}
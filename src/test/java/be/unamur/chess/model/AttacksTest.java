@@ -0,0 +1,69 @@
+package be.unamur.chess.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AttacksTest {
+
+    @Test
+    void testStepAttacks() {
+        assertThat(Long.bitCount(Attacks.knight(BitboardPosition.square(0, 0)))).isEqualTo(2);
+        assertThat(Long.bitCount(Attacks.knight(BitboardPosition.square(4, 4)))).isEqualTo(8);
+        assertThat(Long.bitCount(Attacks.king(BitboardPosition.square(7, 7)))).isEqualTo(3);
+        assertThat(Attacks.pawn(BitboardPosition.square(6, 0), true)).isEqualTo(1L << BitboardPosition.square(5, 1));
+        assertThat(Attacks.pawn(BitboardPosition.square(1, 7), false)).isEqualTo(1L << BitboardPosition.square(2, 6));
+    }
+
+    @Test
+    void testSlidingAttacksOnEmptyBoard() {
+        assertThat(Long.bitCount(Attacks.rook(BitboardPosition.square(4, 4), 0L))).isEqualTo(14);
+        assertThat(Long.bitCount(Attacks.bishop(BitboardPosition.square(4, 4), 0L))).isEqualTo(13);
+        assertThat(Long.bitCount(Attacks.bishop(BitboardPosition.square(0, 0), 0L))).isEqualTo(7);
+        assertThat(Long.bitCount(Attacks.queen(BitboardPosition.square(3, 3), 0L))).isEqualTo(27);
+    }
+
+    @Test
+    void testSlidingAttacksMatchPieceMoves() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            long occupied = random.nextLong() & random.nextLong();
+            int square = random.nextInt(64);
+            occupied &= ~(1L << square);
+            Piece[][] board = blockers(occupied);
+            Queen queen = new Queen(true);
+            board[BitboardPosition.row(square)][BitboardPosition.col(square)] = queen;
+
+            MoveList moves = new MoveList();
+            queen.generateMoves(board, BitboardPosition.row(square), BitboardPosition.col(square), moves);
+
+            assertThat(Attacks.queen(square, occupied)).isEqualTo(targets(moves));
+        }
+    }
+
+    @Test
+    void testTablesAreInitializedOnce() {
+        assertThat(Attacks.initializationNanos()).isPositive();
+    }
+
+    /** Fills every occupied square with a black pawn, which a white queen may capture. */
+    private static Piece[][] blockers(long occupied) {
+        Piece[][] board = new Piece[8][8];
+        while (occupied != 0) {
+            int square = Long.numberOfTrailingZeros(occupied);
+            board[BitboardPosition.row(square)][BitboardPosition.col(square)] = new Pawn(false);
+            occupied &= occupied - 1;
+        }
+        return board;
+    }
+
+    private static long targets(MoveList moves) {
+        long bits = 0L;
+        for (int i = 0; i < moves.size(); i++) {
+            bits |= 1L << Move.to(moves.get(i));
+        }
+        return bits;
+    }
+}
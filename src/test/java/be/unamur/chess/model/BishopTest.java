@@ -31,4 +31,15 @@ public class BishopTest {
         assertThat(moves).isEqualTo(expected);
     }
 
+    @Test
+    void testGenerateMovesMatchesValidMoves() {
+        Piece[][] board = new Piece[8][8];
+        Bishop bishop = new Bishop(false);
+        board[3][3] = bishop;
+        board[5][5] = new Knight(true);
+        board[1][1] = new Knight(false);
+        MoveList moves = TestMoves.generateMatchingValidMoves(board, 3, 3);
+
+        assertThat(moves.contains(Move.of(27, 45, Move.CAPTURE))).isTrue();
+    }
 }
\ No newline at end of file
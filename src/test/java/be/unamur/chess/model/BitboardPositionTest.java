@@ -0,0 +1,110 @@
+package be.unamur.chess.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BitboardPositionTest {
+
+    private static Piece[][] initialBoard() {
+        Piece[][] board = new Piece[8][8];
+        for (int col = 0; col < 8; col++) {
+            board[1][col] = new Pawn(false);
+            board[6][col] = new Pawn(true);
+        }
+        board[0][0] = new Rook(false);
+        board[0][1] = new Knight(false);
+        board[0][2] = new Bishop(false);
+        board[0][3] = new Queen(false);
+        board[0][4] = new King(false);
+        board[7][3] = new Queen(true);
+        board[7][4] = new King(true);
+        board[7][7] = new Rook(true);
+        return board;
+    }
+
+    @Test
+    void testOccupancyMasks() {
+        BitboardPosition position = BitboardPosition.fromBoard(initialBoard());
+
+        assertThat(position.pieces(BitboardPosition.PAWN, true)).isEqualTo(0x00FF_0000_0000_0000L);
+        assertThat(position.pieces(BitboardPosition.PAWN, false)).isEqualTo(0x0000_0000_0000_FF00L);
+        assertThat(Long.bitCount(position.occupancy(true))).isEqualTo(11);
+        assertThat(Long.bitCount(position.occupancy(false))).isEqualTo(13);
+        assertThat(position.occupied()).isEqualTo(position.occupancy(true) | position.occupancy(false));
+    }
+
+    @Test
+    void testPieceAt() {
+        BitboardPosition position = BitboardPosition.fromBoard(initialBoard());
+
+        assertThat(position.pieceAt(BitboardPosition.square(0, 4))).isEqualTo(BitboardPosition.KING + 6);
+        assertThat(position.pieceAt(BitboardPosition.square(7, 3))).isEqualTo(BitboardPosition.QUEEN);
+        assertThat(position.pieceAt(BitboardPosition.square(4, 4))).isEqualTo(BitboardPosition.NONE);
+    }
+
+    @Test
+    void testRoundTripToBoard() {
+        Piece[][] original = initialBoard();
+        Piece[][] restored = BitboardPosition.fromBoard(original).toBoard();
+
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                Piece expected = original[row][col];
+                Piece actual = restored[row][col];
+                if (expected == null) {
+                    assertThat(actual).isNull();
+                } else {
+                    assertThat(actual).hasSameClassAs(expected);
+                    assertThat(actual.isWhite()).isEqualTo(expected.isWhite());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testPutAndRemove() {
+        BitboardPosition position = new BitboardPosition();
+        int square = BitboardPosition.square(3, 5);
+
+        position.put(BitboardPosition.KNIGHT + 6, square);
+        assertThat(position.occupancy(false)).isEqualTo(1L << square);
+
+        position.remove(BitboardPosition.KNIGHT + 6, square);
+        assertThat(position.occupied()).isZero();
+        assertThat(position).isEqualTo(new BitboardPosition());
+    }
+
+    @Test
+    void testRejectsNonStandardBoard() {
+        assertThatThrownBy(() -> BitboardPosition.fromBoard(new Piece[8][7]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testGenerateMovesMatchesPieceGenerators() {
+        Piece[][] board = initialBoard();
+        board[4][4] = new Knight(true);
+        board[2][5] = new Bishop(true);
+        board[5][2] = new Rook(false);
+        board[6][3] = null;
+        BitboardPosition position = BitboardPosition.fromBoard(board);
+
+        for (boolean isWhite : new boolean[]{true, false}) {
+            MoveList expected = new MoveList();
+            for (int row = 0; row < 8; row++) {
+                for (int col = 0; col < 8; col++) {
+                    Piece piece = board[row][col];
+                    if (piece != null && piece.isWhite() == isWhite) {
+                        piece.generateMoves(board, row, col, expected);
+                    }
+                }
+            }
+            MoveList actual = new MoveList();
+            position.generateMoves(isWhite, actual);
+
+            assertThat(actual.toArray()).containsExactlyInAnyOrder(expected.toArray());
+        }
+    }
+}
@@ -3,7 +3,6 @@ package be.unamur.chess.model;
 import org.junit.jupiter.api.Test;
 
 import java.awt.*;
-import java.util.HashSet;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,4 +28,14 @@ public class KingTest {
         assertThat(moves).contains(new Point(3, 3));
     }
 
+    @Test
+    void testKingOnLastRowStaysOnBoard() {
+        Piece[][] board = new Piece[8][8];
+        King king = new King(true);
+        board[7][7] = king;
+        TestMoves.generateMatchingValidMoves(board, 7, 7);
+
+        assertThat(king.getValidMoves(board, 7, 7)).containsExactlyInAnyOrder(
+                new Point(6, 7), new Point(6, 6), new Point(7, 6));
+    }
 }
\ No newline at end of file
@@ -30,4 +30,15 @@ public class KnightTest {
                 new Point(5, 2));
     }
 
+    @Test
+    void testGenerateMovesMatchesValidMoves() {
+        Piece[][] board = new Piece[8][8];
+        Knight knight = new Knight(false);
+        board[0][1] = knight;
+        board[2][0] = new Pawn(false);
+        board[2][2] = new Pawn(true);
+        MoveList moves = TestMoves.generateMatchingValidMoves(board, 0, 1);
+
+        assertThat(moves.size()).isEqualTo(2);
+    }
 }
\ No newline at end of file
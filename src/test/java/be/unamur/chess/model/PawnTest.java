@@ -29,4 +29,16 @@ public class PawnTest {
                 new Point(3, 4));
     }
 
+    @Test
+    void testGenerateMovesMatchesValidMoves() {
+        Piece[][] board = new Piece[8][8];
+        Pawn whitePawn = new Pawn(true);
+        board[6][4] = whitePawn;
+        board[5][3] = new Rook(false);
+        board[5][5] = new Rook(true);
+        MoveList moves = TestMoves.generateMatchingValidMoves(board, 6, 4);
+
+        assertThat(moves.contains(Move.of(52, 43, Move.CAPTURE))).isTrue();
+        assertThat(moves.contains(Move.of(52, 36, Move.DOUBLE_PUSH))).isTrue();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package be.unamur.chess.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PieceTypeTest {
+
+    @Test
+    void testOrdinalsMatchBitboardKinds() {
+        assertThat(PieceType.PAWN.ordinal()).isEqualTo(BitboardPosition.PAWN);
+        assertThat(PieceType.KING.ordinal()).isEqualTo(BitboardPosition.KING);
+        assertThat(PieceType.values()).hasSize(BitboardPosition.KINDS);
+        for (int kind = 0; kind < BitboardPosition.KINDS; kind++) {
+            assertThat(Pieces.of(kind, true).getType()).isSameAs(PieceType.of(kind));
+        }
+    }
+
+    @Test
+    void testPiecesExposeTheirTypeAttributes() {
+        Piece knight = new Knight(false);
+        Piece queen = new Queen(true);
+
+        assertThat(knight.getType()).isSameAs(PieceType.KNIGHT);
+        assertThat(knight.getType().symbol(knight.isWhite())).isEqualTo("♞");
+        assertThat(queen.getType().value()).isEqualTo(900);
+        assertThat(queen.getType().typeName()).isEqualTo(Queen.class.getSimpleName());
+    }
+}
@@ -0,0 +1,48 @@
+package be.unamur.chess.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PiecesTest {
+
+    @Test
+    void testCanonicalPiecesMatchTheirIndex() {
+        for (int piece = 0; piece < BitboardPosition.PIECES; piece++) {
+            assertThat(BitboardPosition.pieceIndex(Pieces.of(piece))).isEqualTo(piece);
+        }
+        assertThat(Pieces.of(BitboardPosition.KNIGHT, false)).isInstanceOf(Knight.class);
+        assertThat(Pieces.of(BitboardPosition.KNIGHT, false).isWhite()).isFalse();
+    }
+
+    @Test
+    void testBoardsShareTwelveInstances() {
+        Piece[][] first = Position.initial().toBoard();
+        Piece[][] second = Position.fromFen("4k3/8/8/8/8/8/4P3/4K3 w - - 0 1").toBoard();
+        Set<Piece> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Piece[][] board : new Piece[][][]{first, second}) {
+            for (Piece[] row : board) {
+                for (Piece piece : row) {
+                    if (piece != null) {
+                        distinct.add(piece);
+                    }
+                }
+            }
+        }
+
+        assertThat(distinct).hasSize(12);
+        assertThat(second[6][4]).isSameAs(first[6][0]);
+    }
+
+    @Test
+    void testInternMapsConstructedPiecesToCanonicalOnes() {
+        Piece rook = new Rook(true);
+
+        assertThat(Pieces.intern(rook)).isNotSameAs(rook).isSameAs(Pieces.of(BitboardPosition.ROOK, true));
+        assertThat(Pieces.intern(null)).isNull();
+    }
+}
@@ -0,0 +1,264 @@
+package be.unamur.chess.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PositionTest {
+
+    private static final int WHITE_PAWN = BitboardPosition.PAWN;
+    private static final int BLACK_PAWN = BitboardPosition.PAWN + BitboardPosition.KINDS;
+    private static final int WHITE_KING = BitboardPosition.KING;
+    private static final int WHITE_ROOK = BitboardPosition.ROOK;
+    private static final int BLACK_KING = BitboardPosition.KING + BitboardPosition.KINDS;
+
+    private static int sq(String name) {
+        return BitboardPosition.square('8' - name.charAt(1), name.charAt(0) - 'a');
+    }
+
+    @Test
+    void testDoublePushSetsEnPassantSquareAndUnmakeRestores() {
+        Position position = Position.initial();
+        Position before = position.copy();
+        int move = Move.of(sq("e2"), sq("e4"), Move.DOUBLE_PUSH);
+
+        position.makeMove(move);
+        assertThat(position.pieceAt(sq("e4"))).isEqualTo(WHITE_PAWN);
+        assertThat(position.enPassantSquare()).isEqualTo(sq("e3"));
+        assertThat(position.isWhiteToMove()).isFalse();
+
+        position.unmakeMove(move);
+        assertThat(position).isEqualTo(before);
+    }
+
+    @Test
+    void testCaptureResetsClockAndUnmakeRestoresCapturedPiece() {
+        BitboardPosition board = new BitboardPosition();
+        board.put(WHITE_KING, sq("e1"));
+        board.put(BLACK_KING, sq("e8"));
+        board.put(WHITE_ROOK, sq("a1"));
+        board.put(BLACK_PAWN, sq("a7"));
+        Position position = new Position(board, true, Position.WHITE_QUEENSIDE, Position.NO_SQUARE, 12, 30);
+        Position before = position.copy();
+        int move = Move.of(sq("a1"), sq("a7"), Move.CAPTURE);
+
+        position.makeMove(move);
+        assertThat(position.pieceAt(sq("a7"))).isEqualTo(WHITE_ROOK);
+        assertThat(position.halfmoveClock()).isZero();
+        assertThat(position.castlingRights()).isZero();
+
+        position.unmakeMove(move);
+        assertThat(position).isEqualTo(before);
+    }
+
+    @Test
+    void testCastlingMovesRook() {
+        BitboardPosition board = new BitboardPosition();
+        board.put(WHITE_KING, sq("e1"));
+        board.put(WHITE_ROOK, sq("h1"));
+        board.put(BLACK_KING, sq("e8"));
+        Position position = new Position(board, true, Position.WHITE_KINGSIDE, Position.NO_SQUARE, 0, 1);
+        Position before = position.copy();
+        int move = Move.of(sq("e1"), sq("g1"), Move.CASTLING);
+
+        position.makeMove(move);
+        assertThat(position.pieceAt(sq("g1"))).isEqualTo(WHITE_KING);
+        assertThat(position.pieceAt(sq("f1"))).isEqualTo(WHITE_ROOK);
+        assertThat(position.pieceAt(sq("h1"))).isEqualTo(BitboardPosition.NONE);
+
+        position.unmakeMove(move);
+        assertThat(position).isEqualTo(before);
+    }
+
+    @Test
+    void testEnPassantCaptureRemovesPawnBehindTarget() {
+        BitboardPosition board = new BitboardPosition();
+        board.put(WHITE_KING, sq("e1"));
+        board.put(BLACK_KING, sq("e8"));
+        board.put(WHITE_PAWN, sq("e5"));
+        board.put(BLACK_PAWN, sq("d5"));
+        Position position = new Position(board, true, 0, sq("d6"), 0, 1);
+        Position before = position.copy();
+        int move = Move.of(sq("e5"), sq("d6"), Move.EN_PASSANT);
+
+        position.makeMove(move);
+        assertThat(position.pieceAt(sq("d6"))).isEqualTo(WHITE_PAWN);
+        assertThat(position.pieceAt(sq("d5"))).isEqualTo(BitboardPosition.NONE);
+
+        position.unmakeMove(move);
+        assertThat(position).isEqualTo(before);
+    }
+
+    @Test
+    void testPromotionReplacesPawn() {
+        BitboardPosition board = new BitboardPosition();
+        board.put(WHITE_KING, sq("e1"));
+        board.put(BLACK_KING, sq("e8"));
+        board.put(BLACK_PAWN, sq("b2"));
+        Position position = new Position(board, false, 0, Position.NO_SQUARE, 0, 40);
+        Position before = position.copy();
+        int move = Move.of(sq("b2"), sq("b1"), 0, BitboardPosition.QUEEN);
+
+        position.makeMove(move);
+        assertThat(position.pieceAt(sq("b1"))).isEqualTo(BitboardPosition.QUEEN + BitboardPosition.KINDS);
+        assertThat(position.fullmoveNumber()).isEqualTo(41);
+
+        position.unmakeMove(move);
+        assertThat(position).isEqualTo(before);
+    }
+
+    @Test
+    void testInitialPositionHasTwentyLegalMoves() {
+        MoveList moves = new MoveList();
+
+        Position.initial().generateLegalMoves(moves);
+
+        assertThat(moves.size()).isEqualTo(20);
+    }
+
+    @Test
+    void testMoveFromStringFindsTheLegalMove() {
+        Position position = Position.fromFen("4k3/1P6/8/8/8/8/8/4K3 w - - 0 1");
+
+        assertThat(Move.fromString(position, "b7b8n")).isEqualTo(Move.of(sq("b7"), sq("b8"), 0, BitboardPosition.KNIGHT));
+        assertThatThrownBy(() -> Move.fromString(position, "b7b8")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Move.fromString(position, "e1e3")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testCastlingThroughAttackedSquareIsIllegal() {
+        BitboardPosition board = new BitboardPosition();
+        board.put(WHITE_KING, sq("e1"));
+        board.put(WHITE_ROOK, sq("h1"));
+        board.put(WHITE_ROOK, sq("a1"));
+        board.put(BLACK_KING, sq("e8"));
+        board.put(BitboardPosition.ROOK + BitboardPosition.KINDS, sq("f8"));
+        Position position = new Position(board, true, Position.WHITE_KINGSIDE | Position.WHITE_QUEENSIDE,
+                Position.NO_SQUARE, 0, 1);
+        MoveList moves = new MoveList();
+
+        position.generateLegalMoves(moves);
+
+        assertThat(moves.contains(Move.of(sq("e1"), sq("g1"), Move.CASTLING))).isFalse();
+        assertThat(moves.contains(Move.of(sq("e1"), sq("c1"), Move.CASTLING))).isTrue();
+    }
+
+    @Test
+    void testEnPassantExposingKingOnRankIsIllegal() {
+        BitboardPosition board = new BitboardPosition();
+        board.put(WHITE_KING, sq("a5"));
+        board.put(WHITE_PAWN, sq("e5"));
+        board.put(BLACK_PAWN, sq("d5"));
+        board.put(BitboardPosition.ROOK + BitboardPosition.KINDS, sq("h5"));
+        board.put(BLACK_KING, sq("e8"));
+        Position position = new Position(board, true, 0, sq("d6"), 0, 1);
+        MoveList moves = new MoveList();
+
+        position.generateLegalMoves(moves);
+
+        assertThat(moves.contains(Move.of(sq("e5"), sq("d6"), Move.EN_PASSANT))).isFalse();
+        assertThat(moves.contains(Move.of(sq("e5"), sq("e6"), 0))).isTrue();
+    }
+
+    @Test
+    void testDoubleCheckAllowsOnlyKingMoves() {
+        BitboardPosition board = new BitboardPosition();
+        board.put(WHITE_KING, sq("e1"));
+        board.put(WHITE_ROOK, sq("a2"));
+        board.put(BLACK_KING, sq("h8"));
+        board.put(BitboardPosition.ROOK + BitboardPosition.KINDS, sq("e8"));
+        board.put(BitboardPosition.KNIGHT + BitboardPosition.KINDS, sq("d3"));
+        Position position = new Position(board, true, 0, Position.NO_SQUARE, 0, 1);
+        MoveList moves = new MoveList();
+
+        position.generateLegalMoves(moves);
+
+        assertThat(position.isInCheck()).isTrue();
+        assertThat(Arrays.stream(moves.toArray()).map(Move::from).distinct().toArray()).containsExactly(sq("e1"));
+    }
+
+    @Test
+    void testIncrementalHashMatchesRecomputedHashDuringRandomGames() {
+        Random random = new Random(7);
+        for (int game = 0; game < 20; game++) {
+            Position position = Position.initial();
+            long start = position.hash();
+            MoveList moves = new MoveList();
+            int[] played = new int[80];
+            int count = 0;
+            while (count < played.length) {
+                moves.clear();
+                position.generateLegalMoves(moves);
+                if (moves.isEmpty()) {
+                    break;
+                }
+                played[count] = moves.get(random.nextInt(moves.size()));
+                position.makeMove(played[count++]);
+                assertThat(position.hash()).isEqualTo(position.computeHash());
+            }
+            while (count > 0) {
+                position.unmakeMove(played[--count]);
+            }
+            assertThat(position.hash()).isEqualTo(start);
+        }
+    }
+
+    @Test
+    void testTranspositionsShareHash() {
+        Position first = Position.initial();
+        first.makeMove(Move.of(sq("g1"), sq("f3"), 0));
+        first.makeMove(Move.of(sq("g8"), sq("f6"), 0));
+        first.makeMove(Move.of(sq("b1"), sq("c3"), 0));
+        Position second = Position.initial();
+        second.makeMove(Move.of(sq("b1"), sq("c3"), 0));
+        second.makeMove(Move.of(sq("g8"), sq("f6"), 0));
+        second.makeMove(Move.of(sq("g1"), sq("f3"), 0));
+
+        assertThat(first.hash()).isEqualTo(second.hash());
+        assertThat(first.hash()).isNotEqualTo(Position.initial().hash());
+    }
+
+    @Test
+    void testEnPassantSquareHashedOnlyWhenCapturable() {
+        Position position = Position.initial();
+        long before = position.hash();
+        position.makeMove(Move.of(sq("e2"), sq("e4"), Move.DOUBLE_PUSH));
+        Position withoutEnPassant = new Position(BitboardPosition.fromBoard(position.toBoard()), false, Position.ALL_CASTLING,
+                Position.NO_SQUARE, 0, 1);
+
+        assertThat(position.hash()).isEqualTo(withoutEnPassant.hash());
+        assertThat(position.hash()).isNotEqualTo(before);
+    }
+
+    @Test
+    void testFenRoundTrip() {
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R b Kq e3 3 17";
+
+        Position position = Position.fromFen(fen);
+
+        assertThat(position.toFen()).isEqualTo(fen);
+        assertThat(position.enPassantSquare()).isEqualTo(sq("e3"));
+        assertThat(position.castlingRights()).isEqualTo(Position.WHITE_KINGSIDE | Position.BLACK_QUEENSIDE);
+    }
+
+    @Test
+    void testFenOfInitialPosition() {
+        assertThat(Position.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -"))
+                .isEqualTo(Position.initial());
+        assertThat(Position.initial().toFen()).isEqualTo("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+    }
+
+    @Test
+    void testMalformedFenIsRejected() {
+        assertThatThrownBy(() -> Position.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w KQkq - 0 1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Position.fromFen("rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Position.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -3,7 +3,6 @@ package be.unamur.chess.model;
 import org.junit.jupiter.api.Test;
 
 import java.awt.*;
-import java.util.HashSet;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,4 +27,15 @@ public class QueenTest {
         assertThat(moves).contains(new Point(1, 1));
     }
 
+    @Test
+    void testGenerateMovesMatchesValidMoves() {
+        Piece[][] board = new Piece[8][8];
+        Queen queen = new Queen(true);
+        board[4][4] = queen;
+        board[4][1] = new Bishop(false);
+        board[6][6] = new Bishop(true);
+        MoveList moves = TestMoves.generateMatchingValidMoves(board, 4, 4);
+
+        assertThat(moves.size()).isEqualTo(24);
+    }
 }
\ No newline at end of file
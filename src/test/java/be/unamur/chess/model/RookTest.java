@@ -28,4 +28,16 @@ public class RookTest {
         assertThat(moves).isEqualTo(expected);
     }
 
+    @Test
+    void testRookCapturesOpponentButNotOwnPiece() {
+        Piece[][] board = new Piece[8][8];
+        Rook rook = new Rook(true);
+        board[4][4] = rook;
+        board[4][6] = new Pawn(false);
+        board[2][4] = new Pawn(true);
+        TestMoves.generateMatchingValidMoves(board, 4, 4);
+
+        assertThat(rook.getValidMoves(board, 4, 4)).contains(new Point(4, 6))
+                .doesNotContain(new Point(2, 4), new Point(4, 7));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package be.unamur.chess.model;
+
+import java.awt.Point;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Move generation checks shared by the piece tests of this package.
+ */
+final class TestMoves {
+
+    private TestMoves() {
+        // utility class
+    }
+
+    /**
+     * @return the destination squares of the moves
+     */
+    static Set<Point> destinations(MoveList moves) {
+        Set<Point> points = new HashSet<>();
+        for (int i = 0; i < moves.size(); i++) {
+            points.add(Move.toPoints(moves.get(i))[1]);
+        }
+        return points;
+    }
+
+    /**
+     * Generates the packed moves of the piece on a square and checks that they reach the same
+     * squares as its {@link Piece#getValidMoves(Piece[][], int, int)}.
+     *
+     * @return the generated moves, for further checks of their flags
+     */
+    static MoveList generateMatchingValidMoves(Piece[][] board, int row, int col) {
+        Piece piece = board[row][col];
+        MoveList moves = new MoveList();
+
+        piece.generateMoves(board, row, col, moves);
+
+        assertThat(destinations(moves)).isEqualTo(piece.getValidMoves(board, row, col));
+        return moves;
+    }
+}